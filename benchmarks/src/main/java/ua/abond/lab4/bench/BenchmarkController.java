@@ -0,0 +1,23 @@
+package ua.abond.lab4.bench;
+
+import ua.abond.lab4.core.web.annotation.Controller;
+import ua.abond.lab4.core.web.annotation.RequestMapping;
+import ua.abond.lab4.core.web.support.RequestMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Controller
+@RequestMapping("/benchmark")
+public class BenchmarkController {
+
+    @RequestMapping("/ping")
+    public void ping(HttpServletRequest req, HttpServletResponse resp) {
+        req.setAttribute("pong", Boolean.TRUE);
+    }
+
+    @RequestMapping(value = "/ping", method = RequestMethod.POST)
+    public void pingPost(HttpServletRequest req, HttpServletResponse resp) {
+        req.setAttribute("pong", Boolean.TRUE);
+    }
+}
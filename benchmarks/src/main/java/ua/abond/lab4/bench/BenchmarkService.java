@@ -0,0 +1,7 @@
+package ua.abond.lab4.bench;
+
+public interface BenchmarkService {
+    int read(int value);
+
+    int write(int value);
+}
@@ -0,0 +1,159 @@
+package ua.abond.lab4.bench;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static ResultSet resultSet(String[] labels, Object... row) {
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getColumnCount":
+                    return labels.length;
+                case "getColumnLabel":
+                    return labels[(Integer) args[0] - 1];
+                case "getColumnType":
+                    return sqlType(row[(Integer) args[0] - 1]);
+                default:
+                    return defaultValue(method);
+            }
+        });
+        return proxy(ResultSet.class, (method, args) -> {
+            if ("getMetaData".equals(method.getName())) {
+                return metaData;
+            }
+            if (args != null && args.length > 0 && args[0] instanceof Integer) {
+                return column(method, row[(Integer) args[0] - 1]);
+            }
+            return defaultValue(method);
+        });
+    }
+
+    public static DataSource dataSource() {
+        Connection connection = proxy(Connection.class, (method, args) -> defaultValue(method));
+        return proxy(DataSource.class, (method, args) ->
+                "getConnection".equals(method.getName()) ? connection : defaultValue(method)
+        );
+    }
+
+    public static HttpServletRequest request(String method, String uri) {
+        return request(method, uri, Collections.emptyMap());
+    }
+
+    public static HttpServletRequest request(String httpMethod, String uri, Map<String, String> parameters) {
+        Map<String, Object> attributes = new HashMap<>();
+        return proxy(HttpServletRequest.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getMethod":
+                    return httpMethod;
+                case "getRequestURI":
+                    return uri;
+                case "getParameter":
+                    return parameters.get(args[0]);
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    public static HttpServletResponse response() {
+        return proxy(HttpServletResponse.class, (method, args) -> defaultValue(method));
+    }
+
+    private static Object column(Method method, Object value) {
+        switch (method.getName()) {
+            case "getLong":
+                return ((Number) value).longValue();
+            case "getInt":
+                return ((Number) value).intValue();
+            case "getBoolean":
+                return value;
+            case "getBigDecimal":
+                return value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+            default:
+                return value;
+        }
+    }
+
+    private static int sqlType(Object value) {
+        if (value instanceof Long) {
+            return Types.BIGINT;
+        }
+        if (value instanceof Integer) {
+            return Types.INTEGER;
+        }
+        if (value instanceof BigDecimal) {
+            return Types.NUMERIC;
+        }
+        if (value instanceof Boolean) {
+            return Types.BOOLEAN;
+        }
+        if (value instanceof Timestamp) {
+            return Types.TIMESTAMP;
+        }
+        return Types.VARCHAR;
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(
+                Stubs.class.getClassLoader(),
+                new Class[]{type},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return objectMethod(proxy, method, args);
+                    }
+                    return handler.handle(method, args);
+                }
+        );
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "Stub";
+        }
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Exception;
+    }
+}
@@ -0,0 +1,17 @@
+package ua.abond.lab4.bench;
+
+import ua.abond.lab4.core.annotation.Transactional;
+
+public class TransactionalBenchmarkService implements BenchmarkService {
+
+    @Override
+    public int read(int value) {
+        return value + 1;
+    }
+
+    @Override
+    @Transactional
+    public int write(int value) {
+        return value - 1;
+    }
+}
@@ -0,0 +1,44 @@
+package ua.abond.lab4.core.context;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.core.jdbc.JdbcTemplate;
+import ua.abond.lab4.dao.UserDAO;
+import ua.abond.lab4.service.ApartmentService;
+import ua.abond.lab4.service.RequestMapperService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationBeanFactoryBenchmark {
+    private AnnotationBeanFactory factory;
+
+    @Setup
+    public void setUp() {
+        factory = new AnnotationBeanFactory("ua.abond.lab4.config");
+    }
+
+    @Benchmark
+    public Object getService() {
+        return factory.getBean(ApartmentService.class);
+    }
+
+    @Benchmark
+    public Object getRequestMapperService() {
+        return factory.getBean(RequestMapperService.class);
+    }
+
+    @Benchmark
+    public Object getDAO() {
+        return factory.getBean(UserDAO.class);
+    }
+
+    @Benchmark
+    public Object getJdbcTemplate() {
+        return factory.getBean(JdbcTemplate.class);
+    }
+}
@@ -0,0 +1,48 @@
+package ua.abond.lab4.core.tm.bean;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.bench.BenchmarkService;
+import ua.abond.lab4.bench.Stubs;
+import ua.abond.lab4.bench.TransactionalBenchmarkService;
+import ua.abond.lab4.core.tm.TransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionalInvocationHandlerBenchmark {
+    private BenchmarkService target;
+    private BenchmarkService proxy;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        target = new TransactionalBenchmarkService();
+        TransactionManager tm = new TransactionManager(Stubs.dataSource());
+        proxy = (BenchmarkService) Proxy.newProxyInstance(
+                BenchmarkService.class.getClassLoader(),
+                new Class[]{BenchmarkService.class},
+                new TransactionalInvocationHandler(target, tm)
+        );
+    }
+
+    @Benchmark
+    public int direct() {
+        return target.read(value);
+    }
+
+    @Benchmark
+    public int nonTransactional() {
+        return proxy.read(value);
+    }
+
+    @Benchmark
+    public int transactional() {
+        return proxy.write(value);
+    }
+}
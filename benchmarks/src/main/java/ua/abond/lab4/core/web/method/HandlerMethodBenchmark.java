@@ -0,0 +1,51 @@
+package ua.abond.lab4.core.web.method;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.bench.BenchmarkController;
+import ua.abond.lab4.bench.Stubs;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerMethodBenchmark {
+    private BenchmarkController controller;
+    private Method method;
+    private HandlerMethod handlerMethod;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        controller = new BenchmarkController();
+        method = BenchmarkController.class.getMethod("ping", HttpServletRequest.class, HttpServletResponse.class);
+        handlerMethod = new HandlerMethod(controller, method);
+        request = Stubs.request("GET", "/benchmark/ping");
+        response = Stubs.response();
+    }
+
+    @Benchmark
+    public HttpServletRequest direct() {
+        controller.ping(request, response);
+        return request;
+    }
+
+    @Benchmark
+    public HttpServletRequest reflection() throws Exception {
+        method.invoke(controller, request, response);
+        return request;
+    }
+
+    @Benchmark
+    public HttpServletRequest handle() throws Exception {
+        handlerMethod.handle(request, response);
+        return request;
+    }
+}
@@ -0,0 +1,70 @@
+package ua.abond.lab4.core.web.route;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.core.web.method.HandlerMethodInfo;
+import ua.abond.lab4.core.web.support.RequestMethod;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+    private static final int ROUTES = 500;
+    private static final int MODULES = 10;
+
+    private Map<HandlerMethodInfo, Integer> map;
+    private Router<Integer> router;
+
+    private char[] staticPath;
+    private char[] variablePath;
+    private char[] missPath;
+
+    @Setup
+    public void setUp() {
+        map = new HashMap<>();
+        router = new Router<>();
+        for (int i = 0; i < ROUTES; i++) {
+            String prefix = "/module" + (i % MODULES) + "/resource" + i;
+            if (i % 5 == 0) {
+                router.add(prefix + "/{id}", RequestMethod.GET, i);
+            } else {
+                router.add(prefix, RequestMethod.GET, i);
+                map.put(new HandlerMethodInfo(prefix, RequestMethod.GET), i);
+            }
+        }
+        staticPath = "/module7/resource337".toCharArray();
+        variablePath = "/module5/resource345/42".toCharArray();
+        missPath = "/module7/resource999".toCharArray();
+    }
+
+    @Benchmark
+    public Integer mapStatic() {
+        return map.get(new HandlerMethodInfo(new String(staticPath), RequestMethod.GET));
+    }
+
+    @Benchmark
+    public Integer mapMiss() {
+        return map.get(new HandlerMethodInfo(new String(missPath), RequestMethod.GET));
+    }
+
+    @Benchmark
+    public RouteMatch<Integer> routerStatic() {
+        return router.match(RequestMethod.GET, new String(staticPath));
+    }
+
+    @Benchmark
+    public RouteMatch<Integer> routerVariable() {
+        return router.match(RequestMethod.GET, new String(variablePath));
+    }
+
+    @Benchmark
+    public RouteMatch<Integer> routerMiss() {
+        return router.match(RequestMethod.GET, new String(missPath));
+    }
+}
@@ -0,0 +1,50 @@
+package ua.abond.lab4.core.web.servlet;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.bench.BenchmarkController;
+import ua.abond.lab4.bench.Stubs;
+import ua.abond.lab4.core.bean.BeanDefinition;
+import ua.abond.lab4.core.context.AnnotationBeanFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrontControllerServletBenchmark {
+    private FrontControllerServlet servlet;
+    private HttpServletRequest hit;
+    private HttpServletRequest miss;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        AnnotationBeanFactory factory = new AnnotationBeanFactory();
+        factory.scan("ua.abond.lab4.config");
+        factory.register(new BeanDefinition(BenchmarkController.class));
+        factory.refresh();
+
+        servlet = new FrontControllerServlet();
+        servlet.onRefreshed(factory);
+        hit = Stubs.request("GET", "/benchmark/ping");
+        miss = Stubs.request("GET", "/benchmark/missing");
+        response = Stubs.response();
+    }
+
+    @Benchmark
+    public HttpServletRequest dispatchHit() throws Exception {
+        servlet.doDispatch(hit, response);
+        return hit;
+    }
+
+    @Benchmark
+    public HttpServletRequest dispatchMiss() throws Exception {
+        servlet.doDispatch(miss, response);
+        return miss;
+    }
+}
@@ -0,0 +1,267 @@
+package ua.abond.lab4.dao.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.bench.Stubs;
+import ua.abond.lab4.core.jdbc.BeanRowMapper;
+import ua.abond.lab4.core.jdbc.RowMapper;
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.domain.Authority;
+import ua.abond.lab4.domain.Booking;
+import ua.abond.lab4.domain.Order;
+import ua.abond.lab4.domain.Request;
+import ua.abond.lab4.domain.RequestStatus;
+import ua.abond.lab4.domain.User;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+    private static final Timestamp FROM = Timestamp.valueOf("2016-10-02 10:00:00");
+    private static final Timestamp TO = Timestamp.valueOf("2016-10-05 12:00:00");
+    private static final RequestStatus[] STATUSES = RequestStatus.values();
+
+    private Mapping apartment;
+    private Mapping apartmentType;
+    private Mapping authority;
+    private Mapping booking;
+    private Mapping order;
+    private Mapping fetchedOrder;
+    private Mapping request;
+    private Mapping user;
+
+    @Setup
+    public void setUp() throws Exception {
+        apartment = new Mapping(Apartment.class, RowMapperBenchmark::apartment,
+                new String[]{"id", "room_count", "type_id", "type_name", "price", "name"},
+                1L, 4, 0L, "business", new BigDecimal("300"), "Sea view");
+        apartmentType = new Mapping(ApartmentType.class, RowMapperBenchmark::apartmentType,
+                new String[]{"id", "name"},
+                1L, "vip");
+        authority = new Mapping(Authority.class, RowMapperBenchmark::authority,
+                new String[]{"id", "name"},
+                1L, "admin");
+        booking = new Mapping(Booking.class, RowMapperBenchmark::booking,
+                new String[]{"id", "request_id", "order_id", "apartment_id", "from", "to"},
+                1L, 2L, 3L, 4L, FROM, TO);
+        order = new Mapping(Order.class, RowMapperBenchmark::order,
+                new String[]{"id", "apartment_id", "request_id", "price", "payed"},
+                1L, 2L, 3L, new BigDecimal("600"), true);
+        fetchedOrder = new Mapping(Order.class, RowMapperBenchmark::fetchedOrder,
+                new String[]{"id", "apartment_id", "request_id", "price", "payed", "request_from", "request_to",
+                        "apartment_name", "apartment_room_count", "apartment_type_id", "apartment_type_name"},
+                1L, 2L, 3L, new BigDecimal("600"), true, FROM, TO, "Sea view", 4, 0L, "business");
+        request = new Mapping(Request.class, RowMapperBenchmark::request,
+                new String[]{"id", "user_id", "lookup_room_count", "lookup_type_id", "lookup_type_name",
+                        "from", "to", "status", "status_comment"},
+                1L, 2L, 4, 0L, "business", FROM, TO, 0, "Near the sea");
+        user = new Mapping(User.class, RowMapperBenchmark::user,
+                new String[]{"id", "first_name", "last_name", "login", "password", "authority_id", "authority_name"},
+                1L, "John", "Doe", "johndoe", "$2a$10$hash", 2L, "user");
+    }
+
+    @Benchmark
+    public Object apartmentMapper() throws Exception {
+        return apartment.map();
+    }
+
+    @Benchmark
+    public Object apartmentHandMapper() throws Exception {
+        return apartment.mapByHand();
+    }
+
+    @Benchmark
+    public Object apartmentTypeMapper() throws Exception {
+        return apartmentType.map();
+    }
+
+    @Benchmark
+    public Object apartmentTypeHandMapper() throws Exception {
+        return apartmentType.mapByHand();
+    }
+
+    @Benchmark
+    public Object authorityMapper() throws Exception {
+        return authority.map();
+    }
+
+    @Benchmark
+    public Object authorityHandMapper() throws Exception {
+        return authority.mapByHand();
+    }
+
+    @Benchmark
+    public Object bookingMapper() throws Exception {
+        return booking.map();
+    }
+
+    @Benchmark
+    public Object bookingHandMapper() throws Exception {
+        return booking.mapByHand();
+    }
+
+    @Benchmark
+    public Object orderMapper() throws Exception {
+        return order.map();
+    }
+
+    @Benchmark
+    public Object orderHandMapper() throws Exception {
+        return order.mapByHand();
+    }
+
+    @Benchmark
+    public Object fetchedOrderMapper() throws Exception {
+        return fetchedOrder.map();
+    }
+
+    @Benchmark
+    public Object fetchedOrderHandMapper() throws Exception {
+        return fetchedOrder.mapByHand();
+    }
+
+    @Benchmark
+    public Object requestMapper() throws Exception {
+        return request.map();
+    }
+
+    @Benchmark
+    public Object requestHandMapper() throws Exception {
+        return request.mapByHand();
+    }
+
+    @Benchmark
+    public Object userMapper() throws Exception {
+        return user.map();
+    }
+
+    @Benchmark
+    public Object userHandMapper() throws Exception {
+        return user.mapByHand();
+    }
+
+    private static Apartment apartment(ResultSet rs) throws SQLException {
+        Apartment apartment = new Apartment();
+        apartment.setId(rs.getLong(1));
+        apartment.setRoomCount(rs.getInt(2));
+        ApartmentType type = new ApartmentType();
+        type.setId(rs.getLong(3));
+        type.setName(rs.getString(4));
+        apartment.setPrice(rs.getBigDecimal(5));
+        apartment.setType(type);
+        apartment.setName(rs.getString(6));
+        return apartment;
+    }
+
+    private static ApartmentType apartmentType(ResultSet rs) throws SQLException {
+        ApartmentType apartmentType = new ApartmentType();
+        apartmentType.setId(rs.getLong(1));
+        apartmentType.setName(rs.getString(2));
+        return apartmentType;
+    }
+
+    private static Authority authority(ResultSet rs) throws SQLException {
+        Authority authority = new Authority();
+        authority.setId(rs.getLong(1));
+        authority.setName(rs.getString(2));
+        return authority;
+    }
+
+    private static Booking booking(ResultSet rs) throws SQLException {
+        Booking booking = new Booking();
+        booking.setId(rs.getLong(1));
+        booking.setRequestId(rs.getLong(2));
+        booking.setOrderId(rs.getLong(3));
+        booking.setApartmentId(rs.getLong(4));
+        booking.setFrom(rs.getTimestamp(5).toLocalDateTime());
+        booking.setTo(rs.getTimestamp(6).toLocalDateTime());
+        return booking;
+    }
+
+    private static Order order(ResultSet rs) throws SQLException {
+        Order order = new Order();
+        order.setId(rs.getLong(1));
+        Apartment apartment = new Apartment();
+        apartment.setId(rs.getLong(2));
+        order.setApartment(apartment);
+        Request request = new Request();
+        request.setId(rs.getLong(3));
+        order.setRequest(request);
+        order.setPrice(rs.getBigDecimal(4));
+        order.setPayed(rs.getBoolean(5));
+        return order;
+    }
+
+    private static Order fetchedOrder(ResultSet rs) throws SQLException {
+        Order order = order(rs);
+        Request request = order.getRequest();
+        request.setFrom(rs.getTimestamp(6).toLocalDateTime());
+        request.setTo(rs.getTimestamp(7).toLocalDateTime());
+        Apartment apartment = order.getApartment();
+        apartment.setName(rs.getString(8));
+        apartment.setRoomCount(rs.getInt(9));
+        ApartmentType apartmentType = new ApartmentType();
+        apartmentType.setId(rs.getLong(10));
+        apartmentType.setName(rs.getString(11));
+        apartment.setType(apartmentType);
+        return order;
+    }
+
+    private static Request request(ResultSet rs) throws SQLException {
+        Request request = new Request();
+        request.setId(rs.getLong(1));
+        request.setUser(new User(rs.getLong(2)));
+        Apartment apartment = new Apartment();
+        apartment.setRoomCount(rs.getInt(3));
+        apartment.setType(new ApartmentType(rs.getLong(4), rs.getString(5)));
+        request.setLookup(apartment);
+        request.setFrom(rs.getTimestamp(6).toLocalDateTime());
+        request.setTo(rs.getTimestamp(7).toLocalDateTime());
+        request.setStatus(STATUSES[rs.getInt(8)]);
+        request.setStatusComment(rs.getString(9));
+        return request;
+    }
+
+    private static User user(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getLong(1));
+        user.setFirstName(rs.getString(2));
+        user.setLastName(rs.getString(3));
+        user.setLogin(rs.getString(4));
+        user.setPassword(rs.getString(5));
+        Authority authority = new Authority();
+        authority.setId(rs.getLong(6));
+        authority.setName(rs.getString(7));
+        user.setAuthority(authority);
+        return user;
+    }
+
+    private static final class Mapping {
+        private final RowMapper<?> mapper;
+        private final RowMapper<?> handMapper;
+        private final ResultSet rs;
+
+        Mapping(Class<?> type, RowMapper<?> handMapper, String[] labels, Object... row) throws Exception {
+            this.rs = Stubs.resultSet(labels, row);
+            this.mapper = new BeanRowMapper<>(type).bind(rs);
+            this.handMapper = handMapper;
+        }
+
+        Object map() throws Exception {
+            return mapper.mapRow(rs);
+        }
+
+        Object mapByHand() throws Exception {
+            return handMapper.mapRow(rs);
+        }
+    }
+}
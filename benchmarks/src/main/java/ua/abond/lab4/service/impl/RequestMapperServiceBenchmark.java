@@ -0,0 +1,54 @@
+package ua.abond.lab4.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.bench.Stubs;
+import ua.abond.lab4.core.context.AnnotationBeanFactory;
+import ua.abond.lab4.core.web.support.Pageable;
+import ua.abond.lab4.service.RequestMapperService;
+import ua.abond.lab4.web.dto.RequestDTO;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestMapperServiceBenchmark {
+    private RequestMapperService service;
+    private HttpServletRequest pageRequest;
+    private HttpServletRequest dtoRequest;
+
+    @Setup
+    public void setUp() {
+        service = new AnnotationBeanFactory("ua.abond.lab4.config").getBean(RequestMapperService.class);
+
+        Map<String, String> page = new HashMap<>();
+        page.put("page", "3");
+        page.put("pageSize", "20");
+        page.put("order", "desc");
+        pageRequest = Stubs.request("GET", "/user/apartments", page);
+
+        Map<String, String> dto = new HashMap<>();
+        dto.put("apartmentTypeId", "1");
+        dto.put("roomCount", "2");
+        dto.put("from", "2030-10-02T10:00");
+        dto.put("to", "2030-10-05T12:00");
+        dto.put("statusComment", "Near the sea");
+        dtoRequest = Stubs.request("POST", "/user/request", dto);
+    }
+
+    @Benchmark
+    public Pageable mapPageable() {
+        return service.map(pageRequest, Pageable.class);
+    }
+
+    @Benchmark
+    public RequestDTO mapRequestDTO() {
+        return service.map(dtoRequest, RequestDTO.class);
+    }
+}
@@ -0,0 +1,48 @@
+package ua.abond.lab4.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.core.context.AnnotationBeanFactory;
+import ua.abond.lab4.domain.User;
+import ua.abond.lab4.service.ValidationService;
+import ua.abond.lab4.web.dto.RequestDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationServiceBenchmark {
+    private ValidationService service;
+    private RequestDTO validRequest;
+    private User invalidUser;
+
+    @Setup
+    public void setUp() {
+        service = new AnnotationBeanFactory("ua.abond.lab4.config").getBean(ValidationService.class);
+
+        validRequest = new RequestDTO();
+        validRequest.setApartmentTypeId(1L);
+        validRequest.setRoomCount(2);
+        validRequest.setFrom(LocalDateTime.now().plusDays(10));
+        validRequest.setTo(LocalDateTime.now().plusDays(12));
+
+        invalidUser = new User();
+        invalidUser.setLogin("abc");
+    }
+
+    @Benchmark
+    public RequestDTO validate() throws Exception {
+        service.validate(validRequest);
+        return validRequest;
+    }
+
+    @Benchmark
+    public List<String> tryValidateInvalid() {
+        return service.tryValidate(invalidUser);
+    }
+}
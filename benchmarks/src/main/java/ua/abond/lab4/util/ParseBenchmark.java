@@ -0,0 +1,82 @@
+package ua.abond.lab4.util;
+
+import org.openjdk.jmh.annotations.*;
+import ua.abond.lab4.core.web.support.SortOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'H:mm");
+
+    private String number = "12345";
+    private String notNumber = "12a45";
+    private String missing = null;
+    private String order = "desc";
+    private String notOrder = "sideways";
+    private String price = "1250.50";
+    private String dateTime = "2016-10-02T10:00";
+
+    @Benchmark
+    public int intValue() {
+        return Parse.intValue(number, 0);
+    }
+
+    @Benchmark
+    public int intValueInvalid() {
+        return Parse.intValue(notNumber, 0);
+    }
+
+    @Benchmark
+    public int intValueMissing() {
+        return Parse.intValue(missing, 0);
+    }
+
+    @Benchmark
+    public Long longObject() {
+        return Parse.longObject(number);
+    }
+
+    @Benchmark
+    public Long longObjectMissing() {
+        return Parse.longObject(missing);
+    }
+
+    @Benchmark
+    public SortOrder enumeration() {
+        return Parse.enumeration(SortOrder.class, order, SortOrder.ASC);
+    }
+
+    @Benchmark
+    public SortOrder enumerationInvalid() {
+        return Parse.enumeration(SortOrder.class, notOrder, SortOrder.ASC);
+    }
+
+    @Benchmark
+    public Double doubleObject() {
+        return Parse.doubleObject(price);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return Parse.bigDecimal(price);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTime() {
+        return Parse.localDateTime(dateTime, formatter);
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTimeMissing() {
+        return Parse.localDateTime(missing, formatter);
+    }
+}
@@ -0,0 +1,31 @@
+package ua.abond.lab4.config;
+
+import ua.abond.lab4.core.annotation.Bean;
+import ua.abond.lab4.core.annotation.Component;
+import ua.abond.lab4.core.annotation.Prop;
+import ua.abond.lab4.core.annotation.Value;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.dao.ApartmentDAO;
+import ua.abond.lab4.dao.BookingDAO;
+import ua.abond.lab4.service.availability.AvailabilityEngine;
+import ua.abond.lab4.service.availability.AvailabilityIndex;
+import ua.abond.lab4.util.Parse;
+
+@Component
+@Prop("availability.properties")
+public class AvailabilityConfig {
+    @Value("availability.engine")
+    private String engine;
+
+    @Bean
+    public AvailabilityIndex getAvailabilityIndex(ApartmentDAO apartmentDAO,
+                                                  BookingDAO bookingDAO,
+                                                  TransactionManager tm) {
+        AvailabilityIndex index = new AvailabilityIndex(
+                Parse.enumeration(AvailabilityEngine.class, engine, AvailabilityEngine.SQL),
+                apartmentDAO, bookingDAO, tm
+        );
+        index.load();
+        return index;
+    }
+}
@@ -0,0 +1,43 @@
+package ua.abond.lab4.config;
+
+import ua.abond.lab4.core.annotation.Bean;
+import ua.abond.lab4.core.annotation.Component;
+import ua.abond.lab4.core.annotation.Prop;
+import ua.abond.lab4.core.annotation.Value;
+import ua.abond.lab4.core.cache.CacheManager;
+import ua.abond.lab4.core.cache.bean.CacheBeanPostProcessor;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.dao.jdbc.EntityCacheFactory;
+import ua.abond.lab4.util.Parse;
+
+@Component
+@Prop("cache.properties")
+public class CacheConfig {
+    @Value("cache.maxSize")
+    private String maxSize;
+    @Value("cache.ttl")
+    private String ttl;
+    @Value("cache.entity.maxSize")
+    private String entityMaxSize;
+
+    @Bean
+    public CacheBeanPostProcessor getCacheBeanPostProcessor() {
+        return new CacheBeanPostProcessor();
+    }
+
+    @Bean
+    public CacheManager getCacheManager(MetricRegistry metricRegistry) {
+        CacheManager cacheManager = new CacheManager(
+                Parse.intValue(maxSize, 256),
+                Parse.longValue(ttl, 300_000L)
+        );
+        cacheManager.setMetricRegistry(metricRegistry);
+        return cacheManager;
+    }
+
+    @Bean
+    public EntityCacheFactory getEntityCacheFactory(CacheManager cacheManager, TransactionManager transactionManager) {
+        return new EntityCacheFactory(cacheManager, transactionManager, Parse.intValue(entityMaxSize, 1000));
+    }
+}
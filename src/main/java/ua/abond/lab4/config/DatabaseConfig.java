@@ -1,12 +1,17 @@
 package ua.abond.lab4.config;
 
 import org.apache.log4j.Logger;
-import org.postgresql.ds.PGPoolingDataSource;
+import org.postgresql.ds.PGSimpleDataSource;
 import ua.abond.lab4.core.annotation.*;
 import ua.abond.lab4.core.jdbc.JdbcTemplate;
 import ua.abond.lab4.core.jdbc.TransactionalJdbcTemplate;
+import ua.abond.lab4.core.jdbc.pool.PoolConfig;
+import ua.abond.lab4.core.jdbc.pool.PooledDataSource;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.tm.RoutingDataSource;
 import ua.abond.lab4.core.tm.TransactionManager;
 import ua.abond.lab4.core.tm.bean.TransactionalBeanPostProcessor;
+import ua.abond.lab4.util.Parse;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -27,9 +32,33 @@ public class DatabaseConfig {
     private String username;
     @Value("db.password")
     private String password;
+    @Value("db.replica.url")
+    private String replicaUrl;
+    @Value("db.replica.username")
+    private String replicaUsername;
+    @Value("db.replica.password")
+    private String replicaPassword;
+    @Value("db.pool.maxSize")
+    private String poolMaxSize;
+    @Value("db.pool.minIdle")
+    private String poolMinIdle;
+    @Value("db.pool.maxWaitMillis")
+    private String poolMaxWaitMillis;
+    @Value("db.pool.idleTimeoutMillis")
+    private String poolIdleTimeoutMillis;
+    @Value("db.pool.validationIntervalMillis")
+    private String poolValidationIntervalMillis;
+    @Value("db.pool.leakDetectionThresholdMillis")
+    private String poolLeakDetectionThresholdMillis;
+    @Value("db.pool.statementCacheSize")
+    private String poolStatementCacheSize;
+    @Value("db.batchSize")
+    private String batchSize;
+    @Value("db.fetchSize")
+    private String fetchSize;
 
     @Bean
-    public DataSource getDataSource() throws NamingException {
+    public DataSource getDataSource(MetricRegistry metricRegistry) throws NamingException {
         DataSource result;
         try {
             Context context = new InitialContext();
@@ -37,28 +66,78 @@ public class DatabaseConfig {
         } catch (NamingException e) {
             logger.debug("Failed to find DataSource.", e);
 
-            PGPoolingDataSource dataSource = new PGPoolingDataSource();
-            dataSource.setUrl(getEnvProperty("JDBC_DATABASE_URL").orElse(url));
-            dataSource.setUser(getEnvProperty("JDBC_DATABASE_USERNAME").orElse(username));
-            dataSource.setPassword(getEnvProperty("JDBC_DATABASE_PASSWORD").orElse(password));
-            result = dataSource;
+            String user = getEnvProperty("JDBC_DATABASE_USERNAME").orElse(username);
+            String pass = getEnvProperty("JDBC_DATABASE_PASSWORD").orElse(password);
+            result = createPool("primary", getEnvProperty("JDBC_DATABASE_URL").orElse(url), user, pass, metricRegistry);
+
+            String replica = getEnvProperty("JDBC_REPLICA_DATABASE_URL").orElse(replicaUrl);
+            if (!isBlank(replica)) {
+                logger.info("Routing read-only queries to replica " + replica);
+                result = new RoutingDataSource(result, createPool(
+                        "replica", replica,
+                        getEnvProperty("JDBC_REPLICA_DATABASE_USERNAME").orElse(orDefault(replicaUsername, user)),
+                        getEnvProperty("JDBC_REPLICA_DATABASE_PASSWORD").orElse(orDefault(replicaPassword, pass)),
+                        metricRegistry
+                ));
+            }
         }
         return result;
     }
 
+    private DataSource createPool(String name, String url, String user, String password,
+                                  MetricRegistry metricRegistry) {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(url);
+        dataSource.setUser(user);
+        dataSource.setPassword(password);
+        PooledDataSource pool = new PooledDataSource(dataSource, getPoolConfig());
+        pool.registerMetrics(metricRegistry, name);
+        return pool;
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return isBlank(value) ? defaultValue : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private PoolConfig getPoolConfig() {
+        PoolConfig config = new PoolConfig();
+        config.setMaxPoolSize(Parse.intValue(poolMaxSize, config.getMaxPoolSize()));
+        config.setMinIdle(Parse.intValue(poolMinIdle, config.getMinIdle()));
+        config.setMaxWaitMillis(Parse.longValue(poolMaxWaitMillis, config.getMaxWaitMillis()));
+        config.setIdleTimeoutMillis(Parse.longValue(poolIdleTimeoutMillis, config.getIdleTimeoutMillis()));
+        config.setValidationIntervalMillis(
+                Parse.longValue(poolValidationIntervalMillis, config.getValidationIntervalMillis())
+        );
+        config.setLeakDetectionThresholdMillis(
+                Parse.longValue(poolLeakDetectionThresholdMillis, config.getLeakDetectionThresholdMillis())
+        );
+        config.setStatementCacheSize(Parse.intValue(poolStatementCacheSize, config.getStatementCacheSize()));
+        return config;
+    }
+
     @Bean
     public TransactionalBeanPostProcessor getTransactionalBeanPostProcessor() {
         return new TransactionalBeanPostProcessor();
     }
 
     @Bean
-    public TransactionManager getTransactionManager(DataSource dataSource) {
-        return new TransactionManager(dataSource);
+    public TransactionManager getTransactionManager(DataSource dataSource, MetricRegistry metricRegistry) {
+        TransactionManager transactionManager = new TransactionManager(dataSource);
+        transactionManager.setMetricRegistry(metricRegistry);
+        return transactionManager;
     }
 
     @Bean
-    public JdbcTemplate getJdbcTemplate() {
-        return new TransactionalJdbcTemplate();
+    public JdbcTemplate getJdbcTemplate(MetricRegistry metricRegistry) {
+        JdbcTemplate jdbcTemplate = new TransactionalJdbcTemplate();
+        jdbcTemplate.setMetricRegistry(metricRegistry);
+        jdbcTemplate.setBatchSize(Parse.intValue(batchSize, JdbcTemplate.DEFAULT_BATCH_SIZE));
+        jdbcTemplate.setFetchSize(Parse.intValue(fetchSize, JdbcTemplate.DEFAULT_FETCH_SIZE));
+        return jdbcTemplate;
     }
 
     private Optional<String> getEnvProperty(String prop) {
@@ -0,0 +1,14 @@
+package ua.abond.lab4.config;
+
+import ua.abond.lab4.core.annotation.Bean;
+import ua.abond.lab4.core.annotation.Component;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+
+@Component
+public class MetricsConfig {
+
+    @Bean
+    public MetricRegistry getMetricRegistry() {
+        return new MetricRegistry();
+    }
+}
@@ -2,14 +2,50 @@ package ua.abond.lab4.config;
 
 import ua.abond.lab4.core.annotation.Bean;
 import ua.abond.lab4.core.annotation.Component;
-import ua.abond.lab4.security.BCryptPasswordEncoder;
-import ua.abond.lab4.security.PasswordEncoder;
+import ua.abond.lab4.core.annotation.Prop;
+import ua.abond.lab4.core.annotation.Value;
+import ua.abond.lab4.security.*;
+import ua.abond.lab4.util.Parse;
 
 @Component
+@Prop("security.properties")
 public class SecurityConfig {
+    @Value("password.cost")
+    private String cost;
+    @Value("password.threads")
+    private String threads;
+    @Value("password.queue")
+    private String queue;
+    @Value("password.timeout")
+    private String timeout;
+    @Value("login.attempts")
+    private String attempts;
+    @Value("login.refillPerMinute")
+    private String refillPerMinute;
+    @Value("login.maxTracked")
+    private String maxTracked;
 
     @Bean
     public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        int poolSize = Parse.intValue(threads, 0);
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(Parse.intValue(cost, BCryptPasswordEncoder.DEFAULT_LOG_ROUNDS)),
+                poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors(),
+                Parse.intValue(queue, 64),
+                Parse.longValue(timeout, 10_000L)
+        );
+    }
+
+    @Bean
+    public LoginThrottle getLoginThrottle() {
+        return new LoginThrottle(createLimiter(), createLimiter());
+    }
+
+    private TokenBucketLimiter createLimiter() {
+        return new TokenBucketLimiter(
+                Parse.intValue(attempts, 10),
+                Parse.intValue(refillPerMinute, 10),
+                Parse.intValue(maxTracked, 100_000)
+        );
     }
 }
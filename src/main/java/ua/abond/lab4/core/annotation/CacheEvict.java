@@ -0,0 +1,10 @@
+package ua.abond.lab4.core.annotation;
+
+import java.lang.annotation.*;
+
+@Inherited
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheEvict {
+    String value();
+}
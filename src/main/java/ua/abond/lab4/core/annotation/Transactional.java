@@ -1,9 +1,14 @@
 package ua.abond.lab4.core.annotation;
 
+import ua.abond.lab4.core.tm.Isolation;
+
 import java.lang.annotation.*;
 
 @Inherited
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Transactional {
+    boolean readOnly() default false;
+
+    Isolation isolation() default Isolation.DEFAULT;
 }
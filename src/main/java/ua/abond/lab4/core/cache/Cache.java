@@ -0,0 +1,128 @@
+package ua.abond.lab4.core.cache;
+
+import ua.abond.lab4.core.metrics.Counter;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class Cache {
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits = new Counter();
+    private final Counter misses = new Counter();
+    private final Counter evictions = new Counter();
+    private long generation;
+
+    public Cache(String name, int maxSize, long ttlMillis) {
+        this(name, maxSize, ttlMillis, System::nanoTime);
+    }
+
+    Cache(String name, int maxSize, long ttlMillis, LongSupplier clock) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(clock);
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache '" + name + "' needs a positive size and time to live.");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.clock = clock;
+    }
+
+    public synchronized Object get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && clock.getAsLong() - entry.created >= ttlNanos) {
+            entries.remove(key);
+            evictions.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized boolean put(Object key, Object value, long generation) {
+        Objects.requireNonNull(value);
+        if (this.generation != generation) {
+            return false;
+        }
+        entries.put(key, new Entry(value, clock.getAsLong()));
+        if (entries.size() > maxSize) {
+            Iterator<Map.Entry<Object, Entry>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+        return true;
+    }
+
+    public synchronized void invalidate(Object key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHitCount() {
+        return hits.getCount();
+    }
+
+    public long getMissCount() {
+        return misses.getCount();
+    }
+
+    public long getEvictionCount() {
+        return evictions.getCount();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.getCount();
+        long total = hitCount + misses.getCount();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public void registerMetrics(MetricRegistry registry) {
+        registry.register("cache_hits_total", "Cache lookups served from memory.", hits, "cache", name);
+        registry.register("cache_misses_total", "Cache lookups that went to the target.", misses, "cache", name);
+        registry.register("cache_evictions_total", "Entries evicted by size or age.", evictions, "cache", name);
+        registry.gauge("cache_size", "Entries held by the cache.", this::size, "cache", name);
+        registry.gauge("cache_hit_ratio", "Share of lookups served from memory.", this::getHitRatio, "cache", name);
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long created;
+
+        private Entry(Object value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ua.abond.lab4.core.cache;
+
+import ua.abond.lab4.core.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class CacheManager {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private volatile MetricRegistry registry;
+
+    public CacheManager(int maxSize, long ttlMillis) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Caches need a positive size and time to live.");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Cache getCache(String name) {
+        return getCache(name, maxSize);
+    }
+
+    public Cache getCache(String name, int maxSize) {
+        Objects.requireNonNull(name);
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(name, n -> createCache(n, maxSize));
+        }
+        return cache;
+    }
+
+    public void setMetricRegistry(MetricRegistry registry) {
+        Objects.requireNonNull(registry);
+        this.registry = registry;
+        caches.values().forEach(cache -> cache.registerMetrics(registry));
+    }
+
+    private Cache createCache(String name, int maxSize) {
+        Cache cache = new Cache(name, maxSize, ttlMillis);
+        MetricRegistry metricRegistry = registry;
+        if (metricRegistry != null) {
+            cache.registerMetrics(metricRegistry);
+        }
+        return cache;
+    }
+}
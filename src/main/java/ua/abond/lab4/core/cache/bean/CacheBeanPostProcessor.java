@@ -0,0 +1,64 @@
+package ua.abond.lab4.core.cache.bean;
+
+import ua.abond.lab4.core.BeanPostProcessor;
+import ua.abond.lab4.core.ConfigurableBeanFactory;
+import ua.abond.lab4.core.Ordered;
+import ua.abond.lab4.core.annotation.CacheEvict;
+import ua.abond.lab4.core.annotation.Cacheable;
+import ua.abond.lab4.core.bean.BeanDefinition;
+import ua.abond.lab4.core.cache.CacheManager;
+import ua.abond.lab4.core.tm.TransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+public class CacheBeanPostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessBeforeInitialization(ConfigurableBeanFactory factory, Object bean, String beanName) {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(ConfigurableBeanFactory factory, Object bean, String simpleName) {
+        Object result = bean;
+        if (containsCacheMethods(bean)) {
+            CacheManager cacheManager = getBean(factory, CacheManager.class);
+            TransactionManager tm = factory.containsBeanDefinition(TransactionManager.class) ?
+                    getBean(factory, TransactionManager.class) : null;
+            result = createProxy(bean, cacheManager, tm);
+        }
+        return result;
+    }
+
+    private <T> T getBean(ConfigurableBeanFactory factory, Class<T> type) {
+        if (!factory.containsBean(type)) {
+            BeanDefinition bd = factory.getBeanDefinition(type);
+            return type.cast(factory.createBean(type.getSimpleName(), bd));
+        } else {
+            return factory.getBean(type);
+        }
+    }
+
+    private boolean containsCacheMethods(Object obj) {
+        Class<?> type = obj.getClass();
+        return Stream.concat(Stream.of(type), Arrays.stream(type.getInterfaces())).
+                flatMap(cls -> Arrays.stream(cls.isInterface() ? cls.getMethods() : cls.getDeclaredMethods())).
+                anyMatch(m -> m.isAnnotationPresent(Cacheable.class) || m.isAnnotationPresent(CacheEvict.class));
+    }
+
+    private Object createProxy(Object obj, CacheManager cacheManager, TransactionManager tm) {
+        Class<?> type = obj.getClass();
+        return Proxy.newProxyInstance(
+                type.getClassLoader(),
+                type.getInterfaces(),
+                new CachingInvocationHandler(obj, cacheManager, tm)
+        );
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,139 @@
+package ua.abond.lab4.core.cache.bean;
+
+import org.apache.log4j.Logger;
+import ua.abond.lab4.core.annotation.CacheEvict;
+import ua.abond.lab4.core.annotation.Cacheable;
+import ua.abond.lab4.core.cache.Cache;
+import ua.abond.lab4.core.cache.CacheManager;
+import ua.abond.lab4.core.tm.RoutingDataSource;
+import ua.abond.lab4.core.tm.TransactionManager;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class CachingInvocationHandler implements InvocationHandler {
+    private static final Logger logger = Logger.getLogger(CachingInvocationHandler.class);
+
+    private final Object object;
+    private final TransactionManager tm;
+    private final Map<Method, Cache> reads;
+    private final Map<Method, Cache> evictions;
+
+    public CachingInvocationHandler(Object object, CacheManager cacheManager, TransactionManager tm) {
+        Objects.requireNonNull(object);
+        Objects.requireNonNull(cacheManager);
+        this.object = object;
+        this.tm = tm;
+        this.reads = new HashMap<>();
+        this.evictions = new HashMap<>();
+        for (Class<?> iface : getInterfaces(object.getClass())) {
+            for (Method method : iface.getMethods()) {
+                Cacheable cacheable = findAnnotation(object.getClass(), method, Cacheable.class);
+                if (cacheable != null) {
+                    reads.put(method, cacheManager.getCache(cacheable.value()));
+                }
+                CacheEvict evict = findAnnotation(object.getClass(), method, CacheEvict.class);
+                if (evict != null) {
+                    evictions.put(method, cacheManager.getCache(evict.value()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Cache cache = reads.get(method);
+        if (cache != null) {
+            return read(cache, method, args);
+        }
+        cache = evictions.get(method);
+        if (cache != null) {
+            return evict(cache, method, args);
+        }
+        return invokeTarget(method, args);
+    }
+
+    private Object read(Cache cache, Method method, Object[] args) throws Throwable {
+        Object key = key(method, args);
+        Object result = cache.get(key);
+        if (result != null) {
+            return ValueCopier.copy(result);
+        }
+        if (inTransaction()) {
+            return invokeTarget(method, args);
+        }
+        long generation = cache.getGeneration();
+        result = RoutingDataSource.primary(() -> invokeTarget(method, args));
+        if (result != null) {
+            cache.put(key, ValueCopier.copy(result), generation);
+        }
+        return result;
+    }
+
+    private Object evict(Cache cache, Method method, Object[] args) throws Throwable {
+        cache.invalidateAll();
+        try {
+            return invokeTarget(method, args);
+        } finally {
+            cache.invalidateAll();
+            if (inTransaction()) {
+                tm.afterCommit(cache::invalidateAll);
+            }
+        }
+    }
+
+    private boolean inTransaction() {
+        return tm != null && tm.hasBegun();
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(object, args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Tried to invoke inaccessible method '" + method.getName() + "'", e);
+        } catch (InvocationTargetException e) {
+            logger.debug("Method threw an exception.", e);
+            throw e.getCause();
+        }
+    }
+
+    private static Object key(Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return method;
+        }
+        List<Object> key = new ArrayList<>(args.length + 1);
+        key.add(method);
+        Collections.addAll(key, args);
+        return key;
+    }
+
+    private static Set<Class<?>> getInterfaces(Class<?> type) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+            Collections.addAll(result, cls.getInterfaces());
+        }
+        return result;
+    }
+
+    private static <A extends Annotation> A findAnnotation(Class<?> type, Method method, Class<A> annotation) {
+        A result = method.getAnnotation(annotation);
+        if (result != null) {
+            return result;
+        }
+        try {
+            return type.getMethod(method.getName(), method.getParameterTypes()).getAnnotation(annotation);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
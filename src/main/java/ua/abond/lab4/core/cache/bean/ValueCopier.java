@@ -0,0 +1,72 @@
+package ua.abond.lab4.core.cache.bean;
+
+import ua.abond.lab4.core.exception.ImproperlyConfiguredException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+final class ValueCopier {
+    private static final ConcurrentMap<Class<?>, Constructor<?>> COPY_CONSTRUCTORS = new ConcurrentHashMap<>();
+
+    private ValueCopier() {
+    }
+
+    static Object copy(Object value) {
+        if (value == null || isImmutable(value.getClass())) {
+            return value;
+        }
+        if (value instanceof Optional) {
+            return ((Optional<?>) value).map(ValueCopier::copy);
+        }
+        if (value instanceof List) {
+            return copyAll((List<?>) value, new ArrayList<>(((List<?>) value).size()));
+        }
+        if (value instanceof Set) {
+            return copyAll((Set<?>) value, new LinkedHashSet<>());
+        }
+        Constructor<?> constructor = COPY_CONSTRUCTORS.get(value.getClass());
+        if (constructor == null) {
+            constructor = COPY_CONSTRUCTORS.computeIfAbsent(value.getClass(), ValueCopier::copyConstructor);
+        }
+        try {
+            return constructor.newInstance(value);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Failed to copy " + value.getClass().getName(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Failed to copy " + value.getClass().getName(), e.getCause());
+        }
+    }
+
+    private static <C extends Collection<Object>> C copyAll(Collection<?> values, C result) {
+        for (Object value : values) {
+            result.add(copy(value));
+        }
+        return result;
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        return type == String.class || type == Boolean.class || type == Character.class || type.isEnum() ||
+                type == BigDecimal.class || type == BigInteger.class ||
+                (Number.class.isAssignableFrom(type) && type.getName().startsWith("java.lang.")) ||
+                type.getName().startsWith("java.time.");
+    }
+
+    private static Constructor<?> copyConstructor(Class<?> type) {
+        try {
+            return type.getConstructor(type);
+        } catch (NoSuchMethodException e) {
+            throw new ImproperlyConfiguredException(
+                    "Cached values of type " + type.getName() + " need a public copy constructor.", e);
+        }
+    }
+}
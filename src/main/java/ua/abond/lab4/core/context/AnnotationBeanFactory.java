@@ -26,6 +26,8 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
 
     private final Map<String, Object> beans = new ConcurrentHashMap<>(16);
     private final Map<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<>(16);
+    private final TypeIndex beanIndex = new TypeIndex();
+    private final TypeIndex beanDefinitionIndex = new TypeIndex();
 
     public AnnotationBeanFactory() {
         initDefault();
@@ -39,7 +41,7 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
     }
 
     private void initDefault() {
-        beans.put(this.getClass().getSimpleName(), this);
+        putBean(this.getClass().getSimpleName(), this);
         this.scanner = new ClassPathBeanDefinitionScanner(this);
         this.beanConstructors.add(new DefaultBeanConstructor());
         this.beanConstructors.add(new InjectAnnotationBeanConstructor());
@@ -52,7 +54,24 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
     @Override
     public void register(BeanDefinition beanDefinition) {
         logger.debug("Registering BeanDefinition of " + beanDefinition.getType() + " type.");
-        beanDefinitions.put(beanDefinition.getType().getSimpleName(), beanDefinition);
+        String name = beanDefinition.getType().getSimpleName();
+        synchronized (beanDefinitionIndex) {
+            BeanDefinition previous = beanDefinitions.put(name, beanDefinition);
+            if (previous != null) {
+                beanDefinitionIndex.remove(name, previous.getType());
+            }
+            beanDefinitionIndex.add(name, beanDefinition.getType());
+        }
+    }
+
+    private void putBean(String name, Object bean) {
+        synchronized (beanIndex) {
+            Object previous = beans.put(name, bean);
+            if (previous != null) {
+                beanIndex.remove(name, previous.getClass());
+            }
+            beanIndex.add(name, bean.getClass());
+        }
     }
 
     @Override
@@ -62,11 +81,7 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
 
     @Override
     public <T> boolean containsBean(Class<T> type) {
-        return beans.values().stream().
-                filter(o -> type.isAssignableFrom(o.getClass())).
-                map(o -> true).
-                findFirst().
-                orElse(false);
+        return !beanIndex.get(type).isEmpty();
     }
 
     @Override
@@ -82,19 +97,26 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
     @SuppressWarnings("unchecked")
     public <T> T getBean(Class<T> type) {
         Objects.requireNonNull(type);
-        return (T) beans.values().stream().
-                filter(o -> type.isAssignableFrom(o.getClass())).
-                findFirst().
-                orElseThrow(() -> new NoSuchBeanException("Bean not found: " + type.getSimpleName()));
+        String name = beanIndex.first(type);
+        Object bean = name == null ? null : beans.get(name);
+        if (bean == null) {
+            throw new NoSuchBeanException("Bean not found: " + type.getSimpleName());
+        }
+        return (T) bean;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> Map<String, T> getBeansOfType(Class<T> type) {
         Objects.requireNonNull(type);
-        return beans.entrySet().stream().
-                filter(kv -> type.isAssignableFrom(kv.getValue().getClass())).
-                collect(Collectors.toMap(Map.Entry::getKey, e -> (T) e.getValue()));
+        Map<String, T> result = new HashMap<>();
+        for (String name : beanIndex.get(type)) {
+            Object bean = beans.get(name);
+            if (bean != null) {
+                result.put(name, (T) bean);
+            }
+        }
+        return result;
     }
 
     public final void scan(String... paths) {
@@ -111,7 +133,10 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
     @Override
     public final void refresh() {
         synchronized (this) {
-            beans.clear();
+            synchronized (beanIndex) {
+                beans.clear();
+                beanIndex.clear();
+            }
             beanConstructors.clear();
             beanPostProcessors.clear();
             beanFactoryPostProcessors.clear();
@@ -159,8 +184,11 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
     }
 
     private <T> Stream<Map.Entry<String, BeanDefinition>> getBeanDefinitionsOfTypeStream(Class<T> type) {
-        return beanDefinitions.entrySet().stream().
-                filter(e -> type.isAssignableFrom(e.getValue().getType()));
+        return beanDefinitionIndex.get(type).stream().
+                filter(beanDefinitions::containsKey).
+                <Map.Entry<String, BeanDefinition>>map(name ->
+                        new AbstractMap.SimpleImmutableEntry<>(name, beanDefinitions.get(name))
+                );
     }
 
     @Override
@@ -170,12 +198,7 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
 
     @Override
     public boolean containsBeanDefinition(Class<?> type) {
-        return beanDefinitions.values().stream().
-                map(BeanDefinition::getType).
-                filter(type::isAssignableFrom).
-                findFirst().
-                map(c -> true).
-                orElse(false);
+        return !beanDefinitionIndex.get(type).isEmpty();
     }
 
     @Override
@@ -190,9 +213,8 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
 
     @Override
     public BeanDefinition getBeanDefinition(Class<?> type) {
-        return beanDefinitions.values().stream().
-                filter(bd -> type.isAssignableFrom(bd.getType())).
-                findFirst().
+        String name = beanDefinitionIndex.first(type);
+        return Optional.ofNullable(name == null ? null : beanDefinitions.get(name)).
                 orElseThrow(() ->
                         new NoSuchBeanException("Failed to find bean definition with type '" +
                                 type.getSimpleName() + "'")
@@ -239,14 +261,14 @@ public class AnnotationBeanFactory implements ConfigurableBeanFactory, BeanDefin
             bean = bpp.postProcessBeforeInitialization(this, bean, simpleName);
         }
         if (putToMap) {
-            beans.put(simpleName, bean);
+            putBean(simpleName, bean);
         }
 
         for (BeanPostProcessor bpp : beanPostProcessors) {
             bean = bpp.postProcessAfterInitialization(this, bean, simpleName);
         }
         if (putToMap) {
-            beans.put(simpleName, bean);
+            putBean(simpleName, bean);
         }
         return bean;
     }
@@ -0,0 +1,67 @@
+package ua.abond.lab4.core.context;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+class TypeIndex {
+    private static final Map<Class<?>, Set<Class<?>>> hierarchies = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Set<String>> names = new ConcurrentHashMap<>();
+
+    void add(String name, Class<?> type) {
+        for (Class<?> assignable : hierarchy(type)) {
+            names.computeIfAbsent(assignable, k -> new CopyOnWriteArraySet<>()).add(name);
+        }
+    }
+
+    void remove(String name, Class<?> type) {
+        for (Class<?> assignable : hierarchy(type)) {
+            Set<String> assigned = names.get(assignable);
+            if (assigned != null) {
+                assigned.remove(name);
+            }
+        }
+    }
+
+    Set<String> get(Class<?> type) {
+        Set<String> assigned = names.get(type);
+        return assigned == null ? Collections.emptySet() : assigned;
+    }
+
+    String first(Class<?> type) {
+        Set<String> assigned = names.get(type);
+        if (assigned == null) {
+            return null;
+        }
+        for (String name : assigned) {
+            return name;
+        }
+        return null;
+    }
+
+    void clear() {
+        names.clear();
+    }
+
+    static Set<Class<?>> hierarchy(Class<?> type) {
+        return hierarchies.computeIfAbsent(type, k -> {
+            Set<Class<?>> result = new LinkedHashSet<>();
+            collect(k, result);
+            return Collections.unmodifiableSet(result);
+        });
+    }
+
+    private static void collect(Class<?> type, Set<Class<?>> result) {
+        if (type == null || !result.add(type)) {
+            return;
+        }
+        collect(type.getSuperclass(), result);
+        for (Class<?> iface : type.getInterfaces()) {
+            collect(iface, result);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package ua.abond.lab4.core.jdbc;
+
+import org.apache.log4j.Logger;
+import ua.abond.lab4.core.jdbc.exception.DataAccessException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class BeanRowMapper<T> implements RowMapper<T> {
+    private static final Logger logger = Logger.getLogger(BeanRowMapper.class);
+
+    private final Class<T> type;
+    private final ConcurrentMap<String, MethodHandle> plans = new ConcurrentHashMap<>();
+    private final ThreadLocal<Binding<T>> binding = new ThreadLocal<>();
+
+    public BeanRowMapper(Class<T> type) {
+        Objects.requireNonNull(type);
+        if (!BeanType.isBean(type)) {
+            throw new IllegalArgumentException(type.getName() + " cannot be mapped from a row.");
+        }
+        this.type = type;
+    }
+
+    @Override
+    public T mapRow(ResultSet rs) throws SQLException {
+        Binding<T> current = binding.get();
+        if (current == null || current.resultSet.get() != rs) {
+            current = new Binding<>(type, rs, plan(rs.getMetaData()));
+            binding.set(current);
+        }
+        return current.mapRow(rs);
+    }
+
+    @Override
+    public RowMapper<T> bind(ResultSet rs) throws SQLException {
+        return new Binding<>(type, rs, plan(rs.getMetaData()));
+    }
+
+    int getPlanCount() {
+        return plans.size();
+    }
+
+    private MethodHandle plan(ResultSetMetaData metaData) throws SQLException {
+        int count = metaData.getColumnCount();
+        String[] labels = new String[count];
+        int[] sqlTypes = new int[count];
+        boolean[] nullable = new boolean[count];
+        StringBuilder shape = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+            sqlTypes[i] = metaData.getColumnType(i + 1);
+            nullable[i] = metaData.isNullable(i + 1) != ResultSetMetaData.columnNoNulls;
+            shape.append(labels[i]).append(':').append(sqlTypes[i]).append(nullable[i] ? "?," : ",");
+        }
+        MethodHandle plan = plans.get(shape.toString());
+        if (plan == null) {
+            plan = plans.computeIfAbsent(shape.toString(), key -> compile(labels, sqlTypes, nullable));
+        }
+        return plan;
+    }
+
+    private MethodHandle compile(String[] labels, int[] sqlTypes, boolean[] nullable) {
+        Node root = new Node(BeanType.of(type), null);
+        for (int i = 0; i < labels.length; i++) {
+            ColumnInfo column = new ColumnInfo(labels[i], i + 1, sqlTypes[i], nullable[i]);
+            if (!root.bind(column, labels[i].split("_"), 0)) {
+                logger.debug(String.format("Column '%s' does not match any property of %s.", labels[i], type.getName()));
+            }
+        }
+        return root.compile().asType(MethodType.methodType(Object.class, ResultSet.class));
+    }
+
+    private static String camelCase(String[] tokens, int from, int to) {
+        StringBuilder name = new StringBuilder(tokens[from]);
+        for (int i = from + 1; i < to; i++) {
+            if (!tokens[i].isEmpty()) {
+                name.append(Character.toUpperCase(tokens[i].charAt(0))).append(tokens[i], 1, tokens[i].length());
+            }
+        }
+        return name.toString();
+    }
+
+    private static final class Binding<T> implements RowMapper<T> {
+        private final Class<T> type;
+        private final WeakReference<ResultSet> resultSet;
+        private final MethodHandle plan;
+
+        private Binding(Class<T> type, ResultSet resultSet, MethodHandle plan) {
+            this.type = type;
+            this.resultSet = new WeakReference<>(resultSet);
+            this.plan = plan;
+        }
+
+        @Override
+        public T mapRow(ResultSet rs) throws SQLException {
+            try {
+                return type.cast((Object) plan.invokeExact(rs));
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new DataAccessException("Failed to map row to " + type.getName() + ".", e);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final BeanType type;
+        private final MethodHandle setter;
+        private final Map<String, ColumnInfo> bound = new HashMap<>();
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private MethodHandle body;
+
+        private Node(BeanType type, MethodHandle setter) {
+            this.type = type;
+            this.setter = setter;
+        }
+
+        private boolean bind(ColumnInfo column, String[] tokens, int from) {
+            for (int to = tokens.length; to > from; to--) {
+                String name = camelCase(tokens, from, to);
+                BeanType.Property property = type.getProperty(name);
+                if (property == null) {
+                    continue;
+                }
+                boolean nested = BeanType.isBean(property.getType());
+                if (to == tokens.length && !nested) {
+                    ColumnInfo previous = bound.put(name, column);
+                    if (previous != null) {
+                        throw new DataAccessException(String.format("Columns '%s' and '%s' both map to %s.%s.",
+                                previous.label, column.label, type.getType().getName(), name));
+                    }
+                    MethodHandle reader = ColumnReaders.of(property.getType(), column.index, column.sqlType, column.nullable);
+                    append(MethodHandles.filterArguments(property.getSetter(), 1, reader));
+                    return true;
+                }
+                if (to < tokens.length && nested) {
+                    Node child = children.get(name);
+                    if (child == null) {
+                        child = new Node(BeanType.of(property.getType()), property.getSetter());
+                        if (!child.bind(column, tokens, to)) {
+                            continue;
+                        }
+                        children.put(name, child);
+                        return true;
+                    }
+                    if (child.bind(column, tokens, to)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void append(MethodHandle step) {
+            body = body == null ? step : MethodHandles.foldArguments(step, body);
+        }
+
+        private MethodHandle compile() {
+            for (Node child : children.values()) {
+                append(MethodHandles.filterArguments(child.setter, 1, child.compile()));
+            }
+            Class<?> target = type.getType();
+            MethodHandle result = MethodHandles.dropArguments(MethodHandles.identity(target), 1, ResultSet.class);
+            if (body != null) {
+                result = MethodHandles.foldArguments(result, body);
+            }
+            return MethodHandles.foldArguments(result, type.getFactory());
+        }
+    }
+
+    private static final class ColumnInfo {
+        private final String label;
+        private final int index;
+        private final int sqlType;
+        private final boolean nullable;
+
+        private ColumnInfo(String label, int index, int sqlType, boolean nullable) {
+            this.label = label;
+            this.index = index;
+            this.sqlType = sqlType;
+            this.nullable = nullable;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ua.abond.lab4.core.jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+final class BeanType {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ConcurrentMap<Class<?>, BeanType> TYPES = new ConcurrentHashMap<>();
+
+    private final Class<?> type;
+    private final MethodHandle factory;
+    private final Map<String, Property> properties;
+
+    private BeanType(Class<?> type) {
+        this.type = type;
+        this.factory = factory(type);
+        Map<String, Property> result = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (isSetter(method)) {
+                Class<?> propertyType = resolve(method.getGenericParameterTypes()[0], type);
+                result.put(propertyName(method), new Property(propertyType, setter(type, method, propertyType)));
+            }
+        }
+        this.properties = Collections.unmodifiableMap(result);
+    }
+
+    static BeanType of(Class<?> type) {
+        BeanType beanType = TYPES.get(type);
+        if (beanType == null) {
+            beanType = TYPES.computeIfAbsent(type, BeanType::new);
+        }
+        return beanType;
+    }
+
+    static boolean isBean(Class<?> type) {
+        if (ColumnReaders.isValueType(type) || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    MethodHandle getFactory() {
+        return factory;
+    }
+
+    Property getProperty(String name) {
+        return properties.get(name);
+    }
+
+    private static boolean isSetter(Method method) {
+        return method.getName().length() > 3 && method.getName().startsWith("set") &&
+                method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers());
+    }
+
+    private static String propertyName(Method method) {
+        String name = method.getName().substring(3);
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Class<?> resolve(Type generic, Class<?> owner) {
+        if (generic instanceof Class) {
+            return (Class<?>) generic;
+        }
+        if (generic instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) generic).getRawType();
+        }
+        if (generic instanceof TypeVariable) {
+            TypeVariable<?> variable = (TypeVariable<?>) generic;
+            for (Class<?> cls = owner; cls != null; cls = cls.getSuperclass()) {
+                Type superType = cls.getGenericSuperclass();
+                if (superType instanceof ParameterizedType &&
+                        ((ParameterizedType) superType).getRawType() == variable.getGenericDeclaration()) {
+                    TypeVariable<?>[] variables = cls.getSuperclass().getTypeParameters();
+                    for (int i = 0; i < variables.length; i++) {
+                        if (variables[i].equals(variable)) {
+                            return resolve(((ParameterizedType) superType).getActualTypeArguments()[i], owner);
+                        }
+                    }
+                }
+            }
+            return resolve(variable.getBounds()[0], owner);
+        }
+        return Object.class;
+    }
+
+    private static MethodHandle factory(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " needs an accessible no-arg constructor.", e);
+        }
+    }
+
+    private static MethodHandle setter(Class<?> type, Method method, Class<?> propertyType) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method).asType(MethodType.methodType(void.class, type, propertyType));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Failed to access " + method, e);
+        }
+    }
+
+    static final class Property {
+        private final Class<?> type;
+        private final MethodHandle setter;
+
+        private Property(Class<?> type, MethodHandle setter) {
+            this.type = type;
+            this.setter = setter;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        MethodHandle getSetter() {
+            return setter;
+        }
+    }
+}
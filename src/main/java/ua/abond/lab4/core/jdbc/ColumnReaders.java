@@ -0,0 +1,139 @@
+package ua.abond.lab4.core.jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+final class ColumnReaders {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private ColumnReaders() {
+    }
+
+    static boolean isValueType(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || type.getName().startsWith("java.");
+    }
+
+    static MethodHandle of(Class<?> type, int index, int sqlType, boolean nullable) {
+        try {
+            MethodHandle reader;
+            if (type == String.class) {
+                reader = getter("getString", String.class);
+            } else if (type == BigDecimal.class) {
+                reader = getter("getBigDecimal", BigDecimal.class);
+            } else if (type == long.class || type == Long.class) {
+                reader = type.isPrimitive() || !nullable ? getter("getLong", long.class) : helper("nullableLong", Long.class);
+            } else if (type == int.class || type == Integer.class) {
+                reader = type.isPrimitive() || !nullable ? getter("getInt", int.class) : helper("nullableInt", Integer.class);
+            } else if (type == boolean.class || type == Boolean.class) {
+                reader = type.isPrimitive() || !nullable ?
+                        getter("getBoolean", boolean.class) :
+                        helper("nullableBoolean", Boolean.class);
+            } else if (type == double.class || type == Double.class) {
+                reader = type.isPrimitive() || !nullable ?
+                        getter("getDouble", double.class) :
+                        helper("nullableDouble", Double.class);
+            } else if (type == LocalDateTime.class) {
+                reader = helper("localDateTime", LocalDateTime.class);
+            } else if (type == LocalDate.class) {
+                reader = helper("localDate", LocalDate.class);
+            } else if (type.isEnum() && isNumeric(sqlType)) {
+                reader = MethodHandles.insertArguments(
+                        LOOKUP.findStatic(ColumnReaders.class, "ordinal",
+                                MethodType.methodType(Object.class, ResultSet.class, int.class, Object[].class)),
+                        2, (Object) type.getEnumConstants());
+            } else if (type.isEnum()) {
+                reader = MethodHandles.insertArguments(
+                        LOOKUP.findStatic(ColumnReaders.class, "name",
+                                MethodType.methodType(Enum.class, ResultSet.class, int.class, Class.class)),
+                        2, type);
+            } else {
+                reader = MethodHandles.insertArguments(
+                        LOOKUP.findVirtual(ResultSet.class, "getObject",
+                                MethodType.methodType(Object.class, int.class, Class.class)),
+                        2, type);
+            }
+            reader = MethodHandles.insertArguments(reader, 1, index);
+            return reader.asType(MethodType.methodType(type, ResultSet.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Failed to create column reader for " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandle getter(String name, Class<?> type) throws NoSuchMethodException, IllegalAccessException {
+        return LOOKUP.findVirtual(ResultSet.class, name, MethodType.methodType(type, int.class));
+    }
+
+    private static MethodHandle helper(String name, Class<?> type) throws NoSuchMethodException, IllegalAccessException {
+        return LOOKUP.findStatic(ColumnReaders.class, name, MethodType.methodType(type, ResultSet.class, int.class));
+    }
+
+    private static Long nullableLong(ResultSet rs, int index) throws SQLException {
+        long value = rs.getLong(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Integer nullableInt(ResultSet rs, int index) throws SQLException {
+        int value = rs.getInt(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Boolean nullableBoolean(ResultSet rs, int index) throws SQLException {
+        boolean value = rs.getBoolean(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double nullableDouble(ResultSet rs, int index) throws SQLException {
+        double value = rs.getDouble(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime localDateTime(ResultSet rs, int index) throws SQLException {
+        Timestamp value = rs.getTimestamp(index);
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    private static LocalDate localDate(ResultSet rs, int index) throws SQLException {
+        Date value = rs.getDate(index);
+        return value == null ? null : value.toLocalDate();
+    }
+
+    private static Object ordinal(ResultSet rs, int index, Object[] constants) throws SQLException {
+        int ordinal = rs.getInt(index);
+        if (rs.wasNull()) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new SQLException("No constant with ordinal " + ordinal + " in column " + index + ".");
+        }
+        return constants[ordinal];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Enum<?> name(ResultSet rs, int index, Class<?> type) throws SQLException {
+        String name = rs.getString(index);
+        return name == null ? null : Enum.valueOf((Class) type, name);
+    }
+
+    private static boolean isNumeric(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package ua.abond.lab4.core.jdbc;
 
+import org.apache.log4j.Logger;
 import ua.abond.lab4.core.jdbc.exception.DataAccessException;
 import ua.abond.lab4.core.jdbc.util.ConnectionUtils;
+import ua.abond.lab4.core.metrics.Counter;
+import ua.abond.lab4.core.metrics.Histogram;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.Timer;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -12,9 +17,27 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class JdbcTemplate {
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    private static final Logger logger = Logger.getLogger(JdbcTemplate.class);
+    private static final String LAMBDA_MARKER = "$$Lambda$";
+
     protected DataSource dataSource;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private volatile MetricRegistry metricRegistry;
+    private final ConcurrentMap<Object, SqlMetrics> sqlMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> sqlNames = new ConcurrentHashMap<>();
 
     public JdbcTemplate() {
     }
@@ -23,20 +46,46 @@ public abstract class JdbcTemplate {
         this.dataSource = dataSource;
     }
 
+    public int update(String sql, PreparedStatementSetter setter, KeyHolder keyHolder) {
+        Objects.requireNonNull(sql, "Sql should not be null");
+        return update(sql, c -> {
+            PreparedStatement ps = c.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS);
+            try {
+                setter.set(ps);
+            } catch (SQLException e) {
+                ps.close();
+                throw e;
+            }
+            return ps;
+        }, keyHolder);
+    }
+
     public int update(PreparedStatementCreator psc, KeyHolder keyHolder) {
+        return update(psc.getClass(), psc, keyHolder);
+    }
+
+    private int update(Object metricsKey, PreparedStatementCreator psc, KeyHolder keyHolder) {
+        SqlMetrics metrics = getSqlMetrics(metricsKey);
+        long start = System.nanoTime();
         Connection conn = getConnection();
         try (PreparedStatement ps = psc.create(conn)) {
             int count = ps.executeUpdate();
 
-            ResultSet generatedKeys = ps.getGeneratedKeys();
-
-            while (generatedKeys.next()) {
-                keyHolder.setKey(generatedKeys.getLong(1));
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                while (generatedKeys.next()) {
+                    keyHolder.setKey(generatedKeys.getLong(1));
+                }
             }
 
             commit(conn);
+            if (metrics != null) {
+                metrics.record(start, count);
+            }
             return count;
         } catch (SQLException e) {
+            if (metrics != null) {
+                metrics.failed();
+            }
             rollback(conn);
             throw new DataAccessException("Failed to execute update.", e);
         } finally {
@@ -48,13 +97,21 @@ public abstract class JdbcTemplate {
             throws DataAccessException {
         Objects.requireNonNull(sql, "Sql should not be null");
 
+        SqlMetrics metrics = getSqlMetrics(sql);
+        long start = System.nanoTime();
         Connection conn = getConnection();
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             setter.set(ps);
 
             ps.execute();
             commit(conn);
+            if (metrics != null) {
+                metrics.record(start, Math.max(ps.getUpdateCount(), 0));
+            }
         } catch (SQLException e) {
+            if (metrics != null) {
+                metrics.failed();
+            }
             rollback(conn);
             throw new DataAccessException("Failed to execute query.", e);
         } finally {
@@ -62,24 +119,104 @@ public abstract class JdbcTemplate {
         }
     }
 
+    public <T> int[] batchUpdate(String sql, List<T> items, ParameterizedSetter<T> setter)
+            throws DataAccessException {
+        return batchUpdate(sql, items, setter, null);
+    }
+
+    public <T> int[] batchUpdate(String sql, List<T> items, ParameterizedSetter<T> setter,
+                                 BiConsumer<T, Number> keyConsumer)
+            throws DataAccessException {
+        Objects.requireNonNull(sql, "Sql should not be null");
+        Objects.requireNonNull(items);
+        Objects.requireNonNull(setter);
+        int[] counts = new int[items.size()];
+        if (items.isEmpty()) {
+            return counts;
+        }
+
+        SqlMetrics metrics = getSqlMetrics(sql);
+        long start = System.nanoTime();
+        Connection conn = getConnection();
+        try (PreparedStatement ps = keyConsumer == null ?
+                conn.prepareStatement(sql) :
+                conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            long rowCount = 0;
+            for (int from = 0; from < items.size(); from += batchSize) {
+                List<T> batch = items.subList(from, Math.min(from + batchSize, items.size()));
+                for (T item : batch) {
+                    setter.set(ps, item);
+                    ps.addBatch();
+                }
+                int[] batchCounts = ps.executeBatch();
+                for (int i = 0; i < batchCounts.length; i++) {
+                    counts[from + i] = batchCounts[i];
+                    rowCount += Math.max(batchCounts[i], 0);
+                }
+                if (keyConsumer != null) {
+                    readKeys(ps, batch, keyConsumer);
+                }
+            }
+            commit(conn);
+            if (metrics != null) {
+                metrics.record(start, rowCount);
+            }
+            return counts;
+        } catch (SQLException e) {
+            if (metrics != null) {
+                metrics.failed();
+            }
+            rollback(conn);
+            throw new DataAccessException("Failed to execute batch update.", e);
+        } catch (RuntimeException e) {
+            rollback(conn);
+            throw e;
+        } finally {
+            close(conn);
+        }
+    }
+
+    private static <T> void readKeys(PreparedStatement ps, List<T> batch, BiConsumer<T, Number> keyConsumer)
+            throws SQLException {
+        try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            int i = 0;
+            while (generatedKeys.next() && i < batch.size()) {
+                keyConsumer.accept(batch.get(i++), generatedKeys.getLong(1));
+            }
+            if (i != batch.size()) {
+                throw new SQLException(String.format("Expected %d generated keys, got %d.", batch.size(), i));
+            }
+        }
+    }
+
     public <T> List<T> query(String sql,
                              PreparedStatementSetter pss,
                              RowMapper<T> rsm)
             throws DataAccessException {
         Objects.requireNonNull(sql, "Sql should not be null");
 
+        SqlMetrics metrics = getSqlMetrics(sql);
+        long start = System.nanoTime();
         List<T> result = null;
-        Connection conn = getConnection();
+        Connection conn = getReadConnection();
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             pss.set(ps);
 
             List<T> values = new ArrayList<>();
-            ResultSet resultSet = ps.executeQuery();
-            while (resultSet.next()) {
-                values.add(rsm.mapRow(resultSet));
+            try (ResultSet resultSet = ps.executeQuery()) {
+                RowMapper<T> mapper = rsm.bind(resultSet);
+                while (resultSet.next()) {
+                    values.add(mapper.mapRow(resultSet));
+                }
             }
             result = values;
+            if (metrics != null) {
+                metrics.record(start, values.size());
+            }
         } catch (SQLException e) {
+            if (metrics != null) {
+                metrics.failed();
+            }
             throw new DataAccessException("Failed to execute query.", e);
         } finally {
             close(conn);
@@ -87,6 +224,84 @@ public abstract class JdbcTemplate {
         return result;
     }
 
+    public <T> long queryForEach(String sql,
+                                 PreparedStatementSetter pss,
+                                 RowMapper<T> rm,
+                                 Consumer<? super T> action)
+            throws DataAccessException {
+        Objects.requireNonNull(action);
+        try (Stream<T> stream = queryForStream(sql, pss, rm)) {
+            long[] count = {0};
+            stream.forEach(row -> {
+                action.accept(row);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+
+    public <T> Stream<T> queryForStream(String sql,
+                                        PreparedStatementSetter pss,
+                                        RowMapper<T> rm)
+            throws DataAccessException {
+        Objects.requireNonNull(sql, "Sql should not be null");
+        Objects.requireNonNull(pss);
+        Objects.requireNonNull(rm);
+
+        SqlMetrics metrics = getSqlMetrics(sql);
+        long start = System.nanoTime();
+        Connection conn = getReadConnection();
+        PreparedStatement ps = null;
+        ResultSet resultSet = null;
+        RowMapper<T> mapper = null;
+        boolean opened = false;
+        try {
+            ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            pss.set(ps);
+            resultSet = ps.executeQuery();
+            mapper = rm.bind(resultSet);
+            opened = true;
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to execute query.", e);
+        } finally {
+            if (!opened) {
+                if (metrics != null) {
+                    metrics.failed();
+                }
+                closeQuietly(resultSet, ps);
+                close(conn);
+            }
+        }
+        RowSpliterator<T> spliterator = new RowSpliterator<>(resultSet, mapper);
+        PreparedStatement statement = ps;
+        ResultSet rs = resultSet;
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            closeQuietly(rs, statement);
+            close(conn);
+            if (metrics != null) {
+                if (spliterator.failed) {
+                    metrics.failed();
+                } else {
+                    metrics.record(start, spliterator.rows);
+                }
+            }
+        });
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close JDBC resource.", e);
+            }
+        }
+    }
+
     public <T> List<T> query(String sql, RowMapper<T> rsm)
             throws DataAccessException {
         return query(sql, new DefaultPreparedStatementSetter(), rsm);
@@ -134,6 +349,10 @@ public abstract class JdbcTemplate {
         return ConnectionUtils.getConnection(dataSource);
     }
 
+    protected Connection getReadConnection() {
+        return getConnection();
+    }
+
     private void commit(Connection connection) throws SQLException {
         if (!isManaged()) {
             connection.commit();
@@ -156,6 +375,121 @@ public abstract class JdbcTemplate {
         this.dataSource = dataSource;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive.");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size should be positive.");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        this.sqlMetrics.clear();
+    }
+
+    public void registerSql(String name, String sql) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(sql);
+        sqlNames.putIfAbsent(sql, name);
+    }
+
+    private SqlMetrics getSqlMetrics(Object key) {
+        MetricRegistry registry = metricRegistry;
+        if (registry == null) {
+            return null;
+        }
+        SqlMetrics metrics = sqlMetrics.get(key);
+        if (metrics == null) {
+            metrics = sqlMetrics.computeIfAbsent(key, k -> new SqlMetrics(registry, sqlLabel(k)));
+        }
+        return metrics;
+    }
+
+    String sqlLabel(Object key) {
+        if (key instanceof Class) {
+            String name = ((Class<?>) key).getName();
+            int lambda = name.indexOf(LAMBDA_MARKER);
+            if (lambda >= 0) {
+                name = name.substring(0, lambda);
+            }
+            return name.substring(name.lastIndexOf('.') + 1) + ".update";
+        }
+        String name = sqlNames.get(key.toString());
+        if (name != null) {
+            return name;
+        }
+        String sql = key.toString().trim().replaceAll("\\s+", " ");
+        String label = String.format("sql:%08x", sql.hashCode());
+        logger.debug(String.format("Unnamed statement '%s' is recorded as '%s'.", sql, label));
+        return label;
+    }
+
+    private static class SqlMetrics {
+        private final Timer latency;
+        private final Histogram rows;
+        private final Counter errors;
+
+        SqlMetrics(MetricRegistry registry, String sql) {
+            this.latency = registry.timer("db_query_seconds", "Statement execution time.", "sql", sql);
+            this.rows = registry.histogram("db_query_rows", "Rows returned or affected per statement.", "sql", sql);
+            this.errors = registry.counter("db_query_errors_total", "Statements that failed.", "sql", sql);
+        }
+
+        void record(long start, long rowCount) {
+            latency.recordSince(start);
+            rows.record(rowCount);
+        }
+
+        void failed() {
+            errors.increment();
+        }
+    }
+
+    private static class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet resultSet;
+        private final RowMapper<T> rm;
+        private long rows;
+        private boolean failed;
+
+        RowSpliterator(ResultSet resultSet, RowMapper<T> rm) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.resultSet = resultSet;
+            this.rm = rm;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            T row;
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                row = rm.mapRow(resultSet);
+            } catch (SQLException e) {
+                failed = true;
+                throw new DataAccessException("Failed to read row.", e);
+            }
+            rows++;
+            action.accept(row);
+            return true;
+        }
+    }
+
     private static class DefaultPreparedStatementSetter implements PreparedStatementSetter {
 
         @Override
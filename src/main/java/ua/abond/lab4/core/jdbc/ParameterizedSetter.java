@@ -0,0 +1,9 @@
+package ua.abond.lab4.core.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface ParameterizedSetter<T> {
+    void set(PreparedStatement ps, T item) throws SQLException;
+}
@@ -6,4 +6,8 @@ import java.sql.SQLException;
 @FunctionalInterface
 public interface RowMapper<T> {
     T mapRow(ResultSet rs) throws SQLException;
+
+    default RowMapper<T> bind(ResultSet rs) throws SQLException {
+        return this;
+    }
 }
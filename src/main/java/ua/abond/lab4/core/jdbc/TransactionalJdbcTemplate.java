@@ -1,8 +1,11 @@
 package ua.abond.lab4.core.jdbc;
 
 import ua.abond.lab4.core.annotation.Inject;
+import ua.abond.lab4.core.tm.RoutingDataSource;
 import ua.abond.lab4.core.tm.TransactionManager;
 
+import java.sql.Connection;
+
 public class TransactionalJdbcTemplate extends JdbcTemplate {
     @Inject
     private TransactionManager transactionManager;
@@ -22,6 +25,14 @@ public class TransactionalJdbcTemplate extends JdbcTemplate {
         return transactionManager.hasBegun();
     }
 
+    @Override
+    protected Connection getReadConnection() {
+        if (isManaged()) {
+            return super.getReadConnection();
+        }
+        return RoutingDataSource.readOnly(super::getReadConnection);
+    }
+
     public void setTransactionManager(TransactionManager transactionManager) {
         this.transactionManager = transactionManager;
         this.dataSource = transactionManager.getDataSourceProxy();
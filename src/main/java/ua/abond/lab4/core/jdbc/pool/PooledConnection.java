@@ -0,0 +1,256 @@
+package ua.abond.lab4.core.jdbc.pool;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+class PooledConnection {
+    private static final String FATAL_SQL_STATE_PREFIX = "08";
+    private static final String PREPARE_STATEMENT = "prepareStatement";
+    private static final Constructor<?> PROXY_CONSTRUCTOR = getProxyConstructor(Connection.class);
+    private static final Constructor<?> STATEMENT_PROXY_CONSTRUCTOR = getProxyConstructor(PreparedStatement.class);
+
+    private final PooledDataSource pool;
+    private final Connection physical;
+    private final StatementCache statementCache;
+
+    private volatile long lastReturnedNanos;
+    private volatile long borrowedNanos;
+    private volatile Throwable borrowTrace;
+    private volatile boolean leakReported;
+    private volatile boolean broken;
+
+    PooledConnection(PooledDataSource pool, Connection physical) {
+        Objects.requireNonNull(pool);
+        Objects.requireNonNull(physical);
+        this.pool = pool;
+        this.physical = physical;
+        int statementCacheSize = pool.getConfig().getStatementCacheSize();
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+        this.lastReturnedNanos = System.nanoTime();
+    }
+
+    Connection lease(boolean captureTrace) {
+        borrowedNanos = System.nanoTime();
+        borrowTrace = captureTrace ? new Throwable("Connection was borrowed here.") : null;
+        leakReported = false;
+        try {
+            return (Connection) PROXY_CONSTRUCTOR.newInstance(new Lease());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create connection proxy.", e);
+        }
+    }
+
+    Connection getPhysical() {
+        return physical;
+    }
+
+    long getLastReturnedNanos() {
+        return lastReturnedNanos;
+    }
+
+    void markReturned() {
+        lastReturnedNanos = System.nanoTime();
+        borrowTrace = null;
+    }
+
+    long getBorrowedNanos() {
+        return borrowedNanos;
+    }
+
+    Throwable getBorrowTrace() {
+        return borrowTrace;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void setLeakReported(boolean leakReported) {
+        this.leakReported = leakReported;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    void closePhysical() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            // connection is being discarded anyway
+        }
+    }
+
+    private PreparedStatement prepare(Lease lease, Object connection, StatementCache.Key key) throws SQLException {
+        PreparedStatement ps = statementCache.take(key);
+        if (ps != null) {
+            pool.onStatementCacheHit();
+        } else {
+            pool.onStatementCacheMiss();
+            try {
+                ps = key.getAutoGeneratedKeys() == Statement.NO_GENERATED_KEYS
+                        ? physical.prepareStatement(key.getSql())
+                        : physical.prepareStatement(key.getSql(), key.getAutoGeneratedKeys());
+            } catch (SQLException e) {
+                checkFatal(e);
+                throw e;
+            }
+        }
+        try {
+            return (PreparedStatement) STATEMENT_PROXY_CONSTRUCTOR.newInstance(
+                    new CachedStatement(lease, connection, key, ps)
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create statement proxy.", e);
+        }
+    }
+
+    private void recycle(Lease lease, StatementCache.Key key, PreparedStatement ps) {
+        if (lease.closed || broken) {
+            StatementCache.closeQuietly(ps);
+            return;
+        }
+        try {
+            ResultSet rs = ps.getResultSet();
+            if (rs != null) {
+                rs.close();
+            }
+            ps.clearParameters();
+            ps.clearWarnings();
+            statementCache.put(key, ps);
+        } catch (SQLException e) {
+            checkFatal(e);
+            StatementCache.closeQuietly(ps);
+        }
+    }
+
+    private Object invokePhysical(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                checkFatal((SQLException) cause);
+            }
+            throw cause;
+        }
+    }
+
+    private void checkFatal(SQLException e) {
+        String state = e.getSQLState();
+        if (state != null && state.startsWith(FATAL_SQL_STATE_PREFIX)) {
+            broken = true;
+        }
+    }
+
+    private static Constructor<?> getProxyConstructor(Class<?> iface) {
+        Class<?> proxyClass = Proxy.getProxyClass(iface.getClassLoader(), iface);
+        try {
+            return proxyClass.getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Proxy class has no InvocationHandler constructor.", e);
+        }
+    }
+
+    private class Lease implements InvocationHandler {
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection{" + physical + ", closed=" + closed + '}';
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            StatementCache.Key key = statementCache != null ? toStatementKey(method, args) : null;
+            if (key != null) {
+                return prepare(this, proxy, key);
+            }
+            return invokePhysical(physical, method, args);
+        }
+
+        private StatementCache.Key toStatementKey(Method method, Object[] args) {
+            if (!PREPARE_STATEMENT.equals(method.getName())) {
+                return null;
+            }
+            if (args.length == 1) {
+                return new StatementCache.Key((String) args[0], Statement.NO_GENERATED_KEYS);
+            }
+            if (args.length == 2 && args[1] instanceof Integer) {
+                return new StatementCache.Key((String) args[0], (Integer) args[1]);
+            }
+            return null;
+        }
+    }
+
+    private class CachedStatement implements InvocationHandler {
+        private final Lease lease;
+        private final Object connection;
+        private final StatementCache.Key key;
+        private final PreparedStatement ps;
+        private boolean closed;
+
+        CachedStatement(Lease lease, Object connection, StatementCache.Key key, PreparedStatement ps) {
+            this.lease = lease;
+            this.connection = connection;
+            this.key = key;
+            this.ps = ps;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        recycle(lease, key, ps);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement{" + ps + ", closed=" + closed + '}';
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement has already been closed.");
+            }
+            return invokePhysical(ps, method, args);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package ua.abond.lab4.core.jdbc.pool;
+
+import org.apache.log4j.Logger;
+import ua.abond.lab4.core.metrics.Counter;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.Timer;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PooledDataSource implements DataSource, AutoCloseable {
+    private static final Logger logger = Logger.getLogger(PooledDataSource.class);
+
+    private final DataSource target;
+    private final PoolConfig config;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Timer borrowLatency = new Timer();
+    private final Counter timeouts = new Counter();
+    private final Counter created = new Counter();
+    private final Counter destroyed = new Counter();
+    private final Counter leaks = new Counter();
+    private final Counter statementCacheHits = new Counter();
+    private final Counter statementCacheMisses = new Counter();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public PooledDataSource(DataSource target) {
+        this(target, new PoolConfig());
+    }
+
+    public PooledDataSource(DataSource target, PoolConfig config) {
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(config);
+        this.target = target;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxPoolSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getHousekeepingIntervalMillis();
+        if (interval > 0) {
+            housekeeper.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool has been closed.");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitMillis());
+
+        pending.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(config.getMaxWaitMillis(), TimeUnit.MILLISECONDS)) {
+                throw timeout();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection.", e);
+        } finally {
+            pending.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pc = acquire(deadline);
+            borrowed.add(pc);
+            Connection connection = pc.lease(config.getLeakDetectionThresholdMillis() > 0);
+            borrowLatency.recordSince(start);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool does not support per-call credentials.");
+    }
+
+    private PooledConnection acquire(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pc = idle.pollFirst();
+            if (pc != null) {
+                if (isUsable(pc)) {
+                    return pc;
+                }
+                destroy(pc);
+                continue;
+            }
+            if (total.incrementAndGet() <= config.getMaxPoolSize()) {
+                return create();
+            }
+            total.decrementAndGet();
+
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining <= 0 || (pc = idle.pollFirst(remaining, TimeUnit.NANOSECONDS)) == null) {
+                    throw timeout();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection.", e);
+            }
+            if (isUsable(pc)) {
+                return pc;
+            }
+            destroy(pc);
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        try {
+            Connection physical = target.getConnection();
+            created.increment();
+            logger.debug("Opened new pooled connection, total: " + total.get());
+            return new PooledConnection(this, physical);
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        long idleNanos = System.nanoTime() - pc.getLastReturnedNanos();
+        if (idleNanos < TimeUnit.MILLISECONDS.toNanos(config.getValidationIntervalMillis())) {
+            return true;
+        }
+        try {
+            return pc.getPhysical().isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            logger.debug("Connection validation failed.", e);
+            return false;
+        }
+    }
+
+    void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        try {
+            if (closed || pc.isBroken() || !reset(pc.getPhysical())) {
+                destroy(pc);
+            } else {
+                pc.markReturned();
+                idle.offerFirst(pc);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean reset(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.debug("Failed to reset returned connection.", e);
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        total.decrementAndGet();
+        destroyed.increment();
+        pc.closePhysical();
+    }
+
+    private SQLException timeout() {
+        timeouts.increment();
+        return new SQLTransientConnectionException(String.format(
+                "Connection is not available, request timed out after %dms (active: %d, idle: %d, pending: %d).",
+                config.getMaxWaitMillis(), getActiveCount(), getIdleCount(), getPendingCount()
+        ));
+    }
+
+    void onStatementCacheHit() {
+        statementCacheHits.increment();
+    }
+
+    void onStatementCacheMiss() {
+        statementCacheMisses.increment();
+    }
+
+    void housekeep() {
+        try {
+            evictIdle();
+            detectLeaks();
+            fillIdle();
+        } catch (RuntimeException e) {
+            logger.error("Pool housekeeping failed.", e);
+        }
+    }
+
+    private void evictIdle() {
+        long idleTimeout = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+        long now = System.nanoTime();
+        for (PooledConnection pc : idle) {
+            if (total.get() <= config.getMinIdle()) {
+                break;
+            }
+            if (now - pc.getLastReturnedNanos() > idleTimeout && idle.remove(pc)) {
+                logger.debug("Evicting idle connection.");
+                destroy(pc);
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = TimeUnit.MILLISECONDS.toNanos(config.getLeakDetectionThresholdMillis());
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection pc : borrowed) {
+            if (!pc.isLeakReported() && now - pc.getBorrowedNanos() > threshold) {
+                pc.setLeakReported(true);
+                leaks.increment();
+                logger.warn(String.format("Connection has been borrowed for more than %dms, possible leak.",
+                        config.getLeakDetectionThresholdMillis()), pc.getBorrowTrace());
+            }
+        }
+    }
+
+    private void fillIdle() {
+        while (!closed && total.get() < config.getMinIdle()) {
+            if (total.incrementAndGet() > config.getMaxPoolSize()) {
+                total.decrementAndGet();
+                return;
+            }
+            try {
+                idle.offerLast(create());
+            } catch (SQLException e) {
+                logger.warn("Failed to fill pool up to min idle.", e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destroy(pc);
+        }
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return total.get();
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.getCount();
+    }
+
+    public long getCreatedCount() {
+        return created.getCount();
+    }
+
+    public long getDestroyedCount() {
+        return destroyed.getCount();
+    }
+
+    public long getLeakCount() {
+        return leaks.getCount();
+    }
+
+    public long getStatementCacheHitCount() {
+        return statementCacheHits.getCount();
+    }
+
+    public long getStatementCacheMissCount() {
+        return statementCacheMisses.getCount();
+    }
+
+    public void registerMetrics(MetricRegistry registry, String name) {
+        String[] labels = {"pool", name};
+        registry.gauge("db_pool_connections_active", "Connections currently borrowed.", this::getActiveCount, labels);
+        registry.gauge("db_pool_connections_idle", "Idle connections.", this::getIdleCount, labels);
+        registry.gauge("db_pool_connections_pending", "Threads waiting for a connection.", this::getPendingCount, labels);
+        registry.register("db_pool_borrow_seconds", "Time spent acquiring a connection.", borrowLatency, labels);
+        registry.register("db_pool_timeouts_total", "Connection requests that timed out.", timeouts, labels);
+        registry.register("db_pool_connections_created_total", "Physical connections opened.", created, labels);
+        registry.register("db_pool_connections_destroyed_total", "Physical connections closed.", destroyed, labels);
+        registry.register("db_pool_leaks_total", "Connections reclaimed as leaked.", leaks, labels);
+        registry.register("db_pool_statement_cache_hits_total", "Prepared statement cache hits.", statementCacheHits, labels);
+        registry.register("db_pool_statement_cache_misses_total", "Prepared statement cache misses.", statementCacheMisses, labels);
+    }
+
+    public Timer getBorrowLatency() {
+        return borrowLatency;
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
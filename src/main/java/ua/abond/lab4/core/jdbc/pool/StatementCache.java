@@ -0,0 +1,89 @@
+package ua.abond.lab4.core.jdbc.pool;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+class StatementCache {
+    private final int maxSize;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    synchronized PreparedStatement take(Key key) {
+        return statements.remove(key);
+    }
+
+    void put(Key key, PreparedStatement ps) {
+        List<PreparedStatement> evicted = new ArrayList<>(1);
+        synchronized (this) {
+            PreparedStatement previous = statements.put(key, ps);
+            if (previous != null) {
+                evicted.add(previous);
+            }
+            Iterator<Map.Entry<Key, PreparedStatement>> it = statements.entrySet().iterator();
+            while (statements.size() > maxSize && it.hasNext()) {
+                evicted.add(it.next().getValue());
+                it.remove();
+            }
+        }
+        evicted.forEach(StatementCache::closeQuietly);
+    }
+
+    void clear() {
+        List<PreparedStatement> evicted;
+        synchronized (this) {
+            evicted = new ArrayList<>(statements.values());
+            statements.clear();
+        }
+        evicted.forEach(StatementCache::closeQuietly);
+    }
+
+    static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            // statement is being discarded anyway
+        }
+    }
+
+    static final class Key {
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        Key(String sql, int autoGeneratedKeys) {
+            Objects.requireNonNull(sql);
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        int getAutoGeneratedKeys() {
+            return autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return autoGeneratedKeys == key.autoGeneratedKeys && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + autoGeneratedKeys;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ua.abond.lab4.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter implements Metric {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long value) {
+        count.add(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.COUNTER;
+    }
+}
@@ -0,0 +1,11 @@
+package ua.abond.lab4.core.metrics;
+
+@FunctionalInterface
+public interface Gauge extends Metric {
+    double getValue();
+
+    @Override
+    default MetricType getType() {
+        return MetricType.GAUGE;
+    }
+}
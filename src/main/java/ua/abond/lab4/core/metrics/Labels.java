@@ -0,0 +1,68 @@
+package ua.abond.lab4.core.metrics;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+public final class Labels {
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    static final Labels EMPTY = new Labels(new String[0]);
+
+    private final String[] pairs;
+    private final int hash;
+
+    private Labels(String[] pairs) {
+        this.pairs = pairs;
+        this.hash = Arrays.hashCode(pairs);
+    }
+
+    public static Labels of(String... pairs) {
+        if (pairs.length == 0) {
+            return EMPTY;
+        }
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels should be given as name/value pairs.");
+        }
+        String[] copy = pairs.clone();
+        for (int i = 0; i < copy.length; i += 2) {
+            if (copy[i] == null || !NAME.matcher(copy[i]).matches()) {
+                throw new IllegalArgumentException("Invalid label name '" + copy[i] + "'.");
+            }
+            if (copy[i + 1] == null) {
+                copy[i + 1] = "";
+            }
+        }
+        return new Labels(copy);
+    }
+
+    public int size() {
+        return pairs.length / 2;
+    }
+
+    public String getName(int index) {
+        return pairs[index * 2];
+    }
+
+    public String getValue(int index) {
+        return pairs[index * 2 + 1];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Labels))
+            return false;
+        Labels that = (Labels) o;
+        return hash == that.hash && Arrays.equals(pairs, that.pairs);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(pairs);
+    }
+}
@@ -0,0 +1,5 @@
+package ua.abond.lab4.core.metrics;
+
+public interface Metric {
+    MetricType getType();
+}
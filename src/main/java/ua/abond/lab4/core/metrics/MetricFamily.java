@@ -0,0 +1,38 @@
+package ua.abond.lab4.core.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class MetricFamily {
+    private final String name;
+    private final String help;
+    private final MetricType type;
+    private final ConcurrentMap<Labels, Metric> metrics = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, MetricType type) {
+        this.name = name;
+        this.help = help == null ? "" : help;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public MetricType getType() {
+        return type;
+    }
+
+    public Map<Labels, Metric> getMetrics() {
+        return metrics;
+    }
+
+    ConcurrentMap<Labels, Metric> metrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,78 @@
+package ua.abond.lab4.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+public class MetricRegistry {
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private final ConcurrentMap<String, MetricFamily> families = new ConcurrentHashMap<>();
+
+    public Counter counter(String name, String help, String... labels) {
+        return getOrCreate(name, help, MetricType.COUNTER, Counter.class, Counter::new, labels);
+    }
+
+    public Timer timer(String name, String help, String... labels) {
+        return getOrCreate(name, help, MetricType.SUMMARY, Timer.class, Timer::new, labels);
+    }
+
+    public Histogram histogram(String name, String help, String... labels) {
+        return getOrCreate(name, help, MetricType.SUMMARY, Histogram.class, Histogram::new, labels);
+    }
+
+    public Gauge gauge(String name, String help, Gauge gauge, String... labels) {
+        return register(name, help, gauge, labels);
+    }
+
+    public <T extends Metric> T register(String name, String help, T metric, String... labels) {
+        Objects.requireNonNull(metric);
+        family(name, help, metric.getType()).metrics().put(Labels.of(labels), metric);
+        return metric;
+    }
+
+    public boolean remove(String name, String... labels) {
+        MetricFamily family = families.get(name);
+        return family != null && family.metrics().remove(Labels.of(labels)) != null;
+    }
+
+    public List<MetricFamily> getFamilies() {
+        List<MetricFamily> result = new ArrayList<>(families.values());
+        result.sort(Comparator.comparing(MetricFamily::getName));
+        return result;
+    }
+
+    private <T extends Metric> T getOrCreate(String name, String help, MetricType metricType, Class<T> type,
+                                             Supplier<T> factory, String... labels) {
+        MetricFamily family = family(name, help, metricType);
+        Metric metric = family.metrics().computeIfAbsent(Labels.of(labels), l -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException(
+                    String.format("Metric '%s' is a %s, not a %s.", name, metric.getClass().getSimpleName(),
+                            type.getSimpleName())
+            );
+        }
+        return type.cast(metric);
+    }
+
+    private MetricFamily family(String name, String help, MetricType type) {
+        MetricFamily family = families.get(name);
+        if (family == null) {
+            if (name == null || !NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Invalid metric name '" + name + "'.");
+            }
+            family = families.computeIfAbsent(name, n -> new MetricFamily(n, help, type));
+        }
+        if (family.getType() != type) {
+            throw new IllegalArgumentException(
+                    String.format("Metric '%s' is already registered as %s.", name, family.getType().getName())
+            );
+        }
+        return family;
+    }
+}
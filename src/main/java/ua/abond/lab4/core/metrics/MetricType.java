@@ -0,0 +1,17 @@
+package ua.abond.lab4.core.metrics;
+
+public enum MetricType {
+    COUNTER("counter"),
+    GAUGE("gauge"),
+    SUMMARY("summary");
+
+    private final String name;
+
+    MetricType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,102 @@
+package ua.abond.lab4.core.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+public final class PrometheusWriter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private PrometheusWriter() {
+    }
+
+    public static void write(MetricRegistry registry, Writer out) throws IOException {
+        StringBuilder sb = new StringBuilder(4096);
+        for (MetricFamily family : registry.getFamilies()) {
+            if (family.getMetrics().isEmpty()) {
+                continue;
+            }
+            sb.append("# HELP ").append(family.getName()).append(' ');
+            escape(sb, family.getHelp(), false);
+            sb.append('\n');
+            sb.append("# TYPE ").append(family.getName()).append(' ').append(family.getType().getName()).append('\n');
+            for (Map.Entry<Labels, Metric> e : family.getMetrics().entrySet()) {
+                writeMetric(sb, family.getName(), e.getKey(), e.getValue());
+            }
+            out.write(sb.toString());
+            sb.setLength(0);
+        }
+        out.flush();
+    }
+
+    private static void writeMetric(StringBuilder sb, String name, Labels labels, Metric metric) {
+        if (metric instanceof Counter) {
+            sample(sb, name, labels, null, ((Counter) metric).getCount());
+        } else if (metric instanceof Gauge) {
+            sample(sb, name, labels, null, ((Gauge) metric).getValue());
+        } else if (metric instanceof Timer) {
+            summary(sb, name, labels, ((Timer) metric).getHistogram(), NANOS_PER_SECOND);
+        } else if (metric instanceof Histogram) {
+            summary(sb, name, labels, (Histogram) metric, 1);
+        }
+    }
+
+    private static void summary(StringBuilder sb, String name, Labels labels, Histogram histogram, double scale) {
+        for (double quantile : QUANTILES) {
+            sample(sb, name, labels, Double.toString(quantile),
+                    histogram.getValueAtPercentile(quantile * 100) / scale);
+        }
+        sample(sb, name + "_sum", labels, null, histogram.getSum() / scale);
+        sample(sb, name + "_count", labels, null, histogram.getCount());
+    }
+
+    private static void sample(StringBuilder sb, String name, Labels labels, String quantile, double value) {
+        sb.append(name);
+        if (labels.size() > 0 || quantile != null) {
+            sb.append('{');
+            for (int i = 0; i < labels.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(labels.getName(i)).append("=\"");
+                escape(sb, labels.getValue(i), true);
+                sb.append('"');
+            }
+            if (quantile != null) {
+                sb.append(labels.size() > 0 ? "," : "").append("quantile=\"").append(quantile).append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static void escape(StringBuilder sb, String value, boolean quotes) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                sb.append("\\\\");
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (c == '"' && quotes) {
+                sb.append("\\\"");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
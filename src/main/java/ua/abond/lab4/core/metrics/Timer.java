@@ -0,0 +1,32 @@
+package ua.abond.lab4.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+public class Timer implements Metric {
+    private final Histogram histogram = new Histogram();
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        histogram.record(unit.toNanos(duration));
+    }
+
+    public void recordSince(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.SUMMARY;
+    }
+}
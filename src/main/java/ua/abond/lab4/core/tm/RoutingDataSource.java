@@ -0,0 +1,143 @@
+package ua.abond.lab4.core.tm;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class RoutingDataSource implements DataSource, AutoCloseable {
+    private static final ThreadLocal<Boolean> LOCAL_READ_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> LOCAL_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public RoutingDataSource(DataSource primary, DataSource replica) {
+        Objects.requireNonNull(primary);
+        Objects.requireNonNull(replica);
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    public static <T> T readOnly(Supplier<T> action) {
+        Boolean previous = LOCAL_READ_ONLY.get();
+        LOCAL_READ_ONLY.set(true);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                LOCAL_READ_ONLY.remove();
+            } else {
+                LOCAL_READ_ONLY.set(previous);
+            }
+        }
+    }
+
+    public static <T, E extends Throwable> T primary(Action<T, E> action) throws E {
+        Boolean previous = LOCAL_PRIMARY.get();
+        LOCAL_PRIMARY.set(true);
+        try {
+            return action.run();
+        } finally {
+            if (previous == null) {
+                LOCAL_PRIMARY.remove();
+            } else {
+                LOCAL_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    public static boolean isReadOnly() {
+        return Boolean.TRUE.equals(LOCAL_READ_ONLY.get());
+    }
+
+    public static boolean isPrimary() {
+        return Boolean.TRUE.equals(LOCAL_PRIMARY.get());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return current().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return current().getConnection(username, password);
+    }
+
+    private DataSource current() {
+        return isReadOnly() && !isPrimary() ? replica : primary;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            close(replica);
+        } finally {
+            close(primary);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action<T, E extends Throwable> {
+        T run() throws E;
+    }
+
+    private static void close(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable) {
+            ((AutoCloseable) dataSource).close();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+        replica.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+        replica.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
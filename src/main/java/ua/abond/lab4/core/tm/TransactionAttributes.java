@@ -0,0 +1,55 @@
+package ua.abond.lab4.core.tm;
+
+import ua.abond.lab4.core.annotation.Transactional;
+
+import java.util.Objects;
+
+public final class TransactionAttributes {
+    public static final TransactionAttributes DEFAULT = new TransactionAttributes(false, Isolation.DEFAULT);
+
+    private final boolean readOnly;
+    private final Isolation isolation;
+
+    public TransactionAttributes(boolean readOnly, Isolation isolation) {
+        Objects.requireNonNull(isolation);
+        this.readOnly = readOnly;
+        this.isolation = isolation;
+    }
+
+    public static TransactionAttributes of(Transactional transactional) {
+        Objects.requireNonNull(transactional);
+        TransactionAttributes attributes =
+                new TransactionAttributes(transactional.readOnly(), transactional.isolation());
+        return DEFAULT.equals(attributes) ? DEFAULT : attributes;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public Isolation getIsolation() {
+        return isolation;
+    }
+
+    public boolean isDefault() {
+        return !readOnly && isolation == Isolation.DEFAULT;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionAttributes that = (TransactionAttributes) o;
+        return readOnly == that.readOnly && isolation == that.isolation;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(readOnly, isolation);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionAttributes{readOnly=" + readOnly + ", isolation=" + isolation + '}';
+    }
+}
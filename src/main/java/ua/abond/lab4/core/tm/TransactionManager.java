@@ -1,13 +1,20 @@
 package ua.abond.lab4.core.tm;
 
 import org.apache.log4j.Logger;
+import ua.abond.lab4.core.jdbc.exception.CannotGetConnectionException;
 import ua.abond.lab4.core.jdbc.util.ConnectionUtils;
+import ua.abond.lab4.core.metrics.Counter;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.Timer;
 
 import javax.sql.DataSource;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public class TransactionManager implements InvocationHandler {
@@ -15,9 +22,17 @@ public class TransactionManager implements InvocationHandler {
 
     private static final String GET_CONNECTION = "getConnection";
     private static final ThreadLocal<Connection> LOCAL_CONNECTION = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> LOCAL_AFTER_COMMIT = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<List<Runnable>> LOCAL_AFTER_COMPLETION = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<Integer> LOCAL_PREVIOUS_ISOLATION = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> LOCAL_READ_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Long> LOCAL_STARTED = new ThreadLocal<>();
 
     private DataSource proxy;
     private DataSource dataSource;
+    private volatile Timer duration;
+    private volatile Counter commits;
+    private volatile Counter rollbacks;
 
     public TransactionManager(DataSource dataSource) {
         Objects.requireNonNull(dataSource);
@@ -41,8 +56,60 @@ public class TransactionManager implements InvocationHandler {
     }
 
     public void begin() {
+        begin(TransactionAttributes.DEFAULT);
+    }
+
+    public void begin(TransactionAttributes attributes) {
+        Objects.requireNonNull(attributes);
         logger.debug("Transaction started for thread: " + Thread.currentThread().getName());
-        LOCAL_CONNECTION.set(ConnectionUtils.getConnection(dataSource));
+        Connection connection = attributes.isReadOnly() ?
+                RoutingDataSource.readOnly(() -> ConnectionUtils.getConnection(dataSource)) :
+                ConnectionUtils.getConnection(dataSource);
+        LOCAL_CONNECTION.set(connection);
+        if (duration != null) {
+            LOCAL_STARTED.set(System.nanoTime());
+        }
+        if (!attributes.isDefault()) {
+            prepare(connection, attributes);
+        }
+    }
+
+    public boolean isReadOnly() {
+        return Boolean.TRUE.equals(LOCAL_READ_ONLY.get());
+    }
+
+    private void prepare(Connection connection, TransactionAttributes attributes) {
+        try {
+            if (attributes.isReadOnly()) {
+                connection.setReadOnly(true);
+                LOCAL_READ_ONLY.set(true);
+            }
+            if (attributes.getIsolation() != Isolation.DEFAULT) {
+                int level = attributes.getIsolation().getLevel();
+                int previous = connection.getTransactionIsolation();
+                if (previous != level) {
+                    connection.setTransactionIsolation(level);
+                    LOCAL_PREVIOUS_ISOLATION.set(previous);
+                }
+            }
+        } catch (SQLException e) {
+            end();
+            throw new CannotGetConnectionException("Could not apply " + attributes + " to connection", e);
+        }
+    }
+
+    private void reset(Connection connection) {
+        Integer previousIsolation = LOCAL_PREVIOUS_ISOLATION.get();
+        try {
+            if (isReadOnly()) {
+                connection.setReadOnly(false);
+            }
+            if (previousIsolation != null) {
+                connection.setTransactionIsolation(previousIsolation);
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to reset transaction attributes of connection.", e);
+        }
     }
 
     public void commit() {
@@ -50,6 +117,50 @@ public class TransactionManager implements InvocationHandler {
         Connection connection = LOCAL_CONNECTION.get();
         if (connection != null) {
             ConnectionUtils.commit(connection);
+            if (commits != null) {
+                commits.increment();
+            }
+        }
+        runAfterCommit();
+    }
+
+    public void afterCommit(Runnable action) {
+        Objects.requireNonNull(action);
+        if (hasBegun()) {
+            LOCAL_AFTER_COMMIT.get().add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    public void afterCompletion(Runnable action) {
+        Objects.requireNonNull(action);
+        if (hasBegun()) {
+            LOCAL_AFTER_COMPLETION.get().add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    private void runAfterCommit() {
+        List<Runnable> actions = LOCAL_AFTER_COMMIT.get();
+        LOCAL_AFTER_COMMIT.remove();
+        run(actions, "After commit action failed.");
+    }
+
+    private void runAfterCompletion() {
+        List<Runnable> actions = LOCAL_AFTER_COMPLETION.get();
+        LOCAL_AFTER_COMPLETION.remove();
+        run(actions, "After completion action failed.");
+    }
+
+    private static void run(List<Runnable> actions, String failure) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.error(failure, e);
+            }
         }
     }
 
@@ -58,16 +169,30 @@ public class TransactionManager implements InvocationHandler {
         Connection connection = LOCAL_CONNECTION.get();
         if (connection != null) {
             ConnectionUtils.rollback(connection);
+            if (rollbacks != null) {
+                rollbacks.increment();
+            }
         }
+        LOCAL_AFTER_COMMIT.remove();
     }
 
     public void end() {
         logger.debug("Transaction finished for thread: " + Thread.currentThread().getName());
         Connection connection = LOCAL_CONNECTION.get();
         if (connection != null) {
+            reset(connection);
             ConnectionUtils.closeConnection(connection);
         }
+        Long started = LOCAL_STARTED.get();
+        if (started != null && duration != null) {
+            duration.recordSince(started);
+        }
+        LOCAL_STARTED.remove();
         LOCAL_CONNECTION.remove();
+        LOCAL_AFTER_COMMIT.remove();
+        LOCAL_PREVIOUS_ISOLATION.remove();
+        LOCAL_READ_ONLY.remove();
+        runAfterCompletion();
     }
 
     private DataSource newInstance() {
@@ -87,6 +212,12 @@ public class TransactionManager implements InvocationHandler {
         this.proxy = newInstance();
     }
 
+    public void setMetricRegistry(MetricRegistry registry) {
+        this.duration = registry.timer("db_transaction_seconds", "Time from transaction begin to end.");
+        this.commits = registry.counter("db_transaction_commits_total", "Committed transactions.");
+        this.rollbacks = registry.counter("db_transaction_rollbacks_total", "Rolled back transactions.");
+    }
+
     public DataSource getDataSourceProxy() {
         return proxy;
     }
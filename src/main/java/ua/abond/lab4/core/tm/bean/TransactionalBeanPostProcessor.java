@@ -9,6 +9,7 @@ import ua.abond.lab4.core.tm.TransactionManager;
 
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.stream.Stream;
 
 public class TransactionalBeanPostProcessor implements BeanPostProcessor, Ordered {
 
@@ -38,7 +39,9 @@ public class TransactionalBeanPostProcessor implements BeanPostProcessor, Ordere
     }
 
     private boolean containsTransactionalMethods(Object obj) {
-        return Arrays.stream(obj.getClass().getDeclaredMethods()).
+        Class<?> type = obj.getClass();
+        return Stream.concat(Stream.of(type), Arrays.stream(type.getInterfaces())).
+                flatMap(cls -> Arrays.stream(cls.isInterface() ? cls.getMethods() : cls.getDeclaredMethods())).
                 anyMatch(m -> m.isAnnotationPresent(Transactional.class));
     }
 
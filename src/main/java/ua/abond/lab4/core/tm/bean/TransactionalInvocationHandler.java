@@ -2,62 +2,102 @@ package ua.abond.lab4.core.tm.bean;
 
 import org.apache.log4j.Logger;
 import ua.abond.lab4.core.annotation.Transactional;
+import ua.abond.lab4.core.tm.TransactionAttributes;
 import ua.abond.lab4.core.tm.TransactionManager;
 import ua.abond.lab4.core.tm.exception.TransactionException;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
-import java.util.function.Consumer;
+import java.util.Set;
 
 public class TransactionalInvocationHandler implements InvocationHandler {
     private static final Logger logger = Logger.getLogger(TransactionalInvocationHandler.class);
 
-    private Object object;
-    private TransactionManager tm;
+    private final Object object;
+    private final TransactionManager tm;
+    private final Map<Method, TransactionAttributes> attributes;
 
     public TransactionalInvocationHandler(Object object, TransactionManager tm) {
         Objects.requireNonNull(object);
         Objects.requireNonNull(tm);
         this.object = object;
         this.tm = tm;
+        this.attributes = resolveAttributes(object.getClass());
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        boolean isTransactional = isTransactional(method) || hasTransactional(method.getName());
-        Consumer<Runnable> callback = r -> {
-            if (isTransactional) r.run();
-        };
-        callback.accept(() -> tm.begin());
+        TransactionAttributes transaction = attributes.get(method);
+        if (transaction == null) {
+            return invokeTarget(method, args);
+        }
+        if (transaction.isDefault()) {
+            tm.begin();
+        } else {
+            tm.begin(transaction);
+        }
+        try {
+            Object result;
+            try {
+                result = invokeTarget(method, args);
+            } catch (Throwable e) {
+                tm.rollback();
+                throw e;
+            }
+            tm.commit();
+            return result;
+        } finally {
+            tm.end();
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
         try {
-            Object obj = method.invoke(object, args);
-            callback.accept(() -> tm.commit());
-            return obj;
+            return method.invoke(object, args);
         } catch (IllegalAccessException e) {
-            callback.accept(() -> tm.rollback());
             throw new TransactionException("Tried to invoke inaccessible method '" + method.getName() + "'", e);
         } catch (InvocationTargetException e) {
-            callback.accept(() -> tm.rollback());
             logger.debug("Method threw an exception.", e);
             throw e.getCause();
-        } finally {
-            callback.accept(() -> tm.end());
         }
     }
 
-    private boolean hasTransactional(String methodName) {
-        return Arrays.stream(object.getClass().getMethods()).
-                filter(m -> m.getName().equals(methodName)).
-                filter(this::isTransactional).
-                findFirst().
-                map(m -> true).
-                orElse(false);
+    private static Map<Method, TransactionAttributes> resolveAttributes(Class<?> type) {
+        Map<Method, TransactionAttributes> result = new HashMap<>();
+        for (Class<?> iface : getInterfaces(type)) {
+            for (Method method : iface.getMethods()) {
+                Transactional transactional = findTransactional(type, method);
+                if (transactional != null) {
+                    result.put(method, TransactionAttributes.of(transactional));
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Set<Class<?>> getInterfaces(Class<?> type) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+            Collections.addAll(result, cls.getInterfaces());
+        }
+        return result;
     }
 
-    private boolean isTransactional(Method method) {
-        return method.isAnnotationPresent(Transactional.class);
+    private static Transactional findTransactional(Class<?> type, Method method) {
+        Transactional transactional = method.getAnnotation(Transactional.class);
+        if (transactional != null) {
+            return transactional;
+        }
+        try {
+            return type.getMethod(method.getName(), method.getParameterTypes()).getAnnotation(Transactional.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
     }
 }
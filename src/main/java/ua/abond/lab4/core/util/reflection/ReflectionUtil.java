@@ -2,12 +2,17 @@ package ua.abond.lab4.core.util.reflection;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.JarURLConnection;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URL;
 import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 public final class ReflectionUtil {
+    private static final String JAR_PROTOCOL = "jar";
+    private static final String CLASS_SUFFIX = ".class";
 
     private ReflectionUtil() {
 
@@ -19,18 +24,32 @@ public final class ReflectionUtil {
 
         String path = packageName.replace('.', '/');
         Enumeration<URL> resources = classLoader.getResources(path);
-        List<File> dirs = new ArrayList<>();
+        ArrayList<Class> classes = new ArrayList<>();
         while (resources.hasMoreElements()) {
             URL resource = resources.nextElement();
-            dirs.add(new File(resource.getFile()));
-        }
-        ArrayList<Class> classes = new ArrayList<>();
-        for (File directory : dirs) {
-            classes.addAll(findClasses(directory, packageName));
+            if (JAR_PROTOCOL.equals(resource.getProtocol())) {
+                classes.addAll(findClasses(((JarURLConnection) resource.openConnection()).getJarFile(), path));
+            } else {
+                classes.addAll(findClasses(new File(resource.getFile()), packageName));
+            }
         }
         return classes.toArray(new Class[classes.size()]);
     }
 
+    private static List<Class> findClasses(JarFile jar, String path) throws ClassNotFoundException {
+        List<Class> classes = new ArrayList<>();
+        String prefix = path + "/";
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (name.startsWith(prefix) && name.endsWith(CLASS_SUFFIX)) {
+                String className = name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.');
+                classes.add(Class.forName(className));
+            }
+        }
+        return classes;
+    }
+
     /**
      * Recursive method used to find all classes in a given directory and subdirs.
      *
@@ -13,4 +13,6 @@ public @interface RequestMapping {
     String value() default "";
 
     RequestMethod method() default RequestMethod.GET;
+
+    boolean async() default false;
 }
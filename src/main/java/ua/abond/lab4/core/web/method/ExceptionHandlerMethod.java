@@ -1,30 +1,67 @@
 package ua.abond.lab4.core.web.method;
 
-import org.apache.log4j.Logger;
-
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 public class ExceptionHandlerMethod {
-    private static final Logger logger = Logger.getLogger(ExceptionHandlerMethod.class);
-
     private final Method method;
     private final Object declaringObject;
+    private final Invoker invoker;
+    private final boolean generated;
 
     public ExceptionHandlerMethod(Method method, Object declaringObject) {
         this.method = method;
         this.declaringObject = declaringObject;
+        Invoker invoker = spin(method, declaringObject);
+        this.generated = invoker != null;
+        this.invoker = generated ? invoker : reflectiveInvoker(method, declaringObject);
     }
 
     public Object invoke(ExceptionHandlerData data)
             throws InvocationTargetException {
         try {
-            return method.invoke(declaringObject, data);
-        } catch (IllegalAccessException e) {
-            logger.error(String.format("Failed to invoke ExceptionHandler for %s.%s",
-                    declaringObject.getClass().getSimpleName(), method.getName()
-            ), e);
+            return invoker.invoke(data);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    boolean isGenerated() {
+        return generated;
+    }
+
+    private static Invoker spin(Method method, Object declaringObject) {
+        if (method.getReturnType() != void.class) {
+            return Invokers.spin(Invoker.class, declaringObject, method);
         }
-        return null;
+        VoidInvoker invoker = Invokers.spin(VoidInvoker.class, declaringObject, method);
+        if (invoker == null) {
+            return null;
+        }
+        return data -> {
+            invoker.invoke(data);
+            return null;
+        };
+    }
+
+    private static Invoker reflectiveInvoker(Method method, Object declaringObject) {
+        method.setAccessible(true);
+        return data -> {
+            try {
+                return method.invoke(declaringObject, data);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Invoker {
+        Object invoke(ExceptionHandlerData data) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface VoidInvoker {
+        void invoke(ExceptionHandlerData data) throws Throwable;
     }
 }
@@ -0,0 +1,47 @@
+package ua.abond.lab4.core.web.method;
+
+import ua.abond.lab4.core.exception.ImproperlyConfiguredException;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class ExceptionHandlerResolver {
+    private final ConcurrentMap<Class<?>, ExceptionHandlerMethod> handlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Optional<ExceptionHandlerMethod>> resolved = new ConcurrentHashMap<>();
+
+    public void register(Class<? extends Throwable> exception, ExceptionHandlerMethod handler) {
+        Objects.requireNonNull(exception);
+        Objects.requireNonNull(handler);
+        if (handlers.putIfAbsent(exception, handler) != null) {
+            throw new ImproperlyConfiguredException(
+                    String.format("Ambiguous exception handler for %s.", exception.getName())
+            );
+        }
+        resolved.clear();
+    }
+
+    public ExceptionHandlerMethod resolve(Class<? extends Throwable> exception) {
+        Objects.requireNonNull(exception);
+        Optional<ExceptionHandlerMethod> handler = resolved.get(exception);
+        if (handler == null) {
+            handler = resolved.computeIfAbsent(exception, this::findNearest);
+        }
+        return handler.orElse(null);
+    }
+
+    public int size() {
+        return handlers.size();
+    }
+
+    private Optional<ExceptionHandlerMethod> findNearest(Class<?> exception) {
+        for (Class<?> type = exception; type != null; type = type.getSuperclass()) {
+            ExceptionHandlerMethod handler = handlers.get(type);
+            if (handler != null) {
+                return Optional.of(handler);
+            }
+        }
+        return Optional.empty();
+    }
+}
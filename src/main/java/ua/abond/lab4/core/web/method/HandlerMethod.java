@@ -1,32 +1,38 @@
 package ua.abond.lab4.core.web.method;
 
-import org.apache.log4j.Logger;
+import ua.abond.lab4.core.web.annotation.RequestMapping;
 import ua.abond.lab4.core.web.exception.RequestMappingHandlerException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Objects;
 
 public class HandlerMethod {
-    private static final Logger logger = Logger.getLogger(HandlerMethod.class);
-
     private final Object declaringObject;
     private final Method method;
+    private final Invoker invoker;
+    private final boolean generated;
+    private final boolean async;
 
     public HandlerMethod(Object declaringObject, Method method) {
         Objects.requireNonNull(declaringObject);
         Objects.requireNonNull(method);
         this.declaringObject = declaringObject;
         this.method = method;
+        Invoker invoker = Invokers.spin(Invoker.class, declaringObject, method);
+        this.generated = invoker != null;
+        this.invoker = generated ? invoker : reflectiveInvoker(declaringObject, method);
+        RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+        this.async = mapping != null && mapping.async();
     }
 
-    public void handle(Object... args) throws RequestMappingHandlerException {
+    public void handle(HttpServletRequest req, HttpServletResponse resp) throws RequestMappingHandlerException {
         try {
-            method.invoke(declaringObject, args);
-        } catch (IllegalAccessException e) {
-            logger.error("Failed to invoke RequestHandler for " + method.getName(), e);
-        } catch (InvocationTargetException e) {
-            throw new RequestMappingHandlerException(e.getTargetException());
+            invoker.handle(req, resp);
+        } catch (Throwable e) {
+            throw new RequestMappingHandlerException(e);
         }
     }
 
@@ -37,4 +43,28 @@ public class HandlerMethod {
     public Method getMethod() {
         return method;
     }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    boolean isGenerated() {
+        return generated;
+    }
+
+    private static Invoker reflectiveInvoker(Object declaringObject, Method method) {
+        method.setAccessible(true);
+        return (req, resp) -> {
+            try {
+                method.invoke(declaringObject, req, resp);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Invoker {
+        void handle(HttpServletRequest req, HttpServletResponse resp) throws Throwable;
+    }
 }
@@ -0,0 +1,50 @@
+package ua.abond.lab4.core.web.method;
+
+import org.apache.log4j.Logger;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+final class Invokers {
+    private static final Logger logger = Logger.getLogger(Invokers.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Invokers() {
+    }
+
+    static <T> T spin(Class<T> type, Object target, Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers()) ||
+                !isVisible(declaringClass) || !declaringClass.isInstance(target)) {
+            return null;
+        }
+        Method sam = Arrays.stream(type.getMethods()).
+                filter(m -> Modifier.isAbstract(m.getModifiers())).
+                findFirst().
+                orElseThrow(() -> new IllegalArgumentException(type + " is not a functional interface."));
+        try {
+            MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+            MethodHandle impl = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, sam.getName(),
+                    MethodType.methodType(type, declaringClass), samType, impl, samType);
+            return type.cast(site.getTarget().invoke(target));
+        } catch (Throwable e) {
+            logger.debug("Falling back to reflection for " + declaringClass.getName() + "." + method.getName(), e);
+            return null;
+        }
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, Invokers.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ua.abond.lab4.core.web.route;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public final class RouteMatch<T> {
+    private static final String[] NO_NAMES = new String[0];
+    private static final int[] NO_SEGMENTS = new int[0];
+
+    private final String pattern;
+    private final T handler;
+    private final String[] names;
+    private final int[] segments;
+    private final String path;
+    private final int offset;
+
+    RouteMatch(String pattern, T handler) {
+        this(pattern, handler, NO_NAMES, NO_SEGMENTS, "", 0);
+    }
+
+    RouteMatch(String pattern, T handler, String[] names, int[] segments, String path, int offset) {
+        Objects.requireNonNull(pattern);
+        Objects.requireNonNull(handler);
+        Objects.requireNonNull(path);
+        this.pattern = pattern;
+        this.handler = handler;
+        this.names = names;
+        this.segments = segments;
+        this.path = path;
+        this.offset = offset;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public T getHandler() {
+        return handler;
+    }
+
+    public Map<String, String> getVariables() {
+        if (names.length == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            variables.put(names[i], getVariable(i));
+        }
+        return Collections.unmodifiableMap(variables);
+    }
+
+    public String getVariable(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return getVariable(i);
+            }
+        }
+        return null;
+    }
+
+    public String getVariable(int index) {
+        int target = segments[index];
+        int pos = offset;
+        for (int segment = 0; ; segment++) {
+            int start = Router.skipSeparators(path, pos);
+            int end = Router.segmentEnd(path, start);
+            if (segment == target) {
+                return path.substring(start, end);
+            }
+            pos = end;
+        }
+    }
+
+    public String getVariableName(int index) {
+        return names[index];
+    }
+
+    public int getVariableCount() {
+        return names.length;
+    }
+
+    public boolean hasVariables() {
+        return names.length > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteMatch{pattern='" + pattern + "', variables=" + getVariables() + '}';
+    }
+}
@@ -0,0 +1,223 @@
+package ua.abond.lab4.core.web.route;
+
+import ua.abond.lab4.core.exception.ImproperlyConfiguredException;
+import ua.abond.lab4.core.web.support.RequestMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class Router<T> {
+    private static final char SEPARATOR = '/';
+    private static final String WILDCARD = "*";
+    private static final String CATCH_ALL = "**";
+    private static final int ANY_METHOD = -1;
+
+    private final Node<T> root = new Node<>();
+    @SuppressWarnings("unchecked")
+    private final SegmentTable<Route<T>>[] exact = new SegmentTable[RequestMethod.values().length];
+    private int size;
+
+    public void add(String pattern, RequestMethod method, T handler) {
+        Objects.requireNonNull(pattern);
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(handler);
+
+        String[] segments = split(pattern);
+        boolean literal = true;
+        Node<T> node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (CATCH_ALL.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new ImproperlyConfiguredException(
+                            String.format("'%s' must be the last segment of '%s'.", CATCH_ALL, pattern)
+                    );
+                }
+                node = node.catchAll == null ? node.catchAll = new Node<>() : node.catchAll;
+                literal = false;
+            } else if (WILDCARD.equals(segment)) {
+                node = node.wildcard == null ? node.wildcard = new Node<>() : node.wildcard;
+                literal = false;
+            } else if (variableName(segment) != null) {
+                node = node.variable == null ? node.variable = new Node<>() : node.variable;
+                literal = false;
+            } else {
+                node = node.staticChild(segment);
+            }
+        }
+
+        Route<T> existing = node.routes[method.ordinal()];
+        if (existing != null) {
+            throw new ImproperlyConfiguredException(String.format(
+                    "Ambiguous mapping of %s '%s', it is already mapped as '%s'.", method, pattern, existing.pattern
+            ));
+        }
+        Route<T> route = new Route<>(pattern, segments, handler);
+        node.routes[method.ordinal()] = route;
+        if (literal) {
+            if (exact[method.ordinal()] == null) {
+                exact[method.ordinal()] = new SegmentTable<>();
+            }
+            exact[method.ordinal()].put(SEPARATOR + String.join(String.valueOf(SEPARATOR), segments), route);
+        }
+        size++;
+    }
+
+    public RouteMatch<T> match(RequestMethod method, String path) {
+        return match(method, path, 0);
+    }
+
+    public RouteMatch<T> match(RequestMethod method, String path, int offset) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(path);
+        Route<T> route = findExact(path, offset, method.ordinal());
+        if (route == null) {
+            route = find(root, path, offset, method.ordinal());
+        }
+        return route == null ? null : route.match(path, offset);
+    }
+
+    public boolean matches(String path, int offset) {
+        Objects.requireNonNull(path);
+        return find(root, path, offset, ANY_METHOD) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private Route<T> findExact(String path, int offset, int method) {
+        SegmentTable<Route<T>> table = exact[method];
+        if (table == null) {
+            return null;
+        }
+        int end = path.length();
+        while (end > offset + 1 && path.charAt(end - 1) == SEPARATOR) {
+            end--;
+        }
+        return end > offset ? table.get(path, offset, end) : null;
+    }
+
+    private Route<T> find(Node<T> node, String path, int pos, int method) {
+        int start = skipSeparators(path, pos);
+        if (start == path.length()) {
+            Route<T> route = node.route(method);
+            if (route != null || node.catchAll == null) {
+                return route;
+            }
+            return node.catchAll.route(method);
+        }
+        int end = segmentEnd(path, start);
+        Route<T> route;
+        if (node.statics != null) {
+            Node<T> child = node.statics.get(path, start, end);
+            if (child != null && (route = find(child, path, end, method)) != null) {
+                return route;
+            }
+        }
+        if (node.variable != null && (route = find(node.variable, path, end, method)) != null) {
+            return route;
+        }
+        if (node.wildcard != null && (route = find(node.wildcard, path, end, method)) != null) {
+            return route;
+        }
+        return node.catchAll == null ? null : node.catchAll.route(method);
+    }
+
+    static int skipSeparators(String path, int pos) {
+        int length = path.length();
+        while (pos < length && path.charAt(pos) == SEPARATOR) {
+            pos++;
+        }
+        return pos;
+    }
+
+    static int segmentEnd(String path, int start) {
+        int end = path.indexOf(SEPARATOR, start);
+        return end < 0 ? path.length() : end;
+    }
+
+    private static String[] split(String pattern) {
+        List<String> segments = new ArrayList<>();
+        int pos = skipSeparators(pattern, 0);
+        while (pos < pattern.length()) {
+            int end = segmentEnd(pattern, pos);
+            segments.add(pattern.substring(pos, end));
+            pos = skipSeparators(pattern, end);
+        }
+        return segments.toArray(new String[segments.size()]);
+    }
+
+    private static String variableName(String segment) {
+        if (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}') {
+            return segment.substring(1, segment.length() - 1);
+        }
+        return null;
+    }
+
+    private static final class Node<T> {
+        @SuppressWarnings("unchecked")
+        private final Route<T>[] routes = new Route[RequestMethod.values().length];
+        private SegmentTable<Node<T>> statics;
+        private Node<T> variable;
+        private Node<T> wildcard;
+        private Node<T> catchAll;
+
+        Node<T> staticChild(String segment) {
+            if (statics == null) {
+                statics = new SegmentTable<>();
+            }
+            Node<T> child = statics.get(segment);
+            if (child == null) {
+                child = new Node<>();
+                statics.put(segment, child);
+            }
+            return child;
+        }
+
+        Route<T> route(int method) {
+            if (method != ANY_METHOD) {
+                return routes[method];
+            }
+            for (Route<T> route : routes) {
+                if (route != null) {
+                    return route;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Route<T> {
+        private final String pattern;
+        private final T handler;
+        private final String[] names;
+        private final int[] segments;
+        private final RouteMatch<T> staticMatch;
+
+        Route(String pattern, String[] segments, T handler) {
+            this.pattern = pattern;
+            this.handler = handler;
+            List<String> names = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            for (int i = 0; i < segments.length; i++) {
+                String name = variableName(segments[i]);
+                if (name != null) {
+                    names.add(name);
+                    positions.add(i);
+                }
+            }
+            this.names = names.toArray(new String[names.size()]);
+            this.segments = positions.stream().mapToInt(Integer::intValue).toArray();
+            this.staticMatch = names.isEmpty() ? new RouteMatch<>(pattern, handler) : null;
+        }
+
+        RouteMatch<T> match(String path, int offset) {
+            if (staticMatch != null) {
+                return staticMatch;
+            }
+            return new RouteMatch<>(pattern, handler, names, segments, path, offset);
+        }
+    }
+}
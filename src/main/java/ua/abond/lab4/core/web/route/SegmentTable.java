@@ -0,0 +1,87 @@
+package ua.abond.lab4.core.web.route;
+
+final class SegmentTable<V> {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int shift = Integer.numberOfLeadingZeros(INITIAL_CAPACITY) + 1;
+    private int size;
+
+    V get(String key) {
+        return get(key, 0, key.length());
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(String path, int start, int end) {
+        int length = end - start;
+        boolean whole = length == path.length();
+        int hash = whole ? path.hashCode() : hash(path, start, end);
+        int mask = keys.length - 1;
+        for (int i = index(hash, shift); ; i = (i + 1) & mask) {
+            String key = keys[i];
+            if (key == null) {
+                return null;
+            }
+            if (key.length() == length && key.hashCode() == hash &&
+                    (whole ? key.equals(path) : path.regionMatches(start, key, 0, length))) {
+                return (V) values[i];
+            }
+        }
+    }
+
+    void put(String key, V value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        if (insert(keys, values, shift, key, value)) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        String[] newKeys = new String[keys.length * 2];
+        Object[] newValues = new Object[values.length * 2];
+        int newShift = shift - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                insert(newKeys, newValues, newShift, keys[i], values[i]);
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        shift = newShift;
+    }
+
+    private static boolean insert(String[] keys, Object[] values, int shift, String key, Object value) {
+        int mask = keys.length - 1;
+        for (int i = index(key.hashCode(), shift); ; i = (i + 1) & mask) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                values[i] = value;
+                return true;
+            }
+            if (keys[i].equals(key)) {
+                values[i] = value;
+                return false;
+            }
+        }
+    }
+
+    private static int hash(String path, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + path.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int index(int hash, int shift) {
+        return (hash * GOLDEN_RATIO) >>> shift;
+    }
+}
@@ -0,0 +1,378 @@
+package ua.abond.lab4.core.web.servlet;
+
+import javax.servlet.*;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class AsyncDispatch implements AsyncListener {
+    private final AsyncContext context;
+    private final AsyncHandlerExecutor executor;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private Thread worker;
+
+    AsyncDispatch(AsyncContext context, AsyncHandlerExecutor executor) {
+        this.context = context;
+        this.executor = executor;
+    }
+
+    HttpServletRequest wrap(HttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public RequestDispatcher getRequestDispatcher(String path) {
+                RequestDispatcher dispatcher = super.getRequestDispatcher(path);
+                if (path == null || !path.startsWith("/")) {
+                    return dispatcher;
+                }
+                return new RequestDispatcher() {
+                    @Override
+                    public void forward(ServletRequest request, ServletResponse response) {
+                        dispatch(path);
+                    }
+
+                    @Override
+                    public void include(ServletRequest request, ServletResponse response)
+                            throws ServletException, IOException {
+                        synchronized (AsyncDispatch.this) {
+                            if (!finished.get()) {
+                                dispatcher.include(request, response);
+                            }
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public void setAttribute(String name, Object o) {
+                synchronized (AsyncDispatch.this) {
+                    if (!finished.get()) {
+                        super.setAttribute(name, o);
+                    }
+                }
+            }
+
+            @Override
+            public void removeAttribute(String name) {
+                synchronized (AsyncDispatch.this) {
+                    if (!finished.get()) {
+                        super.removeAttribute(name);
+                    }
+                }
+            }
+        };
+    }
+
+    HttpServletResponse wrap(HttpServletResponse response) {
+        return new GuardedResponse(response);
+    }
+
+    synchronized boolean begin() {
+        if (finished.get()) {
+            return false;
+        }
+        worker = Thread.currentThread();
+        return true;
+    }
+
+    void end() {
+        synchronized (this) {
+            worker = null;
+        }
+        Thread.interrupted();
+        complete();
+    }
+
+    synchronized void dispatch(String path) {
+        if (finished.compareAndSet(false, true)) {
+            context.dispatch(path);
+        }
+    }
+
+    synchronized void complete() {
+        if (finished.compareAndSet(false, true)) {
+            context.complete();
+        }
+    }
+
+    boolean isFinished() {
+        return finished.get();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+        executor.timedOut();
+        synchronized (this) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            if (worker != null) {
+                worker.interrupt();
+            }
+            HttpServletResponse response = (HttpServletResponse) context.getResponse();
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+            context.complete();
+        }
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        complete();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private void guard(Write write) throws IOException {
+        synchronized (this) {
+            if (!finished.get()) {
+                write.run();
+            }
+        }
+    }
+
+    private void guardUnchecked(Runnable write) {
+        synchronized (this) {
+            if (!finished.get()) {
+                write.run();
+            }
+        }
+    }
+
+    private class GuardedResponse extends HttpServletResponseWrapper {
+        private PrintWriter writer;
+        private ServletOutputStream outputStream;
+
+        private GuardedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            synchronized (AsyncDispatch.this) {
+                if (writer == null) {
+                    writer = new PrintWriter(new GuardedWriter(finished.get() ? null : super.getWriter()));
+                }
+                return writer;
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            synchronized (AsyncDispatch.this) {
+                if (outputStream == null) {
+                    outputStream = new GuardedOutputStream(finished.get() ? null : super.getOutputStream());
+                }
+                return outputStream;
+            }
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            guard(() -> super.sendError(sc, msg));
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            guard(() -> super.sendError(sc));
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            guard(() -> super.sendRedirect(location));
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            guard(super::flushBuffer);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            guardUnchecked(() -> super.setStatus(sc));
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void setStatus(int sc, String sm) {
+            guardUnchecked(() -> super.setStatus(sc, sm));
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            guardUnchecked(() -> super.addCookie(cookie));
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            guardUnchecked(() -> super.setHeader(name, value));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            guardUnchecked(() -> super.addHeader(name, value));
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            guardUnchecked(() -> super.setIntHeader(name, value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            guardUnchecked(() -> super.addIntHeader(name, value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            guardUnchecked(() -> super.setDateHeader(name, date));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            guardUnchecked(() -> super.addDateHeader(name, date));
+        }
+
+        @Override
+        public void setContentType(String type) {
+            guardUnchecked(() -> super.setContentType(type));
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            guardUnchecked(() -> super.setCharacterEncoding(charset));
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            guardUnchecked(() -> super.setContentLength(len));
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            guardUnchecked(() -> super.setContentLengthLong(len));
+        }
+
+        @Override
+        public void setLocale(Locale loc) {
+            guardUnchecked(() -> super.setLocale(loc));
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+            guardUnchecked(() -> super.setBufferSize(size));
+        }
+
+        @Override
+        public void reset() {
+            guardUnchecked(super::reset);
+        }
+
+        @Override
+        public void resetBuffer() {
+            guardUnchecked(super::resetBuffer);
+        }
+    }
+
+    private class GuardedWriter extends Writer {
+        private final Writer target;
+
+        private GuardedWriter(Writer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (target != null) {
+                guard(() -> target.write(cbuf, off, len));
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            if (target != null) {
+                guard(() -> target.write(str, off, len));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                guard(target::flush);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target != null) {
+                guard(target::close);
+            }
+        }
+    }
+
+    private class GuardedOutputStream extends ServletOutputStream {
+        private final ServletOutputStream target;
+
+        private GuardedOutputStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target != null) {
+                guard(() -> target.write(b));
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target != null) {
+                guard(() -> target.write(b, off, len));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                guard(target::flush);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target != null) {
+                guard(target::close);
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return target == null || target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (target != null) {
+                target.setWriteListener(writeListener);
+            }
+        }
+    }
+}
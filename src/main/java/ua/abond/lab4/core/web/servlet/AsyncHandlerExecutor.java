@@ -0,0 +1,142 @@
+package ua.abond.lab4.core.web.servlet;
+
+import org.apache.log4j.Logger;
+import ua.abond.lab4.core.metrics.Counter;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.Timer;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncHandlerExecutor implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(AsyncHandlerExecutor.class);
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final Semaphore admission;
+    private final Semaphore concurrency;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer queueLatency = new Timer();
+    private final Counter completed = new Counter();
+    private final Counter rejected = new Counter();
+    private final Counter timeouts = new Counter();
+
+    public AsyncHandlerExecutor(int threads, int queueCapacity, boolean preferVirtualThreads) {
+        if (threads <= 0 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Async executor needs at least one thread and a non negative queue.");
+        }
+        this.admission = new Semaphore(threads + queueCapacity);
+        ExecutorService virtualExecutor = preferVirtualThreads ? newVirtualThreadExecutor() : null;
+        this.virtual = virtualExecutor != null;
+        if (virtual) {
+            this.executor = virtualExecutor;
+            this.concurrency = new Semaphore(threads);
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "async-handler-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.concurrency = null;
+        }
+    }
+
+    public void execute(Runnable task) {
+        if (!admission.tryAcquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Async executor is saturated.");
+        }
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> run(task, submitted));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            admission.release();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task, long submitted) {
+        try {
+            if (concurrency != null) {
+                concurrency.acquireUninterruptibly();
+            }
+            queued.decrementAndGet();
+            queueLatency.recordSince(submitted);
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                if (concurrency != null) {
+                    concurrency.release();
+                }
+            }
+        } finally {
+            completed.increment();
+            admission.release();
+        }
+    }
+
+    void timedOut() {
+        timeouts.increment();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.getCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.getCount();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.getCount();
+    }
+
+    public void registerMetrics(MetricRegistry registry) {
+        registry.gauge("http_async_queue_depth", "Async requests waiting for a worker.", this::getQueueDepth);
+        registry.gauge("http_async_active", "Async requests being handled.", this::getActiveCount);
+        registry.register("http_async_queue_seconds", "Time async requests wait for a worker.", queueLatency);
+        registry.register("http_async_completed_total", "Async requests handled.", completed);
+        registry.register("http_async_rejected_total", "Async requests rejected with 503.", rejected);
+        registry.register("http_async_timeouts_total", "Async requests that timed out.", timeouts);
+    }
+
+    public Timer getQueueLatency() {
+        return queueLatency;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Failed to create virtual thread executor, falling back to platform threads.", e);
+            return null;
+        }
+    }
+}
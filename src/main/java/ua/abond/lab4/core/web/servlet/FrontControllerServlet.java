@@ -2,14 +2,20 @@ package ua.abond.lab4.core.web.servlet;
 
 import org.apache.log4j.Logger;
 import ua.abond.lab4.core.ConfigurableBeanFactory;
+import ua.abond.lab4.core.metrics.Counter;
+import ua.abond.lab4.core.metrics.MetricRegistry;
 import ua.abond.lab4.core.web.annotation.Controller;
 import ua.abond.lab4.core.web.annotation.ExceptionController;
 import ua.abond.lab4.core.web.annotation.ExceptionHandler;
 import ua.abond.lab4.core.web.annotation.RequestMapping;
+import ua.abond.lab4.core.web.exception.ApplicationException;
 import ua.abond.lab4.core.web.exception.RequestMappingHandlerException;
 import ua.abond.lab4.core.web.method.*;
+import ua.abond.lab4.core.web.route.RouteMatch;
+import ua.abond.lab4.core.web.route.Router;
 import ua.abond.lab4.core.web.support.RequestMethod;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -17,26 +23,103 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 public class FrontControllerServlet extends BeanFactoryAwareServlet {
     private static final Logger logger = Logger.getLogger(FrontControllerServlet.class);
+    private static final String ASYNC_THREADS_ATTR = "asyncThreads";
+    private static final String ASYNC_QUEUE_CAPACITY_ATTR = "asyncQueueCapacity";
+    private static final String ASYNC_TIMEOUT_ATTR = "asyncTimeout";
+    private static final String ASYNC_VIRTUAL_THREADS_ATTR = "asyncVirtualThreads";
+    private static final int DEFAULT_ASYNC_THREADS = 16;
+    private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 64;
+    private static final long DEFAULT_ASYNC_TIMEOUT = 30_000L;
 
-    private Map<HandlerMethodInfo, HandlerMethod> mappingHandlers;
-    private Map<ExceptionHandlerInfo, ExceptionHandlerMethod> exceptionHandlers;
+    private Router<RouteHandler> router;
+    private MetricRegistry metricRegistry;
+    private Counter notFound;
+    private Counter methodNotAllowed;
+    private ExceptionHandlerResolver exceptionHandlers;
+    private AsyncHandlerExecutor asyncExecutor;
+    private long asyncTimeout;
 
     @Override
     protected void doDispatch(HttpServletRequest req, HttpServletResponse resp)
             throws IOException, ServletException {
         String requestURI = req.getRequestURI();
+        int offset = getPathOffset(req, requestURI);
 
         RequestMethod method = RequestMethod.valueOf(req.getMethod());
-        HandlerMethodInfo key = new HandlerMethodInfo(requestURI, method);
-
-        HandlerMethod handlerMethod = mappingHandlers.get(key);
-        if (handlerMethod == null) {
-            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+        RouteMatch<RouteHandler> match = router.match(method, requestURI, offset);
+        if (match == null) {
+            if (router.matches(requestURI, offset)) {
+                methodNotAllowed.increment();
+                resp.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            } else {
+                notFound.increment();
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
             return;
         }
+        RouteHandler handler = match.getHandler();
+        if (match.hasVariables()) {
+            req = new PathVariableRequest(req, match);
+        }
+        if (handler.getHandlerMethod().isAsync() && asyncExecutor != null && req.isAsyncSupported()) {
+            dispatchAsync(handler, req, resp);
+        } else {
+            invoke(handler, req, resp);
+        }
+    }
+
+    private void dispatchAsync(RouteHandler handler, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException {
+        AsyncContext context = req.startAsync(req, resp);
+        context.setTimeout(asyncTimeout);
+        AsyncDispatch dispatch = new AsyncDispatch(context, asyncExecutor);
+        context.addListener(dispatch);
+        HttpServletRequest request = dispatch.wrap(req);
+        HttpServletResponse response = dispatch.wrap(resp);
+        try {
+            asyncExecutor.execute(() -> {
+                if (!dispatch.begin()) {
+                    return;
+                }
+                try {
+                    invoke(handler, request, response);
+                } catch (Exception e) {
+                    if (dispatch.isFinished()) {
+                        logger.debug("Async handler for '" + req.getRequestURI() + "' failed after timeout", e);
+                    } else {
+                        logger.error("Failed to invoke '" + req.getRequestURI() + "' async handler", e);
+                        if (!response.isCommitted()) {
+                            sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                        }
+                    }
+                } finally {
+                    dispatch.end();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected '" + req.getRequestURI() + "', async executor is saturated.");
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            dispatch.complete();
+        }
+    }
+
+    private void invoke(RouteHandler handler, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException, ServletException {
+        long start = System.nanoTime();
+        try {
+            invoke(handler.getHandlerMethod(), req, resp);
+        } finally {
+            handler.record(start, resp.getStatus());
+        }
+    }
+
+    private void invoke(HandlerMethod handlerMethod, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException, ServletException {
+        String requestURI = req.getRequestURI();
         try {
             handlerMethod.handle(req, resp);
         } catch (RequestMappingHandlerException e) {
@@ -45,9 +128,9 @@ public class FrontControllerServlet extends BeanFactoryAwareServlet {
                     handlerMethod.getMethod(),
                     e.getCause()
             );
-            ExceptionHandlerInfo info = new ExceptionHandlerInfo(data.getException().getClass());
-            if (exceptionHandlers.containsKey(info)) {
-                handleException(exceptionHandlers.get(info), data);
+            ExceptionHandlerMethod exceptionHandler = exceptionHandlers.resolve(data.getException().getClass());
+            if (exceptionHandler != null) {
+                handleException(exceptionHandler, data);
             } else {
                 defaultErrorHandle(requestURI, resp, e);
             }
@@ -61,14 +144,38 @@ public class FrontControllerServlet extends BeanFactoryAwareServlet {
         try {
             Object result = method.invoke(data);
             if (result instanceof HandlerMethodInfo) {
-                HandlerMethod handler = mappingHandlers.get(result);
-                handler.handle(data.getRequest(), data.getResponse());
+                HandlerMethodInfo forward = (HandlerMethodInfo) result;
+                RouteMatch<RouteHandler> match = router.match(forward.getMethod(), forward.getUrl());
+                if (match == null) {
+                    logger.error("No handler to forward to '" + forward.getUrl() + "'");
+                    resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    return;
+                }
+                HttpServletRequest request = match.hasVariables() ?
+                        new PathVariableRequest(req, match) : req;
+                match.getHandler().getHandlerMethod().handle(request, resp);
             }
         } catch (InvocationTargetException | RequestMappingHandlerException e) {
             defaultErrorHandle(req.getRequestURI(), resp, e);
         }
     }
 
+    private static void sendError(HttpServletResponse resp, int status) {
+        try {
+            resp.sendError(status);
+        } catch (IOException e) {
+            logger.error("Failed to send " + status + " response.", e);
+        }
+    }
+
+    private static int getPathOffset(HttpServletRequest req, String uri) {
+        String contextPath = req.getContextPath();
+        if (contextPath == null || contextPath.isEmpty() || !uri.startsWith(contextPath)) {
+            return 0;
+        }
+        return contextPath.length();
+    }
+
     private void defaultErrorHandle(String uri, HttpServletResponse resp, Exception e)
             throws IOException {
         logger.error("Failed to invoke '" + uri + "' handler", e);
@@ -78,12 +185,65 @@ public class FrontControllerServlet extends BeanFactoryAwareServlet {
     @Override
     protected void onRefreshed(ConfigurableBeanFactory beanFactory) {
         super.onRefreshed(beanFactory);
+        initializeMetrics(beanFactory);
         initializeMappingHandlers(beanFactory);
         initializeExceptionHandlers(beanFactory);
+        initializeAsyncExecutor();
+    }
+
+    @Override
+    public void destroy() {
+        if (asyncExecutor != null) {
+            asyncExecutor.close();
+        }
+        super.destroy();
+    }
+
+    public AsyncHandlerExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    private void initializeMetrics(ConfigurableBeanFactory beanFactory) {
+        this.metricRegistry = beanFactory.containsBean(MetricRegistry.class) ?
+                beanFactory.getBean(MetricRegistry.class) : new MetricRegistry();
+        String help = "Requests that did not match a handler.";
+        this.notFound = metricRegistry.counter("http_requests_unmatched_total", help, "status", "404");
+        this.methodNotAllowed = metricRegistry.counter("http_requests_unmatched_total", help, "status", "405");
+    }
+
+    private void initializeAsyncExecutor() {
+        this.asyncTimeout = getLongInitParameter(ASYNC_TIMEOUT_ATTR, DEFAULT_ASYNC_TIMEOUT);
+        int threads = (int) getLongInitParameter(ASYNC_THREADS_ATTR, DEFAULT_ASYNC_THREADS);
+        int queueCapacity = (int) getLongInitParameter(ASYNC_QUEUE_CAPACITY_ATTR, DEFAULT_ASYNC_QUEUE_CAPACITY);
+        boolean virtualThreads = !"false".equalsIgnoreCase(getOptionalInitParameter(ASYNC_VIRTUAL_THREADS_ATTR));
+        this.asyncExecutor = new AsyncHandlerExecutor(threads, queueCapacity, virtualThreads);
+        asyncExecutor.registerMetrics(metricRegistry);
+        logger.debug("Async handlers run on " + (asyncExecutor.isVirtual() ? "virtual" : threads + " platform") +
+                " threads with a queue of " + queueCapacity + ".");
+    }
+
+    private String getOptionalInitParameter(String name) {
+        return getServletConfig() != null ? getInitParameter(name) : null;
+    }
+
+    private long getLongInitParameter(String name, long defaultValue) {
+        String value = getOptionalInitParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Init parameter '" + name + "' must be a number.", e);
+        }
     }
 
     private void initializeMappingHandlers(ConfigurableBeanFactory beanFactory) {
-        this.mappingHandlers = new HashMap<>();
+        this.router = new Router<>();
         Collection<Object> controllers = beanFactory.getBeansWithAnnotation(Controller.class).values();
 
         for (Object controller : controllers) {
@@ -94,7 +254,7 @@ public class FrontControllerServlet extends BeanFactoryAwareServlet {
                     filter(m -> m.isAnnotationPresent(RequestMapping.class)).
                     forEach(m -> addHandler(prefix, controller, m));
         }
-        this.mappingHandlers = Collections.unmodifiableMap(this.mappingHandlers);
+        logger.debug("Registered " + router.size() + " request mappings.");
     }
 
     private void addHandler(String prefix, Object declaringObj, Method method) {
@@ -103,13 +263,13 @@ public class FrontControllerServlet extends BeanFactoryAwareServlet {
 
         logger.debug("Creating handler for url: " + url + " for " + annotation.method() + " method.");
 
-        HandlerMethodInfo info = new HandlerMethodInfo(url, annotation.method());
         HandlerMethod handlerMethod = new HandlerMethod(declaringObj, method);
-        this.mappingHandlers.put(info, handlerMethod);
+        this.router.add(url, annotation.method(),
+                new RouteHandler(handlerMethod, metricRegistry, annotation.method().name(), url));
     }
 
     private void initializeExceptionHandlers(ConfigurableBeanFactory beanFactory) {
-        this.exceptionHandlers = new HashMap<>();
+        this.exceptionHandlers = new ExceptionHandlerResolver();
         Collection<Object> objects = beanFactory.getBeansWithAnnotation(ExceptionController.class).values();
 
         for (Object handler : objects) {
@@ -117,14 +277,14 @@ public class FrontControllerServlet extends BeanFactoryAwareServlet {
                     filter(m -> m.isAnnotationPresent(ExceptionHandler.class)).
                     forEach(m -> addExceptionHandler(handler, m));
         }
-        this.exceptionHandlers = Collections.unmodifiableMap(exceptionHandlers);
+        logger.debug("Registered " + exceptionHandlers.size() + " exception handlers.");
     }
 
     private void addExceptionHandler(Object declaringObj, Method method) {
         ExceptionHandler annotation = method.getAnnotation(ExceptionHandler.class);
         Class<? extends Throwable>[] values = annotation.value();
+        ExceptionHandlerMethod handlerMethod = new ExceptionHandlerMethod(method, declaringObj);
         Arrays.stream(values).
-                map(ExceptionHandlerInfo::new).
-                forEach(info -> exceptionHandlers.put(info, new ExceptionHandlerMethod(method, declaringObj)));
+                forEach(exception -> exceptionHandlers.register(exception, handlerMethod));
     }
 }
@@ -0,0 +1,49 @@
+package ua.abond.lab4.core.web.servlet;
+
+import ua.abond.lab4.core.web.route.RouteMatch;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class PathVariableRequest extends HttpServletRequestWrapper {
+    private final RouteMatch<?> match;
+    private Map<String, String[]> parameterMap;
+
+    PathVariableRequest(HttpServletRequest request, RouteMatch<?> match) {
+        super(request);
+        this.match = match;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String value = match.getVariable(name);
+        return value != null ? value : super.getParameter(name);
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String value = match.getVariable(name);
+        return value != null ? new String[]{value} : super.getParameterValues(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        if (parameterMap == null) {
+            Map<String, String[]> result = new LinkedHashMap<>(super.getParameterMap());
+            for (int i = 0; i < match.getVariableCount(); i++) {
+                result.put(match.getVariableName(i), new String[]{match.getVariable(i)});
+            }
+            parameterMap = Collections.unmodifiableMap(result);
+        }
+        return parameterMap;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(getParameterMap().keySet());
+    }
+}
@@ -0,0 +1,46 @@
+package ua.abond.lab4.core.web.servlet;
+
+import ua.abond.lab4.core.metrics.Counter;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.Timer;
+import ua.abond.lab4.core.web.method.HandlerMethod;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class RouteHandler {
+    static final String LATENCY = "http_request_seconds";
+    static final String REQUESTS = "http_requests_total";
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    private final HandlerMethod handlerMethod;
+    private final MetricRegistry registry;
+    private final String method;
+    private final String route;
+    private final Timer latency;
+    private final AtomicReferenceArray<Counter> statuses = new AtomicReferenceArray<>(MAX_STATUS - MIN_STATUS + 1);
+
+    RouteHandler(HandlerMethod handlerMethod, MetricRegistry registry, String method, String route) {
+        this.handlerMethod = handlerMethod;
+        this.registry = registry;
+        this.method = method;
+        this.route = route;
+        this.latency = registry.timer(LATENCY, "Time spent in request handlers.", "method", method, "route", route);
+    }
+
+    HandlerMethod getHandlerMethod() {
+        return handlerMethod;
+    }
+
+    void record(long startNanos, int status) {
+        latency.recordSince(startNanos);
+        int index = Math.min(Math.max(status, MIN_STATUS), MAX_STATUS) - MIN_STATUS;
+        Counter counter = statuses.get(index);
+        if (counter == null) {
+            counter = registry.counter(REQUESTS, "Handled requests by route and status.",
+                    "method", method, "route", route, "status", String.valueOf(index + MIN_STATUS));
+            statuses.lazySet(index, counter);
+        }
+        counter.increment();
+    }
+}
@@ -0,0 +1,5 @@
+package ua.abond.lab4.core.web.support;
+
+public enum CountMode {
+    WINDOW, NONE
+}
@@ -0,0 +1,75 @@
+package ua.abond.lab4.core.web.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+public final class Cursor {
+    private static final String TOKEN_PREFIX = "id:";
+    private static final Cursor FIRST = new Cursor(Long.MIN_VALUE);
+
+    private final long lastId;
+
+    private Cursor(long lastId) {
+        this.lastId = lastId;
+    }
+
+    public static Cursor first() {
+        return FIRST;
+    }
+
+    public static Cursor after(long lastId) {
+        return new Cursor(lastId);
+    }
+
+    public static Optional<Cursor> parse(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        if (token.isEmpty()) {
+            return Optional.of(FIRST);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(TOKEN_PREFIX)) {
+                return Optional.empty();
+            }
+            return Optional.of(after(Long.parseLong(decoded.substring(TOKEN_PREFIX.length()))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public boolean isFirst() {
+        return lastId == Long.MIN_VALUE;
+    }
+
+    public String getToken() {
+        if (isFirst()) {
+            return "";
+        }
+        byte[] bytes = (TOKEN_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return lastId == ((Cursor) o).lastId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(lastId);
+    }
+
+    @Override
+    public String toString() {
+        return "Cursor{lastId=" + lastId + '}';
+    }
+}
@@ -6,11 +6,24 @@ public class DefaultPage<T> implements Page<T> {
     private List<T> content;
     private long totalElementCount;
     private Pageable pageable;
+    private boolean hasNext;
+    private Cursor nextCursor;
 
     public DefaultPage(List<T> content, long totalElementCount, Pageable pageable) {
         this.content = content;
         this.totalElementCount = totalElementCount;
         this.pageable = pageable;
+        this.hasNext = pageable.getOffset() + getSize() < totalElementCount;
+    }
+
+    public DefaultPage(List<T> content, Pageable pageable, boolean hasNext) {
+        this(content, UNKNOWN_TOTAL, pageable);
+        this.hasNext = hasNext;
+    }
+
+    public DefaultPage(List<T> content, Pageable pageable, Cursor nextCursor) {
+        this(content, pageable, nextCursor != null);
+        this.nextCursor = nextCursor;
     }
 
     @Override
@@ -33,6 +46,9 @@ public class DefaultPage<T> implements Page<T> {
 
     @Override
     public long getTotalPages() {
+        if (!isTotalKnown()) {
+            return UNKNOWN_TOTAL;
+        }
         return (long) Math.ceil(getTotalElements() / ((double) pageable.getPageSize()));
     }
 
@@ -40,4 +56,35 @@ public class DefaultPage<T> implements Page<T> {
     public long getTotalElements() {
         return totalElementCount;
     }
+
+    @Override
+    public boolean isKeyset() {
+        return pageable.getCursor() != null;
+    }
+
+    @Override
+    public boolean isTotalKnown() {
+        return totalElementCount != UNKNOWN_TOTAL;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public Cursor getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public Pageable nextPageable() {
+        if (!hasNext) {
+            return null;
+        }
+        if (isKeyset()) {
+            return pageable.after(nextCursor);
+        }
+        return pageable.next();
+    }
 }
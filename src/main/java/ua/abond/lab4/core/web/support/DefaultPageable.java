@@ -4,6 +4,8 @@ public class DefaultPageable implements Pageable {
     private int pageSize;
     private int pageNumber;
     private SortOrder sortOrder;
+    private Cursor cursor;
+    private CountMode countMode = CountMode.WINDOW;
 
     public DefaultPageable(int pageNumber, int pageSize, SortOrder sortOrder) {
         this.pageSize = pageSize;
@@ -11,8 +13,16 @@ public class DefaultPageable implements Pageable {
         this.sortOrder = sortOrder;
     }
 
+    public DefaultPageable(Cursor cursor, int pageSize, SortOrder sortOrder) {
+        this(1, pageSize, sortOrder);
+        this.cursor = cursor;
+    }
+
     @Override
     public int getOffset() {
+        if (cursor != null) {
+            return 0;
+        }
         return pageSize * (pageNumber - 1);
     }
 
@@ -31,19 +41,38 @@ public class DefaultPageable implements Pageable {
         return sortOrder;
     }
 
+    @Override
+    public Cursor getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
     @Override
     public boolean hasPrevious() {
+        if (cursor != null) {
+            return !cursor.isFirst();
+        }
         return (pageNumber - 1) > 0;
     }
 
     @Override
     public Pageable first() {
-        return new DefaultPageable(1, pageSize, sortOrder);
+        if (cursor != null) {
+            return after(Cursor.first());
+        }
+        return copy(new DefaultPageable(1, pageSize, sortOrder));
     }
 
     @Override
     public Pageable next() {
-        return new DefaultPageable(pageNumber + 1, pageSize, sortOrder);
+        if (cursor != null) {
+            throw new IllegalStateException("Keyset pageable can only advance to the next cursor of its page.");
+        }
+        return copy(new DefaultPageable(pageNumber + 1, pageSize, sortOrder));
     }
 
     @Override
@@ -51,6 +80,25 @@ public class DefaultPageable implements Pageable {
         if (!hasPrevious()) {
             return first();
         }
-        return new DefaultPageable(pageNumber + 1, pageSize, sortOrder);
+        return copy(new DefaultPageable(pageNumber - 1, pageSize, sortOrder));
+    }
+
+    @Override
+    public Pageable after(Cursor cursor) {
+        return copy(new DefaultPageable(cursor, pageSize, sortOrder));
+    }
+
+    @Override
+    public DefaultPageable withCountMode(CountMode countMode) {
+        DefaultPageable result = cursor != null
+                ? new DefaultPageable(cursor, pageSize, sortOrder)
+                : new DefaultPageable(pageNumber, pageSize, sortOrder);
+        result.countMode = countMode;
+        return result;
+    }
+
+    private DefaultPageable copy(DefaultPageable pageable) {
+        pageable.countMode = countMode;
+        return pageable;
     }
 }
@@ -3,6 +3,8 @@ package ua.abond.lab4.core.web.support;
 import java.util.List;
 
 public interface Page<T> {
+    long UNKNOWN_TOTAL = -1;
+
     List<T> getContent();
 
     int getSize();
@@ -12,4 +14,14 @@ public interface Page<T> {
     long getTotalPages();
 
     long getTotalElements();
+
+    boolean isKeyset();
+
+    boolean isTotalKnown();
+
+    boolean hasNext();
+
+    Cursor getNextCursor();
+
+    Pageable nextPageable();
 }
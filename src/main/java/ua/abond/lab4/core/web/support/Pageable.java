@@ -9,6 +9,10 @@ public interface Pageable {
 
     SortOrder getSortOrder();
 
+    Cursor getCursor();
+
+    CountMode getCountMode();
+
     boolean hasPrevious();
 
     Pageable first();
@@ -16,4 +20,8 @@ public interface Pageable {
     Pageable next();
 
     Pageable previousOrFirst();
+
+    Pageable after(Cursor cursor);
+
+    Pageable withCountMode(CountMode countMode);
 }
@@ -7,7 +7,7 @@ import ua.abond.lab4.domain.Request;
 
 import java.time.LocalDateTime;
 
-public interface ApartmentDAO extends DAO<Apartment> {
+public interface ApartmentDAO extends BulkDAO<Apartment> {
     Page<Apartment> list(Pageable pageable);
 
     Page<Apartment> list(Pageable pageable, Request filter);
@@ -0,0 +1,14 @@
+package ua.abond.lab4.dao;
+
+import ua.abond.lab4.domain.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingDAO extends DAO<Booking> {
+    List<Booking> list();
+
+    void deleteByRequestId(Long requestId);
+
+    boolean isBooked(Long apartmentId, LocalDateTime from, LocalDateTime to);
+}
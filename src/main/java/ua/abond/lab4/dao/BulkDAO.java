@@ -0,0 +1,9 @@
+package ua.abond.lab4.dao;
+
+import java.util.List;
+
+public interface BulkDAO<T> extends DAO<T> {
+    void createAll(List<T> entities);
+    void updateAll(List<T> entities);
+    void deleteAllById(List<Long> ids);
+}
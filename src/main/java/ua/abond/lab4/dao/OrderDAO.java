@@ -4,9 +4,11 @@ import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.domain.Order;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-public interface OrderDAO extends DAO<Order> {
+public interface OrderDAO extends BulkDAO<Order> {
     Optional<Order> findByRequestId(Long requestId);
 
     long count();
@@ -14,4 +16,6 @@ public interface OrderDAO extends DAO<Order> {
     Page<Order> list(Pageable pageable);
 
     Page<Order> getUserOrders(Pageable pageable, Long id);
+
+    long forEachBetween(LocalDateTime from, LocalDateTime to, Consumer<? super Order> action);
 }
@@ -4,10 +4,15 @@ import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.domain.Request;
 
-public interface RequestDAO extends DAO<Request> {
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+public interface RequestDAO extends BulkDAO<Request> {
     Page<Request> list(Pageable pageable);
 
     Page<Request> getUserOrders(Pageable pageable, Long id);
 
     long count();
+
+    long forEachBetween(LocalDateTime from, LocalDateTime to, Consumer<? super Request> action);
 }
@@ -0,0 +1,81 @@
+package ua.abond.lab4.dao.jdbc;
+
+import ua.abond.lab4.core.cache.Cache;
+import ua.abond.lab4.core.tm.RoutingDataSource;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.domain.Entity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+public class EntityCache<T extends Entity<Long>> {
+    private final Cache cache;
+    private final TransactionManager tm;
+    private final UnaryOperator<T> copier;
+    private final ThreadLocal<Map<Long, Optional<T>>> written = new ThreadLocal<>();
+
+    public EntityCache(Cache cache, TransactionManager tm, UnaryOperator<T> copier) {
+        Objects.requireNonNull(cache);
+        Objects.requireNonNull(copier);
+        this.cache = cache;
+        this.tm = tm;
+        this.copier = copier;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<T> getById(Long id, Function<Long, Optional<T>> loader) {
+        if (id == null) {
+            return loader.apply(id);
+        }
+        Map<Long, Optional<T>> overlay = inTransaction() ? written.get() : null;
+        if (overlay != null && overlay.containsKey(id)) {
+            Optional<T> own = overlay.get(id);
+            if (own == null) {
+                own = loader.apply(id).map(copier);
+                overlay.put(id, own);
+            }
+            return own.map(copier);
+        }
+        T cached = (T) cache.get(id);
+        if (cached != null) {
+            return Optional.of(copier.apply(cached));
+        }
+        if (inTransaction()) {
+            return loader.apply(id);
+        }
+        long generation = cache.getGeneration();
+        Optional<T> result = RoutingDataSource.primary(() -> loader.apply(id));
+        result.ifPresent(entity -> cache.put(id, copier.apply(entity), generation));
+        return result;
+    }
+
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        cache.invalidate(id);
+        if (inTransaction()) {
+            overlay().put(id, null);
+        }
+    }
+
+    private Map<Long, Optional<T>> overlay() {
+        Map<Long, Optional<T>> overlay = written.get();
+        if (overlay == null) {
+            Map<Long, Optional<T>> created = new HashMap<>();
+            written.set(created);
+            tm.afterCommit(() -> created.keySet().forEach(cache::invalidate));
+            tm.afterCompletion(written::remove);
+            overlay = created;
+        }
+        return overlay;
+    }
+
+    private boolean inTransaction() {
+        return tm != null && tm.hasBegun();
+    }
+}
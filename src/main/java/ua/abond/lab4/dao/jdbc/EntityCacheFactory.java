@@ -0,0 +1,25 @@
+package ua.abond.lab4.dao.jdbc;
+
+import ua.abond.lab4.core.cache.CacheManager;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.domain.Entity;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+public class EntityCacheFactory {
+    private final CacheManager cacheManager;
+    private final TransactionManager tm;
+    private final int maxSize;
+
+    public EntityCacheFactory(CacheManager cacheManager, TransactionManager tm, int maxSize) {
+        Objects.requireNonNull(cacheManager);
+        this.cacheManager = cacheManager;
+        this.tm = tm;
+        this.maxSize = maxSize;
+    }
+
+    public <T extends Entity<Long>> EntityCache<T> create(String name, UnaryOperator<T> copier) {
+        return new EntityCache<>(cacheManager.getCache(name, maxSize), tm, copier);
+    }
+}
@@ -4,22 +4,18 @@ import ua.abond.lab4.core.annotation.Component;
 import ua.abond.lab4.core.annotation.Inject;
 import ua.abond.lab4.core.annotation.Prop;
 import ua.abond.lab4.core.annotation.Value;
+import ua.abond.lab4.core.jdbc.BeanRowMapper;
 import ua.abond.lab4.core.jdbc.JdbcTemplate;
 import ua.abond.lab4.core.jdbc.KeyHolder;
+import ua.abond.lab4.core.jdbc.ParameterizedSetter;
 import ua.abond.lab4.core.jdbc.PreparedStatementSetter;
 import ua.abond.lab4.core.jdbc.RowMapper;
-import ua.abond.lab4.core.jdbc.exception.DataAccessException;
-import ua.abond.lab4.core.web.support.DefaultPage;
 import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.dao.ApartmentDAO;
 import ua.abond.lab4.domain.Apartment;
-import ua.abond.lab4.domain.ApartmentType;
 import ua.abond.lab4.domain.Request;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,6 +25,21 @@ import java.util.Optional;
 @Prop("sql/apartment.sql.properties")
 public class JdbcApartmentDAO extends JdbcDAO<Apartment>
         implements ApartmentDAO {
+    private static final RowMapper<Apartment> APARTMENT_MAPPER = new BeanRowMapper<>(Apartment.class);
+    private static final ParameterizedSetter<Apartment> CREATE_PARAMETERS = (ps, entity) -> {
+        ps.setInt(1, entity.getRoomCount());
+        ps.setLong(2, entity.getType().getId());
+        ps.setBigDecimal(3, entity.getPrice());
+        ps.setString(4, entity.getName());
+    };
+    private static final ParameterizedSetter<Apartment> UPDATE_PARAMETERS = (ps, entity) -> {
+        ps.setInt(1, entity.getRoomCount());
+        ps.setLong(2, entity.getType().getId());
+        ps.setBigDecimal(3, entity.getPrice());
+        ps.setString(4, entity.getName());
+        ps.setLong(5, entity.getId());
+    };
+
     @Value("sql.insert")
     private String insertSql;
     @Value("sql.update")
@@ -39,58 +50,56 @@ public class JdbcApartmentDAO extends JdbcDAO<Apartment>
     private String deleteByIdSql;
     @Value("sql.list")
     private String listSql;
+    @Value("sql.list.total")
+    private String listTotalSql;
+    @Value("sql.list.seek")
+    private String listSeekSql;
     @Value("sql.count")
     private String countSql;
     @Value("sql.filter")
     private String filterMostAppropriateSql;
+    @Value("sql.filter.total")
+    private String filterMostAppropriateTotalSql;
+    @Value("sql.filter.seek")
+    private String filterMostAppropriateSeekSql;
     @Value("sql.filter.count")
     private String countMostAppropriateSql;
     @Value("sql.listFree")
     private String listFreeSql;
+    @Value("sql.listFree.total")
+    private String listFreeTotalSql;
+    @Value("sql.listFree.seek")
+    private String listFreeSeekSql;
     @Value("sql.listFree.count")
     private String countFreeSql;
 
+    private final EntityCache<Apartment> cache;
+
     @Inject
-    public JdbcApartmentDAO(JdbcTemplate jdbcTemplate) {
+    public JdbcApartmentDAO(JdbcTemplate jdbcTemplate, EntityCacheFactory cacheFactory) {
         super(jdbcTemplate);
+        this.cache = cacheFactory.create("apartments", Apartment::new);
     }
 
     @Override
     public void create(Apartment entity) {
         KeyHolder holder = new KeyHolder();
-        jdbcTemplate.update(c -> {
-            PreparedStatement ps = c.prepareStatement(
-                    insertSql,
-                    PreparedStatement.RETURN_GENERATED_KEYS
-            );
-            ps.setInt(1, entity.getRoomCount());
-            ps.setLong(2, entity.getType().getId());
-            ps.setBigDecimal(3, entity.getPrice());
-            ps.setString(4, entity.getName());
-            return ps;
-        }, holder);
+        jdbcTemplate.update(insertSql, ps -> CREATE_PARAMETERS.set(ps, entity), holder);
         entity.setId(holder.getKey().longValue());
     }
 
     @Override
     public Optional<Apartment> getById(Long id) {
-        return jdbcTemplate.querySingle(getByIdSql,
-                ps -> ps.setLong(1, id),
-                new ApartmentMapper()
-        );
+        return cache.getById(id, key -> jdbcTemplate.querySingle(getByIdSql,
+                ps -> ps.setLong(1, key),
+                APARTMENT_MAPPER
+        ));
     }
 
     @Override
     public void update(Apartment entity) {
-        jdbcTemplate.execute(updateSql,
-                ps -> {
-                    ps.setInt(1, entity.getRoomCount());
-                    ps.setLong(2, entity.getType().getId());
-                    ps.setBigDecimal(3, entity.getPrice());
-                    ps.setString(4, entity.getName());
-                    ps.setLong(5, entity.getId());
-                }
-        );
+        jdbcTemplate.execute(updateSql, ps -> UPDATE_PARAMETERS.set(ps, entity));
+        cache.evict(entity.getId());
     }
 
     @Override
@@ -98,16 +107,35 @@ public class JdbcApartmentDAO extends JdbcDAO<Apartment>
         jdbcTemplate.execute(deleteByIdSql,
                 ps -> ps.setLong(1, id)
         );
+        cache.evict(id);
+    }
+
+    @Override
+    public void createAll(List<Apartment> entities) {
+        jdbcTemplate.batchUpdate(insertSql, entities, CREATE_PARAMETERS,
+                (entity, key) -> entity.setId(key.longValue())
+        );
+    }
+
+    @Override
+    public void updateAll(List<Apartment> entities) {
+        jdbcTemplate.batchUpdate(updateSql, entities, UPDATE_PARAMETERS);
+        entities.forEach(entity -> cache.evict(entity.getId()));
+    }
+
+    @Override
+    public void deleteAllById(List<Long> ids) {
+        jdbcTemplate.batchUpdate(deleteByIdSql, ids, (ps, id) -> ps.setLong(1, id));
+        ids.forEach(cache::evict);
     }
 
     @Override
     public Page<Apartment> list(Pageable pageable) {
-        long count = count();
-        List<Apartment> query = jdbcTemplate.query(
-                String.format(listSql, pageable.getPageSize(), pageable.getOffset()),
-                new ApartmentMapper()
+        return queryPage(
+                new PageQuery(listSql, listTotalSql, listSeekSql, countSql),
+                pageable,
+                APARTMENT_MAPPER
         );
-        return new DefaultPage<>(query, count, pageable);
     }
 
     @Override
@@ -115,57 +143,38 @@ public class JdbcApartmentDAO extends JdbcDAO<Apartment>
         PreparedStatementSetter pss = ps -> {
             ps.setInt(1, filter.getLookup().getRoomCount());
             ps.setString(2, filter.getLookup().getType().getName());
-            ps.setObject(3, Timestamp.valueOf(filter.getTo()));
-            ps.setObject(4, Timestamp.valueOf(filter.getFrom()));
+            ps.setTimestamp(3, Timestamp.valueOf(filter.getFrom()));
+            ps.setTimestamp(4, Timestamp.valueOf(filter.getTo()));
         };
-        long count = jdbcTemplate.querySingle(countMostAppropriateSql, pss, rs -> rs.getLong(1)).
-                orElseThrow(() -> new DataAccessException("Count cannot be null."));
-
-        List<Apartment> query = jdbcTemplate.query(
-                String.format(filterMostAppropriateSql, pageable.getPageSize(), pageable.getOffset()),
-                pss,
-                new ApartmentMapper()
+        return queryPage(
+                new PageQuery(
+                        filterMostAppropriateSql,
+                        filterMostAppropriateTotalSql,
+                        filterMostAppropriateSeekSql,
+                        countMostAppropriateSql
+                ),
+                pss, 4,
+                pageable,
+                APARTMENT_MAPPER
         );
-        return new DefaultPage<>(query, count, pageable);
     }
 
     @Override
     public Page<Apartment> listFree(Pageable pageable, LocalDateTime from, LocalDateTime to) {
         PreparedStatementSetter pss = rs -> {
-            rs.setTimestamp(1, Timestamp.valueOf(to));
-            rs.setTimestamp(2, Timestamp.valueOf(from));
+            rs.setTimestamp(1, Timestamp.valueOf(from));
+            rs.setTimestamp(2, Timestamp.valueOf(to));
         };
-        long count = jdbcTemplate.querySingle(countFreeSql, pss, rs -> rs.getLong(1)).
-                orElseThrow(() -> new DataAccessException("Count cannot be null."));
-
-        List<Apartment> query = jdbcTemplate.query(
-                String.format(listFreeSql, pageable.getPageSize(), pageable.getOffset()),
-                pss,
-                new ApartmentMapper()
+        return queryPage(
+                new PageQuery(listFreeSql, listFreeTotalSql, listFreeSeekSql, countFreeSql),
+                pss, 2,
+                pageable,
+                APARTMENT_MAPPER
         );
-        return new DefaultPage<>(query, count, pageable);
     }
 
     @Override
     public long count() {
         return jdbcTemplate.querySingle(countSql, rs -> rs.getLong(1)).orElse(0L);
     }
-
-    private static class ApartmentMapper implements RowMapper<Apartment> {
-
-        @Override
-        public Apartment mapRow(ResultSet rs) throws SQLException {
-            Apartment apartment = new Apartment();
-
-            apartment.setId(rs.getLong(1));
-            apartment.setRoomCount(rs.getInt(2));
-            ApartmentType type = new ApartmentType();
-            type.setId(rs.getLong(3));
-            type.setName(rs.getString(4));
-            apartment.setPrice(rs.getBigDecimal(5));
-            apartment.setType(type);
-            apartment.setName(rs.getString(6));
-            return apartment;
-        }
-    }
 }
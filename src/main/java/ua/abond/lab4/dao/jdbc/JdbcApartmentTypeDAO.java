@@ -1,19 +1,18 @@
 package ua.abond.lab4.dao.jdbc;
 
+import ua.abond.lab4.core.annotation.CacheEvict;
+import ua.abond.lab4.core.annotation.Cacheable;
 import ua.abond.lab4.core.annotation.Component;
 import ua.abond.lab4.core.annotation.Inject;
 import ua.abond.lab4.core.annotation.Prop;
 import ua.abond.lab4.core.annotation.Value;
 import ua.abond.lab4.dao.ApartmentTypeDAO;
 import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.core.jdbc.BeanRowMapper;
 import ua.abond.lab4.core.jdbc.JdbcTemplate;
 import ua.abond.lab4.core.jdbc.KeyHolder;
 import ua.abond.lab4.core.jdbc.RowMapper;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +20,7 @@ import java.util.Optional;
 @Prop("sql/apartment-type.sql.properties")
 public class JdbcApartmentTypeDAO extends JdbcDAO<ApartmentType>
         implements ApartmentTypeDAO {
+    private static final RowMapper<ApartmentType> APARTMENT_TYPE_MAPPER = new BeanRowMapper<>(ApartmentType.class);
     @Value("sql.create")
     private String createSql;
     @Value("sql.update")
@@ -40,27 +40,27 @@ public class JdbcApartmentTypeDAO extends JdbcDAO<ApartmentType>
     }
 
     @Override
+    @CacheEvict("apartmentTypes")
     public void create(ApartmentType entity) {
         KeyHolder keyHolder = new KeyHolder();
-        jdbcTemplate.update(
-                conn -> {
-                    PreparedStatement ps = conn.prepareStatement(createSql, Statement.RETURN_GENERATED_KEYS);
-                    ps.setString(1, entity.getName());
-                    return ps;
-                }, keyHolder
+        jdbcTemplate.update(createSql,
+                ps -> ps.setString(1, entity.getName()),
+                keyHolder
         );
         entity.setId(keyHolder.getKey().longValue());
     }
 
     @Override
+    @Cacheable("apartmentTypes")
     public Optional<ApartmentType> getById(Long id) {
         return jdbcTemplate.querySingle(getByIdSql,
                 ps -> ps.setLong(1, id),
-                new ApartmentTypeRowMapper()
+                APARTMENT_TYPE_MAPPER
         );
     }
 
     @Override
+    @CacheEvict("apartmentTypes")
     public void update(ApartmentType entity) {
         jdbcTemplate.execute(updateSql,
                 ps -> {
@@ -71,30 +71,23 @@ public class JdbcApartmentTypeDAO extends JdbcDAO<ApartmentType>
     }
 
     @Override
+    @CacheEvict("apartmentTypes")
     public void deleteById(Long id) {
         jdbcTemplate.execute(deleteByIdSql, ps -> ps.setLong(1, id));
     }
 
     @Override
+    @Cacheable("apartmentTypes")
     public Optional<ApartmentType> getByName(String name) {
         return jdbcTemplate.querySingle(getByNameSql,
                 ps -> ps.setString(1, name),
-                new ApartmentTypeRowMapper()
+                APARTMENT_TYPE_MAPPER
         );
     }
 
     @Override
+    @Cacheable("apartmentTypes")
     public List<ApartmentType> list() {
-        return jdbcTemplate.query(listSql, new ApartmentTypeRowMapper());
-    }
-
-    private static class ApartmentTypeRowMapper implements RowMapper<ApartmentType> {
-        @Override
-        public ApartmentType mapRow(ResultSet rs) throws SQLException {
-            ApartmentType apartmentType = new ApartmentType();
-            apartmentType.setId(rs.getLong(1));
-            apartmentType.setName(rs.getString(2));
-            return apartmentType;
-        }
+        return jdbcTemplate.query(listSql, APARTMENT_TYPE_MAPPER);
     }
 }
@@ -1,24 +1,25 @@
 package ua.abond.lab4.dao.jdbc;
 
+import ua.abond.lab4.core.annotation.CacheEvict;
+import ua.abond.lab4.core.annotation.Cacheable;
 import ua.abond.lab4.core.annotation.Component;
 import ua.abond.lab4.core.annotation.Inject;
 import ua.abond.lab4.core.annotation.Prop;
 import ua.abond.lab4.core.annotation.Value;
 import ua.abond.lab4.dao.AuthorityDAO;
 import ua.abond.lab4.domain.Authority;
+import ua.abond.lab4.core.jdbc.BeanRowMapper;
 import ua.abond.lab4.core.jdbc.JdbcTemplate;
 import ua.abond.lab4.core.jdbc.KeyHolder;
 import ua.abond.lab4.core.jdbc.RowMapper;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.Optional;
 
 @Component
 @Prop("sql/authority.sql.properties")
 public class JdbcAuthorityDAO extends JdbcDAO<Authority>
         implements AuthorityDAO {
+    private static final RowMapper<Authority> AUTHORITY_MAPPER = new BeanRowMapper<>(Authority.class);
 
     @Value("sql.create")
     private String createSql;
@@ -37,28 +38,27 @@ public class JdbcAuthorityDAO extends JdbcDAO<Authority>
     }
 
     @Override
+    @CacheEvict("authorities")
     public void create(Authority entity) {
         KeyHolder holder = new KeyHolder();
-        jdbcTemplate.update(c -> {
-            PreparedStatement ps = c.prepareStatement(
-                    createSql,
-                    PreparedStatement.RETURN_GENERATED_KEYS
-            );
-            ps.setString(1, entity.getName());
-            return ps;
-        }, holder);
+        jdbcTemplate.update(createSql,
+                ps -> ps.setString(1, entity.getName()),
+                holder
+        );
         entity.setId(holder.getKey().longValue());
     }
 
     @Override
+    @Cacheable("authorities")
     public Optional<Authority> getById(Long id) {
         return jdbcTemplate.querySingle(getByIdSql,
                 ps -> ps.setLong(1, id),
-                new AuthorityMapper()
+                AUTHORITY_MAPPER
         );
     }
 
     @Override
+    @CacheEvict("authorities")
     public void update(Authority entity) {
         jdbcTemplate.execute(updateSql,
                 ps -> {
@@ -69,6 +69,7 @@ public class JdbcAuthorityDAO extends JdbcDAO<Authority>
     }
 
     @Override
+    @CacheEvict("authorities")
     public void deleteById(Long id) {
         jdbcTemplate.execute(deleteByIdSql,
                 ps -> ps.setLong(1, id)
@@ -76,24 +77,11 @@ public class JdbcAuthorityDAO extends JdbcDAO<Authority>
     }
 
     @Override
+    @Cacheable("authorities")
     public Optional<Authority> getByName(String name) {
         return jdbcTemplate.querySingle(getByNameSql,
                 ps -> ps.setString(1, name),
-                new AuthorityMapper()
+                AUTHORITY_MAPPER
         );
     }
-
-    private static class AuthorityMapper implements RowMapper<Authority> {
-
-        @Override
-        public Authority mapRow(ResultSet rs) throws SQLException {
-            Long entityId = rs.getLong(1);
-            String name = rs.getString(2);
-            Authority authority = new Authority();
-
-            authority.setId(entityId);
-            authority.setName(name);
-            return authority;
-        }
-    }
 }
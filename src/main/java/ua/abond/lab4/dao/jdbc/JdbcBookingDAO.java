@@ -0,0 +1,107 @@
+package ua.abond.lab4.dao.jdbc;
+
+import ua.abond.lab4.core.annotation.Component;
+import ua.abond.lab4.core.annotation.Inject;
+import ua.abond.lab4.core.annotation.Prop;
+import ua.abond.lab4.core.annotation.Value;
+import ua.abond.lab4.core.jdbc.BeanRowMapper;
+import ua.abond.lab4.core.jdbc.JdbcTemplate;
+import ua.abond.lab4.core.jdbc.KeyHolder;
+import ua.abond.lab4.core.jdbc.RowMapper;
+import ua.abond.lab4.dao.BookingDAO;
+import ua.abond.lab4.domain.Booking;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@Prop("sql/booking.sql.properties")
+public class JdbcBookingDAO extends JdbcDAO<Booking> implements BookingDAO {
+    private static final RowMapper<Booking> BOOKING_MAPPER = new BeanRowMapper<>(Booking.class);
+    @Value("sql.create")
+    private String createSql;
+    @Value("sql.update")
+    private String updateSql;
+    @Value("sql.getById")
+    private String getByIdSql;
+    @Value("sql.list")
+    private String listSql;
+    @Value("sql.deleteById")
+    private String deleteByIdSql;
+    @Value("sql.deleteByRequestId")
+    private String deleteByRequestIdSql;
+    @Value("sql.isBooked")
+    private String isBookedSql;
+
+    @Inject
+    public JdbcBookingDAO(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    @Override
+    public void create(Booking entity) {
+        KeyHolder keyHolder = new KeyHolder();
+        jdbcTemplate.update(createSql,
+                ps -> {
+                    ps.setLong(1, entity.getRequestId());
+                    ps.setLong(2, entity.getOrderId());
+                    ps.setLong(3, entity.getApartmentId());
+                    ps.setTimestamp(4, Timestamp.valueOf(entity.getFrom()));
+                    ps.setTimestamp(5, Timestamp.valueOf(entity.getTo()));
+                },
+                keyHolder
+        );
+        entity.setId(keyHolder.getKey().longValue());
+    }
+
+    @Override
+    public Optional<Booking> getById(Long id) {
+        return jdbcTemplate.querySingle(getByIdSql,
+                ps -> ps.setLong(1, id),
+                BOOKING_MAPPER
+        );
+    }
+
+    @Override
+    public void update(Booking entity) {
+        jdbcTemplate.execute(updateSql,
+                ps -> {
+                    ps.setLong(1, entity.getRequestId());
+                    ps.setLong(2, entity.getOrderId());
+                    ps.setLong(3, entity.getApartmentId());
+                    ps.setTimestamp(4, Timestamp.valueOf(entity.getFrom()));
+                    ps.setTimestamp(5, Timestamp.valueOf(entity.getTo()));
+                    ps.setLong(6, entity.getId());
+                }
+        );
+    }
+
+    @Override
+    public List<Booking> list() {
+        return jdbcTemplate.query(listSql, BOOKING_MAPPER);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        jdbcTemplate.execute(deleteByIdSql, ps -> ps.setLong(1, id));
+    }
+
+    @Override
+    public void deleteByRequestId(Long requestId) {
+        jdbcTemplate.execute(deleteByRequestIdSql, ps -> ps.setLong(1, requestId));
+    }
+
+    @Override
+    public boolean isBooked(Long apartmentId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.querySingle(isBookedSql,
+                ps -> {
+                    ps.setLong(1, apartmentId);
+                    ps.setTimestamp(2, Timestamp.valueOf(from));
+                    ps.setTimestamp(3, Timestamp.valueOf(to));
+                },
+                rs -> rs.getBoolean(1)
+        ).orElse(false);
+    }
+}
@@ -1,13 +1,38 @@
 package ua.abond.lab4.dao.jdbc;
 
-import ua.abond.lab4.dao.DAO;
+import ua.abond.lab4.core.annotation.Prop;
+import ua.abond.lab4.core.exception.ImproperlyConfiguredException;
 import ua.abond.lab4.core.jdbc.JdbcTemplate;
+import ua.abond.lab4.core.jdbc.PreparedStatementSetter;
+import ua.abond.lab4.core.jdbc.RowMapper;
+import ua.abond.lab4.core.jdbc.exception.DataAccessException;
+import ua.abond.lab4.core.web.support.CountMode;
+import ua.abond.lab4.core.web.support.Cursor;
+import ua.abond.lab4.core.web.support.DefaultPage;
+import ua.abond.lab4.core.web.support.Page;
+import ua.abond.lab4.core.web.support.Pageable;
+import ua.abond.lab4.dao.DAO;
+import ua.abond.lab4.domain.Entity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+
+public abstract class JdbcDAO<T extends Entity<Long>> implements DAO<T> {
+    private static final String TOTAL_COUNT_COLUMN = "total_count";
+    private static final String SQL_KEY_PREFIX = "sql.";
+    private static final String SQL_FILE_SUFFIX = ".sql.properties";
+    private static final PreparedStatementSetter NO_PARAMETERS = ps -> {
+    };
 
-public abstract class JdbcDAO<T> implements DAO<T> {
     protected final JdbcTemplate jdbcTemplate;
 
     public JdbcDAO(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        registerStatements();
     }
 
     public void rollback() {
@@ -26,4 +51,126 @@ public abstract class JdbcDAO<T> implements DAO<T> {
         jdbcTemplate.endTransaction();
     }
 
+    protected Page<T> queryPage(PageQuery query, Pageable pageable, RowMapper<T> rm) {
+        return queryPage(query, NO_PARAMETERS, 0, pageable, rm);
+    }
+
+    protected Page<T> queryPage(PageQuery query,
+                                PreparedStatementSetter pss,
+                                int parameterCount,
+                                Pageable pageable,
+                                RowMapper<T> rm) {
+        Cursor cursor = pageable.getCursor();
+        if (cursor != null) {
+            List<T> content = jdbcTemplate.query(query.seekSql, ps -> {
+                pss.set(ps);
+                ps.setLong(parameterCount + 1, cursor.getLastId());
+                ps.setInt(parameterCount + 2, pageable.getPageSize() + 1);
+            }, rm);
+            boolean hasNext = trim(content, pageable.getPageSize());
+            Cursor next = hasNext ? Cursor.after(content.get(content.size() - 1).getId()) : null;
+            return new DefaultPage<>(content, pageable, next);
+        }
+        if (pageable.getCountMode() == CountMode.NONE) {
+            List<T> content = jdbcTemplate.query(query.sql,
+                    offset(pss, parameterCount, pageable.getPageSize() + 1, pageable), rm);
+            return new DefaultPage<>(content, pageable, trim(content, pageable.getPageSize()));
+        }
+
+        long[] total = {Page.UNKNOWN_TOTAL};
+        List<T> content = jdbcTemplate.query(query.totalSql,
+                offset(pss, parameterCount, pageable.getPageSize(), pageable),
+                new RowMapper<T>() {
+                    @Override
+                    public T mapRow(ResultSet rs) throws SQLException {
+                        return bind(rs).mapRow(rs);
+                    }
+
+                    @Override
+                    public RowMapper<T> bind(ResultSet rs) throws SQLException {
+                        RowMapper<T> bound = rm.bind(rs);
+                        return row -> {
+                            if (total[0] == Page.UNKNOWN_TOTAL) {
+                                total[0] = row.getLong(TOTAL_COUNT_COLUMN);
+                            }
+                            return bound.mapRow(row);
+                        };
+                    }
+                });
+        if (total[0] == Page.UNKNOWN_TOTAL) {
+            total[0] = pageable.getOffset() == 0 ? 0 : queryCount(query.countSql, pss);
+        }
+        return new DefaultPage<>(content, total[0], pageable);
+    }
+
+    private void registerStatements() {
+        Prop prop = getClass().getAnnotation(Prop.class);
+        if (prop == null || jdbcTemplate == null) {
+            return;
+        }
+        for (String path : prop.value()) {
+            Properties statements = new Properties();
+            try (InputStream in = JdbcDAO.class.getResourceAsStream(path.startsWith("/") ? path : "/" + path)) {
+                if (in == null) {
+                    continue;
+                }
+                statements.load(in);
+            } catch (IOException e) {
+                throw new ImproperlyConfiguredException("Failed to load statements from " + path, e);
+            }
+            String prefix = statementPrefix(path);
+            for (String key : statements.stringPropertyNames()) {
+                if (key.startsWith(SQL_KEY_PREFIX)) {
+                    jdbcTemplate.registerSql(prefix + key.substring(SQL_KEY_PREFIX.length()),
+                            statements.getProperty(key));
+                }
+            }
+        }
+    }
+
+    private static String statementPrefix(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        if (name.endsWith(SQL_FILE_SUFFIX)) {
+            name = name.substring(0, name.length() - SQL_FILE_SUFFIX.length());
+        }
+        return name + ".";
+    }
+
+    private long queryCount(String sql, PreparedStatementSetter pss) {
+        return jdbcTemplate.querySingle(sql, pss, rs -> rs.getLong(1)).
+                orElseThrow(() -> new DataAccessException("Count cannot be null."));
+    }
+
+    private static PreparedStatementSetter offset(PreparedStatementSetter pss,
+                                                  int parameterCount,
+                                                  int limit,
+                                                  Pageable pageable) {
+        return ps -> {
+            pss.set(ps);
+            ps.setInt(parameterCount + 1, limit);
+            ps.setInt(parameterCount + 2, pageable.getOffset());
+        };
+    }
+
+    private static boolean trim(List<?> content, int pageSize) {
+        if (content.size() <= pageSize) {
+            return false;
+        }
+        content.subList(pageSize, content.size()).clear();
+        return true;
+    }
+
+    protected static final class PageQuery {
+        private final String sql;
+        private final String totalSql;
+        private final String seekSql;
+        private final String countSql;
+
+        public PageQuery(String sql, String totalSql, String seekSql, String countSql) {
+            this.sql = sql;
+            this.totalSql = totalSql;
+            this.seekSql = seekSql;
+            this.countSql = countSql;
+        }
+    }
 }
@@ -12,6 +12,15 @@ public class Apartment extends Entity<Long> {
     public Apartment() {
     }
 
+
+    public Apartment(Apartment other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.roomCount = other.roomCount;
+        this.price = other.price;
+        this.type = other.type == null ? null : new ApartmentType(other.type);
+    }
+
     public String getName() {
         return name;
     }
@@ -16,6 +16,12 @@ public class ApartmentType extends Entity<Long> {
         this.name = name;
     }
 
+
+    public ApartmentType(ApartmentType other) {
+        this.id = other.id;
+        this.name = other.name;
+    }
+
     public String getName() {
         return name;
     }
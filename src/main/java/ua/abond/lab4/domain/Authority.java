@@ -8,6 +8,12 @@ public class Authority extends Entity<Long> {
     public Authority() {
     }
 
+
+    public Authority(Authority other) {
+        this.id = other.id;
+        this.name = other.name;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,82 @@
+package ua.abond.lab4.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class Booking extends Entity<Long> {
+    private Long requestId;
+    private Long orderId;
+    private Long apartmentId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public Booking() {
+    }
+
+    public Booking(Order order, Request request) {
+        this.requestId = request.getId();
+        this.orderId = order.getId();
+        this.apartmentId = order.getApartment().getId();
+        this.from = request.getFrom();
+        this.to = request.getTo();
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getApartmentId() {
+        return apartmentId;
+    }
+
+    public void setApartmentId(Long apartmentId) {
+        this.apartmentId = apartmentId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Booking))
+            return false;
+        Booking booking = (Booking) o;
+        return Objects.equals(getRequestId(), booking.getRequestId()) &&
+                Objects.equals(getOrderId(), booking.getOrderId()) &&
+                Objects.equals(getApartmentId(), booking.getApartmentId()) &&
+                Objects.equals(getFrom(), booking.getFrom()) &&
+                Objects.equals(getTo(), booking.getTo());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getRequestId(), getOrderId(), getApartmentId(), getFrom(), getTo());
+    }
+}
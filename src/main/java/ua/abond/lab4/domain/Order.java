@@ -14,6 +14,15 @@ public class Order extends Entity<Long> {
     public Order() {
     }
 
+
+    public Order(Order other) {
+        this.id = other.id;
+        this.apartment = other.apartment == null ? null : new Apartment(other.apartment);
+        this.request = other.request == null ? null : new Request(other.request);
+        this.price = other.price;
+        this.payed = other.payed;
+    }
+
     public Apartment getApartment() {
         return apartment;
     }
@@ -14,6 +14,17 @@ public class Request extends Entity<Long> {
     public Request() {
     }
 
+
+    public Request(Request other) {
+        this.id = other.id;
+        this.user = other.user == null ? null : new User(other.user);
+        this.lookup = other.lookup == null ? null : new Apartment(other.lookup);
+        this.from = other.from;
+        this.to = other.to;
+        this.statusComment = other.statusComment;
+        this.status = other.status;
+    }
+
     public User getUser() {
         return user;
     }
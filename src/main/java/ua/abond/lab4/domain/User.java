@@ -19,6 +19,16 @@ public class User extends Entity<Long> implements Serializable {
         this.id = id;
     }
 
+
+    public User(User other) {
+        this.id = other.id;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.login = other.login;
+        this.password = other.password;
+        this.authority = other.authority == null ? null : new Authority(other.authority);
+    }
+
     public String getFirstName() {
         return firstName;
     }
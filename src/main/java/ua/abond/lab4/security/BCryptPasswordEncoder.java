@@ -3,14 +3,57 @@ package ua.abond.lab4.security;
 import org.mindrot.jbcrypt.BCrypt;
 
 public class BCryptPasswordEncoder implements PasswordEncoder {
+    public static final int DEFAULT_LOG_ROUNDS = 10;
+    private static final int MIN_LOG_ROUNDS = 4;
+    private static final int MAX_LOG_ROUNDS = 30;
+
+    private final int logRounds;
+
+    public BCryptPasswordEncoder() {
+        this(DEFAULT_LOG_ROUNDS);
+    }
+
+    public BCryptPasswordEncoder(int logRounds) {
+        if (logRounds < MIN_LOG_ROUNDS || logRounds > MAX_LOG_ROUNDS) {
+            throw new IllegalArgumentException(
+                    "BCrypt log rounds should be between " + MIN_LOG_ROUNDS + " and " + MAX_LOG_ROUNDS + "."
+            );
+        }
+        this.logRounds = logRounds;
+    }
 
     @Override
     public String encode(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt());
+        return BCrypt.hashpw(password, BCrypt.gensalt(logRounds));
     }
 
     @Override
     public boolean matches(String rawPassword, String encodedPassword) {
         return BCrypt.checkpw(rawPassword, encodedPassword);
     }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return getLogRounds(encodedPassword) != logRounds;
+    }
+
+    public int getLogRounds() {
+        return logRounds;
+    }
+
+    static int getLogRounds(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int offset = encodedPassword.charAt(2) == '$' ? 3 : 4;
+        if (encodedPassword.length() < offset + 3 || encodedPassword.charAt(offset + 2) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(offset);
+        char ones = encodedPassword.charAt(offset + 1);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
 }
@@ -0,0 +1,20 @@
+package ua.abond.lab4.security;
+
+import java.util.Objects;
+
+public class LoginThrottle {
+    private final TokenBucketLimiter byLogin;
+    private final TokenBucketLimiter byAddress;
+
+    public LoginThrottle(TokenBucketLimiter byLogin, TokenBucketLimiter byAddress) {
+        Objects.requireNonNull(byLogin);
+        Objects.requireNonNull(byAddress);
+        this.byLogin = byLogin;
+        this.byAddress = byAddress;
+    }
+
+    public boolean tryAcquire(String login, String address) {
+        boolean allowed = login == null || byLogin.tryAcquire(login.toLowerCase());
+        return (address == null || byAddress.tryAcquire(address)) && allowed;
+    }
+}
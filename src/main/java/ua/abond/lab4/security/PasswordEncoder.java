@@ -4,4 +4,8 @@ public interface PasswordEncoder {
     String encode(String password);
 
     boolean matches(String rawPassword, String encodedPassword);
+
+    default boolean needsRehash(String encodedPassword) {
+        return false;
+    }
 }
@@ -0,0 +1,7 @@
+package ua.abond.lab4.security;
+
+public class PasswordEncoderBusyException extends RuntimeException {
+    public PasswordEncoderBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,82 @@
+package ua.abond.lab4.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class TokenBucketLimiter {
+    private final int capacity;
+    private final double tokensPerNano;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier clock) {
+        if (capacity <= 0 || refillPerMinute <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Token bucket needs positive capacity, refill rate and size.");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictFull(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evictFull(long now) {
+        buckets.values().removeIf(b -> b.isFull(now));
+        if (buckets.size() >= maxKeys) {
+            buckets.clear();
+        }
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long updated;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updated = now;
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > updated) {
+                tokens = Math.min(capacity, tokens + (now - updated) * tokensPerNano);
+                updated = now;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ua.abond.lab4.service;
 
+import ua.abond.lab4.core.annotation.Transactional;
 import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.domain.Apartment;
@@ -7,6 +8,7 @@ import ua.abond.lab4.domain.Request;
 import ua.abond.lab4.service.exception.ServiceException;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 
 public interface ApartmentService {
     Apartment getById(Long id) throws ServiceException;
@@ -15,8 +17,12 @@ public interface ApartmentService {
 
     void updateApartment(Apartment apartment) throws ServiceException;
 
+    @Transactional
+    int importApartments(Iterator<Apartment> apartments);
+
     void deleteApartment(Long id);
 
+    @Transactional(readOnly = true)
     Page<Apartment> list(Pageable pageable);
 
     Page<Apartment> listFree(Pageable pageable, LocalDateTime from, LocalDateTime to);
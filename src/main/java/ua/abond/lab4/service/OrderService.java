@@ -1,11 +1,16 @@
 package ua.abond.lab4.service;
 
+import ua.abond.lab4.core.annotation.Transactional;
 import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.domain.Order;
 import ua.abond.lab4.service.exception.ServiceException;
 import ua.abond.lab4.web.dto.ConfirmRequestDTO;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface OrderService {
     Order createOrder(ConfirmRequestDTO requestDTO) throws ServiceException;
 
@@ -15,7 +20,17 @@ public interface OrderService {
 
     void deleteOrder(Long id) throws ServiceException;
 
+    @Transactional
+    void updateOrders(List<Order> orders) throws ServiceException;
+
+    @Transactional
+    void deleteOrders(List<Long> ids) throws ServiceException;
+
     Page<Order> list(Pageable pageable);
 
+    @Transactional(readOnly = true)
     Page<Order> getUserOrders(Pageable pageable, Long id);
+
+    @Transactional(readOnly = true)
+    long export(LocalDateTime from, LocalDateTime to, Consumer<? super Order> action);
 }
@@ -8,16 +8,24 @@ import ua.abond.lab4.service.exception.ServiceException;
 import ua.abond.lab4.web.dto.ConfirmRequestDTO;
 import ua.abond.lab4.web.dto.RequestDTO;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface RequestService {
     void createRequest(RequestDTO request) throws ServiceException;
 
     @Transactional
     void confirmRequest(ConfirmRequestDTO dto) throws ServiceException;
 
+    @Transactional
+    void confirmRequests(List<ConfirmRequestDTO> dtos) throws ServiceException;
+
     void rejectRequest(Long id, String comment) throws ServiceException;
 
     Request getById(Long id) throws ServiceException;
 
+    @Transactional(readOnly = true)
     Page<Request> list(Pageable pageable);
 
     Page<Request> getUserRequests(Pageable pageable, Long userId);
@@ -25,4 +33,10 @@ public interface RequestService {
     Page<Request> listCreated(Pageable pageable);
 
     void deleteById(Long id);
+
+    @Transactional
+    void deleteAllById(List<Long> ids);
+
+    @Transactional(readOnly = true)
+    long export(LocalDateTime from, LocalDateTime to, Consumer<? super Request> action);
 }
@@ -0,0 +1,5 @@
+package ua.abond.lab4.service.availability;
+
+public enum AvailabilityEngine {
+    SQL, MEMORY, VERIFY
+}
@@ -0,0 +1,302 @@
+package ua.abond.lab4.service.availability;
+
+import org.apache.log4j.Logger;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.core.web.support.CountMode;
+import ua.abond.lab4.core.web.support.Cursor;
+import ua.abond.lab4.core.web.support.DefaultPage;
+import ua.abond.lab4.core.web.support.DefaultPageable;
+import ua.abond.lab4.core.web.support.Page;
+import ua.abond.lab4.core.web.support.Pageable;
+import ua.abond.lab4.core.web.support.SortOrder;
+import ua.abond.lab4.dao.ApartmentDAO;
+import ua.abond.lab4.dao.BookingDAO;
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.domain.Booking;
+import ua.abond.lab4.domain.Request;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class AvailabilityIndex {
+    private static final Logger logger = Logger.getLogger(AvailabilityIndex.class);
+    private static final int LOAD_PAGE_SIZE = 500;
+
+    private final AvailabilityEngine engine;
+    private final ApartmentDAO apartmentDAO;
+    private final BookingDAO bookingDAO;
+    private final TransactionManager tm;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Slot> slots = new TreeMap<>();
+    private final Map<Long, Booking> bookings = new HashMap<>();
+    private final LongAdder mismatches = new LongAdder();
+
+    public AvailabilityIndex(AvailabilityEngine engine,
+                             ApartmentDAO apartmentDAO,
+                             BookingDAO bookingDAO,
+                             TransactionManager tm) {
+        Objects.requireNonNull(engine);
+        Objects.requireNonNull(apartmentDAO);
+        Objects.requireNonNull(bookingDAO);
+        Objects.requireNonNull(tm);
+        this.engine = engine;
+        this.apartmentDAO = apartmentDAO;
+        this.bookingDAO = bookingDAO;
+        this.tm = tm;
+    }
+
+    public AvailabilityEngine getEngine() {
+        return engine;
+    }
+
+    public boolean isEnabled() {
+        return engine != AvailabilityEngine.SQL;
+    }
+
+    public void load() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Apartment> apartments = new ArrayList<>();
+        Pageable pageable = new DefaultPageable(Cursor.first(), LOAD_PAGE_SIZE, SortOrder.ASC);
+        do {
+            Page<Apartment> page = apartmentDAO.list(pageable);
+            apartments.addAll(page.getContent());
+            pageable = page.nextPageable();
+        } while (pageable != null);
+        List<Booking> loaded = bookingDAO.list();
+
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            bookings.clear();
+            apartments.forEach(this::putApartment);
+            loaded.forEach(this::addBooking);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info(String.format("Loaded availability index with %d apartments and %d bookings.",
+                apartments.size(), loaded.size()));
+    }
+
+    public Page<Apartment> listFree(Pageable pageable, LocalDateTime from, LocalDateTime to) {
+        return find(pageable, from, to, apartment -> true);
+    }
+
+    public Page<Apartment> listFree(Pageable pageable, Request filter) {
+        int roomCount = filter.getLookup().getRoomCount();
+        String typeName = filter.getLookup().getType().getName();
+        return find(pageable, filter.getFrom(), filter.getTo(), apartment ->
+                apartment.getRoomCount() == roomCount &&
+                        typeName != null && typeName.equals(apartment.getType().getName())
+        );
+    }
+
+    public void onBooked(Booking booking) {
+        if (isEnabled()) {
+            tm.afterCommit(() -> write(() -> addBooking(booking)));
+        }
+    }
+
+    public void onReleased(Long requestId) {
+        if (isEnabled()) {
+            tm.afterCommit(() -> write(() -> removeBooking(requestId)));
+        }
+    }
+
+    public void onApartmentSaved(Long apartmentId) {
+        if (isEnabled()) {
+            tm.afterCommit(() -> apartmentDAO.getById(apartmentId).
+                    ifPresent(apartment -> write(() -> putApartment(apartment)))
+            );
+        }
+    }
+
+    public void onApartmentsCreated(List<Apartment> apartments) {
+        if (isEnabled()) {
+            tm.afterCommit(() -> write(() -> apartments.forEach(this::putApartment)));
+        }
+    }
+
+    public void onApartmentDeleted(Long apartmentId) {
+        if (isEnabled()) {
+            tm.afterCommit(() -> write(() -> removeApartment(apartmentId)));
+        }
+    }
+
+    public boolean verify(Page<Apartment> expected, Page<Apartment> actual) {
+        List<Long> expectedIds = ids(expected);
+        List<Long> actualIds = ids(actual);
+        boolean matches = expectedIds.equals(actualIds) &&
+                expected.getTotalElements() == actual.getTotalElements() &&
+                expected.hasNext() == actual.hasNext() &&
+                Objects.equals(expected.getNextCursor(), actual.getNextCursor());
+        if (!matches) {
+            mismatches.increment();
+            logger.warn(String.format(
+                    "Availability index diverged from database, expected %s (total: %d), got %s (total: %d).",
+                    expectedIds, expected.getTotalElements(), actualIds, actual.getTotalElements()
+            ));
+        }
+        return matches;
+    }
+
+    public long getMismatchCount() {
+        return mismatches.sum();
+    }
+
+    public int getApartmentCount() {
+        lock.readLock().lock();
+        try {
+            return (int) slots.values().stream().filter(slot -> slot.apartment != null).count();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getBookingCount() {
+        lock.readLock().lock();
+        try {
+            return bookings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Page<Apartment> find(Pageable pageable,
+                                 LocalDateTime from,
+                                 LocalDateTime to,
+                                 Predicate<Apartment> filter) {
+        long start = toMicros(from);
+        long end = toMicros(to);
+        int pageSize = pageable.getPageSize();
+        List<Apartment> content = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Cursor cursor = pageable.getCursor();
+            if (cursor != null) {
+                Slot last = null;
+                boolean hasNext = false;
+                for (Slot slot : slots.tailMap(cursor.getLastId(), false).values()) {
+                    if (!slot.isFree(filter, start, end)) {
+                        continue;
+                    }
+                    if (content.size() == pageSize) {
+                        hasNext = true;
+                        break;
+                    }
+                    content.add(copy(slot.apartment));
+                    last = slot;
+                }
+                return new DefaultPage<>(content, pageable, hasNext ? Cursor.after(last.apartment.getId()) : null);
+            }
+
+            boolean counting = pageable.getCountMode() != CountMode.NONE;
+            long offset = pageable.getOffset();
+            long matched = 0;
+            for (Slot slot : slots.values()) {
+                if (!slot.isFree(filter, start, end)) {
+                    continue;
+                }
+                if (matched >= offset && content.size() < pageSize) {
+                    content.add(copy(slot.apartment));
+                } else if (matched >= offset && !counting) {
+                    return new DefaultPage<>(content, pageable, true);
+                }
+                matched++;
+            }
+            if (!counting) {
+                return new DefaultPage<>(content, pageable, false);
+            }
+            return new DefaultPage<>(content, matched, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putApartment(Apartment apartment) {
+        slots.computeIfAbsent(apartment.getId(), id -> new Slot()).apartment = copy(apartment);
+    }
+
+    private void removeApartment(Long apartmentId) {
+        slots.remove(apartmentId);
+        bookings.values().removeIf(booking -> apartmentId.equals(booking.getApartmentId()));
+    }
+
+    private void addBooking(Booking booking) {
+        removeBooking(booking.getRequestId());
+        bookings.put(booking.getRequestId(), booking);
+        slots.computeIfAbsent(booking.getApartmentId(), id -> new Slot()).bookings.insert(
+                booking.getRequestId(), toMicros(booking.getFrom()), toMicros(booking.getTo())
+        );
+    }
+
+    private void removeBooking(Long requestId) {
+        Booking booking = bookings.remove(requestId);
+        if (booking == null) {
+            return;
+        }
+        Slot slot = slots.get(booking.getApartmentId());
+        if (slot != null) {
+            slot.bookings.remove(requestId, toMicros(booking.getFrom()));
+        }
+    }
+
+    private static List<Long> ids(Page<Apartment> page) {
+        return page.getContent().stream().
+                map(Apartment::getId).
+                collect(Collectors.toList());
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static Apartment copy(Apartment source) {
+        Apartment apartment = new Apartment();
+        apartment.setId(source.getId());
+        apartment.setName(source.getName());
+        apartment.setRoomCount(source.getRoomCount());
+        apartment.setPrice(source.getPrice());
+        if (source.getType() != null) {
+            ApartmentType type = new ApartmentType();
+            type.setId(source.getType().getId());
+            type.setName(source.getType().getName());
+            apartment.setType(type);
+        }
+        return apartment;
+    }
+
+    private static final class Slot {
+        private final IntervalTree bookings = new IntervalTree();
+        private Apartment apartment;
+
+        boolean isFree(Predicate<Apartment> filter, long start, long end) {
+            return apartment != null && filter.test(apartment) && !bookings.overlaps(start, end);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ua.abond.lab4.service.exception;
+
+public class LoginThrottledException extends ServiceException {
+    public LoginThrottledException() {
+        super();
+    }
+
+    public LoginThrottledException(Throwable cause) {
+        super(cause);
+    }
+}
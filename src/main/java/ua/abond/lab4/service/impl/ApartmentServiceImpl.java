@@ -8,24 +8,48 @@ import ua.abond.lab4.dao.ApartmentDAO;
 import ua.abond.lab4.domain.Apartment;
 import ua.abond.lab4.domain.Request;
 import ua.abond.lab4.service.ApartmentService;
+import ua.abond.lab4.service.availability.AvailabilityIndex;
 import ua.abond.lab4.service.exception.ResourceNotFoundException;
 import ua.abond.lab4.service.exception.ServiceException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 @Component
 public class ApartmentServiceImpl implements ApartmentService {
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
     private final ApartmentDAO apartmentDAO;
+    private final AvailabilityIndex availabilityIndex;
 
     @Inject
-    public ApartmentServiceImpl(ApartmentDAO apartmentDAO) {
+    public ApartmentServiceImpl(ApartmentDAO apartmentDAO, AvailabilityIndex availabilityIndex) {
         this.apartmentDAO = apartmentDAO;
+        this.availabilityIndex = availabilityIndex;
     }
 
     @Override
     public void createApartment(Apartment apartment) {
         apartmentDAO.create(apartment);
+        availabilityIndex.onApartmentSaved(apartment.getId());
+    }
+
+    @Override
+    public int importApartments(Iterator<Apartment> apartments) {
+        int imported = 0;
+        List<Apartment> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        while (apartments.hasNext()) {
+            chunk.add(apartments.next());
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                imported += createAll(chunk);
+                chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            }
+        }
+        return imported + createAll(chunk);
     }
 
     @Override
@@ -38,11 +62,13 @@ public class ApartmentServiceImpl implements ApartmentService {
         toUpdate.setType(apartment.getType());
 
         apartmentDAO.update(apartment);
+        availabilityIndex.onApartmentSaved(apartment.getId());
     }
 
     @Override
     public void deleteApartment(Long id) {
         apartmentDAO.deleteById(id);
+        availabilityIndex.onApartmentDeleted(id);
     }
 
     @Override
@@ -52,12 +78,18 @@ public class ApartmentServiceImpl implements ApartmentService {
 
     @Override
     public Page<Apartment> listFree(Pageable pageable, LocalDateTime from, LocalDateTime to) {
-        return apartmentDAO.listFree(pageable, from, to);
+        return lookup(
+                () -> apartmentDAO.listFree(pageable, from, to),
+                () -> availabilityIndex.listFree(pageable, from, to)
+        );
     }
 
     @Override
     public Page<Apartment> listMostAppropriate(Pageable pageable, Request filter) {
-        return apartmentDAO.list(pageable, filter);
+        return lookup(
+                () -> apartmentDAO.list(pageable, filter),
+                () -> availabilityIndex.listFree(pageable, filter)
+        );
     }
 
     @Override
@@ -65,4 +97,26 @@ public class ApartmentServiceImpl implements ApartmentService {
         return apartmentDAO.getById(id).
                 orElseThrow(ResourceNotFoundException::new);
     }
+
+    private int createAll(List<Apartment> apartments) {
+        if (apartments.isEmpty()) {
+            return 0;
+        }
+        apartmentDAO.createAll(apartments);
+        availabilityIndex.onApartmentsCreated(apartments);
+        return apartments.size();
+    }
+
+    private Page<Apartment> lookup(Supplier<Page<Apartment>> database, Supplier<Page<Apartment>> index) {
+        switch (availabilityIndex.getEngine()) {
+            case MEMORY:
+                return index.get();
+            case VERIFY:
+                Page<Apartment> expected = database.get();
+                availabilityIndex.verify(expected, index.get());
+                return expected;
+            default:
+                return database.get();
+        }
+    }
 }
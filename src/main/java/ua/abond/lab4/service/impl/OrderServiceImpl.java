@@ -2,33 +2,81 @@ package ua.abond.lab4.service.impl;
 
 import ua.abond.lab4.core.annotation.Component;
 import ua.abond.lab4.core.annotation.Inject;
+import ua.abond.lab4.core.annotation.Transactional;
 import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.Pageable;
+import ua.abond.lab4.dao.BookingDAO;
 import ua.abond.lab4.dao.OrderDAO;
 import ua.abond.lab4.dao.RequestDAO;
+import ua.abond.lab4.domain.Booking;
 import ua.abond.lab4.domain.Order;
+import ua.abond.lab4.domain.Request;
 import ua.abond.lab4.service.OrderService;
+import ua.abond.lab4.service.availability.AvailabilityIndex;
 import ua.abond.lab4.service.exception.OrderAlreadyPayedException;
 import ua.abond.lab4.service.exception.ResourceNotFoundException;
 import ua.abond.lab4.service.exception.ServiceException;
 import ua.abond.lab4.web.dto.ConfirmRequestDTO;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
 @Component
 public class OrderServiceImpl implements OrderService {
     private final OrderDAO orderDAO;
     private final RequestDAO requestDAO;
+    private final BookingDAO bookingDAO;
+    private final AvailabilityIndex availabilityIndex;
 
     @Inject
-    public OrderServiceImpl(OrderDAO orderDAO, RequestDAO requestDAO) {
+    public OrderServiceImpl(OrderDAO orderDAO, RequestDAO requestDAO,
+                            BookingDAO bookingDAO, AvailabilityIndex availabilityIndex) {
         this.orderDAO = orderDAO;
         this.requestDAO = requestDAO;
+        this.bookingDAO = bookingDAO;
+        this.availabilityIndex = availabilityIndex;
     }
 
     @Override
+    @Transactional
     public void deleteOrder(Long id) throws ServiceException {
         Order byId = getById(id);
+        bookingDAO.deleteByRequestId(byId.getRequest().getId());
         requestDAO.deleteById(byId.getRequest().getId());
         orderDAO.deleteById(id);
+        availabilityIndex.onReleased(byId.getRequest().getId());
+    }
+
+    @Override
+    @Transactional
+    public void updateOrders(List<Order> orders) throws ServiceException {
+        List<Long> released = new ArrayList<>(orders.size());
+        List<Booking> booked = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            Objects.requireNonNull(order.getId());
+            released.add(getById(order.getId()).getRequest().getId());
+            Request request = requestDAO.getById(order.getRequest().getId()).
+                    orElseThrow(ResourceNotFoundException::new);
+            booked.add(new Booking(order, request));
+        }
+        orderDAO.updateAll(orders);
+        released.forEach(availabilityIndex::onReleased);
+        booked.forEach(availabilityIndex::onBooked);
+    }
+
+    @Override
+    @Transactional
+    public void deleteOrders(List<Long> ids) throws ServiceException {
+        List<Long> requestIds = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            requestIds.add(getById(id).getRequest().getId());
+        }
+        orderDAO.deleteAllById(ids);
+        requestDAO.deleteAllById(requestIds);
+        requestIds.forEach(availabilityIndex::onReleased);
     }
 
     @Override
@@ -63,4 +111,9 @@ public class OrderServiceImpl implements OrderService {
     public Page<Order> getUserOrders(Pageable pageable, Long id) {
         return orderDAO.getUserOrders(pageable, id);
     }
+
+    @Override
+    public long export(LocalDateTime from, LocalDateTime to, Consumer<? super Order> action) {
+        return orderDAO.forEachBetween(from, to, action);
+    }
 }
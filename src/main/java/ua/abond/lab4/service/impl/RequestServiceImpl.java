@@ -7,10 +7,12 @@ import ua.abond.lab4.core.annotation.Transactional;
 import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.dao.ApartmentDAO;
+import ua.abond.lab4.dao.BookingDAO;
 import ua.abond.lab4.dao.OrderDAO;
 import ua.abond.lab4.dao.RequestDAO;
 import ua.abond.lab4.domain.*;
 import ua.abond.lab4.service.RequestService;
+import ua.abond.lab4.service.availability.AvailabilityIndex;
 import ua.abond.lab4.service.exception.RejectRequestException;
 import ua.abond.lab4.service.exception.RequestConfirmException;
 import ua.abond.lab4.service.exception.ResourceNotFoundException;
@@ -19,7 +21,11 @@ import ua.abond.lab4.web.dto.ConfirmRequestDTO;
 import ua.abond.lab4.web.dto.RequestDTO;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Component
 public class RequestServiceImpl implements RequestService {
@@ -28,12 +34,18 @@ public class RequestServiceImpl implements RequestService {
     private final OrderDAO orderDAO;
     private final RequestDAO requestDAO;
     private final ApartmentDAO apartmentDAO;
+    private final BookingDAO bookingDAO;
+    private final AvailabilityIndex availabilityIndex;
 
     @Inject
-    public RequestServiceImpl(OrderDAO orderDAO, RequestDAO requestDAO, ApartmentDAO apartmentDAO) {
+    public RequestServiceImpl(OrderDAO orderDAO, RequestDAO requestDAO,
+                              ApartmentDAO apartmentDAO, BookingDAO bookingDAO,
+                              AvailabilityIndex availabilityIndex) {
         this.orderDAO = orderDAO;
         this.requestDAO = requestDAO;
         this.apartmentDAO = apartmentDAO;
+        this.bookingDAO = bookingDAO;
+        this.availabilityIndex = availabilityIndex;
     }
 
     @Override
@@ -66,21 +78,39 @@ public class RequestServiceImpl implements RequestService {
         Request request = getById(requestDTO.getRequestId());
         Apartment apartment = apartmentDAO.getById(requestDTO.getApartmentId()).
                 orElseThrow(ResourceNotFoundException::new);
-
-        if (RequestStatus.CREATED != request.getStatus()) {
-            throw new RequestConfirmException(String.format("Request with id %d is already confirmed or rejected",
-                    request.getId()
-            ));
-        }
-
-        request.setStatus(RequestStatus.CONFIRMED);
+        confirm(request, apartment, requestDTO);
         requestDAO.update(request);
 
-        long dayCount = ChronoUnit.DAYS.between(request.getFrom(), request.getTo());
-        BigDecimal price = apartment.getPrice().multiply(new BigDecimal(dayCount));
-        requestDTO.setPrice(price);
+        Order order = new Order.Builder().buildFrom(requestDTO);
+        orderDAO.create(order);
+        Booking booking = new Booking(order, request);
+        bookingDAO.create(booking);
+        availabilityIndex.onBooked(booking);
+    }
 
-        orderDAO.create(new Order.Builder().buildFrom(requestDTO));
+    @Override
+    @Transactional
+    public void confirmRequests(List<ConfirmRequestDTO> requestDTOs)
+            throws ServiceException {
+        logger.debug(String.format("Confirming %d requests", requestDTOs.size()));
+        List<Request> requests = new ArrayList<>(requestDTOs.size());
+        List<Order> orders = new ArrayList<>(requestDTOs.size());
+        for (ConfirmRequestDTO requestDTO : requestDTOs) {
+            Request request = getById(requestDTO.getRequestId());
+            Apartment apartment = apartmentDAO.getById(requestDTO.getApartmentId()).
+                    orElseThrow(ResourceNotFoundException::new);
+            confirm(request, apartment, requestDTO);
+            requests.add(request);
+            orders.add(new Order.Builder().buildFrom(requestDTO));
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+        requestDAO.updateAll(requests);
+        orderDAO.createAll(orders);
+        for (int i = 0; i < orders.size(); i++) {
+            availabilityIndex.onBooked(new Booking(orders.get(i), requests.get(i)));
+        }
     }
 
     @Override
@@ -116,7 +146,41 @@ public class RequestServiceImpl implements RequestService {
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        bookingDAO.deleteByRequestId(id);
         requestDAO.deleteById(id);
+        availabilityIndex.onReleased(id);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(List<Long> ids) {
+        requestDAO.deleteAllById(ids);
+        ids.forEach(availabilityIndex::onReleased);
+    }
+
+    private void confirm(Request request, Apartment apartment, ConfirmRequestDTO requestDTO)
+            throws ServiceException {
+        if (RequestStatus.CREATED != request.getStatus()) {
+            throw new RequestConfirmException(String.format("Request with id %d is already confirmed or rejected",
+                    request.getId()
+            ));
+        }
+        if (bookingDAO.isBooked(apartment.getId(), request.getFrom(), request.getTo())) {
+            throw new RequestConfirmException(String.format("Apartment with id %d is already booked for these dates",
+                    apartment.getId()
+            ));
+        }
+        request.setStatus(RequestStatus.CONFIRMED);
+
+        long dayCount = ChronoUnit.DAYS.between(request.getFrom(), request.getTo());
+        BigDecimal price = apartment.getPrice().multiply(new BigDecimal(dayCount));
+        requestDTO.setPrice(price);
+    }
+
+    @Override
+    public long export(LocalDateTime from, LocalDateTime to, Consumer<? super Request> action) {
+        return requestDAO.forEachBetween(from, to, action);
     }
 }
@@ -8,9 +8,12 @@ import ua.abond.lab4.dao.AuthorityDAO;
 import ua.abond.lab4.dao.UserDAO;
 import ua.abond.lab4.domain.Authority;
 import ua.abond.lab4.domain.User;
+import ua.abond.lab4.security.LoginThrottle;
 import ua.abond.lab4.security.PasswordEncoder;
+import ua.abond.lab4.security.PasswordEncoderBusyException;
 import ua.abond.lab4.service.UserService;
 import ua.abond.lab4.service.exception.LoginIsAlreadyTakenException;
+import ua.abond.lab4.service.exception.LoginThrottledException;
 import ua.abond.lab4.service.exception.ResourceNotFoundException;
 import ua.abond.lab4.service.exception.ServiceException;
 import ua.abond.lab4.service.exception.UserOldPasswordMismatchException;
@@ -18,6 +21,7 @@ import ua.abond.lab4.web.dto.ChangePasswordDTO;
 import ua.abond.lab4.web.dto.LoginDTO;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class UserServiceImpl implements UserService {
@@ -28,6 +32,9 @@ public class UserServiceImpl implements UserService {
 
     @Inject
     private PasswordEncoder passwordEncoder;
+    @Inject
+    private LoginThrottle loginThrottle;
+    private volatile String unknownUserHash;
 
     @Inject
     public UserServiceImpl(UserDAO userDAO, AuthorityDAO authorityDAO) {
@@ -47,10 +54,22 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public boolean isAuthorized(LoginDTO login) {
-        return findByLogin(login.getLogin()).
-                map(u -> passwordEncoder.matches(login.getPassword(), u.getPassword())).
-                orElse(false);
+    public boolean isAuthorized(LoginDTO login) throws ServiceException {
+        if (!loginThrottle.tryAcquire(login.getLogin(), login.getRemoteAddress())) {
+            throw new LoginThrottledException();
+        }
+        try {
+            User user = findByLogin(login.getLogin()).orElse(null);
+            String hash = user != null ? user.getPassword() : getUnknownUserHash();
+            boolean matches = passwordEncoder.matches(login.getPassword(), hash) && user != null;
+            if (matches && passwordEncoder.needsRehash(hash)) {
+                user.setPassword(passwordEncoder.encode(login.getPassword()));
+                userDAO.update(user);
+            }
+            return matches;
+        } catch (PasswordEncoderBusyException e) {
+            throw new LoginThrottledException(e);
+        }
     }
 
     @Override
@@ -99,6 +118,15 @@ public class UserServiceImpl implements UserService {
                 }).orElseThrow(ResourceNotFoundException::new);
     }
 
+    private String getUnknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+
     private void createUserWithAuth(User user, String authName)
             throws ServiceException {
         User existing = userDAO.getByLogin(user.getLogin()).orElse(null);
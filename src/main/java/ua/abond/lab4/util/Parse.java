@@ -1,6 +1,7 @@
 package ua.abond.lab4.util;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -42,6 +43,11 @@ public final class Parse {
         return result;
     }
 
+    public static long longValue(String str, long defaultValue) {
+        Long result = longObject(str);
+        return result == null ? defaultValue : result;
+    }
+
     public static <T extends Enum<T>> T enumeration(Class<T> type, String str, T defaultValue) {
         T result;
         try {
@@ -81,4 +87,14 @@ public final class Parse {
         }
         return result;
     }
+
+    public static LocalDate localDate(String str, DateTimeFormatter formatter) {
+        LocalDate result = null;
+        try {
+            result = LocalDate.parse(str, formatter);
+        } catch (DateTimeParseException | NullPointerException e) {
+            result = null;
+        }
+        return result;
+    }
 }
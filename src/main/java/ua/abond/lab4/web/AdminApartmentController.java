@@ -12,10 +12,20 @@ import ua.abond.lab4.domain.Apartment;
 import ua.abond.lab4.service.ApartmentService;
 import ua.abond.lab4.service.RequestMapperService;
 import ua.abond.lab4.service.ValidationService;
+import ua.abond.lab4.service.exception.ValidationException;
 import ua.abond.lab4.util.Parse;
+import ua.abond.lab4.web.export.ExportFormat;
+import ua.abond.lab4.web.export.ExportWriter;
+import ua.abond.lab4.web.imports.ApartmentImport;
+import ua.abond.lab4.web.imports.CsvFormatException;
+import ua.abond.lab4.web.imports.CsvReader;
+import ua.abond.lab4.web.imports.ImportError;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
 
 @Controller
 @RequestMapping("/admin")
@@ -24,6 +34,7 @@ public class AdminApartmentController {
     public static final String APARTMENTS_VIEW = "/WEB-INF/pages/admin/apartments.jsp";
     public static final String APARTMENT_VIEW = "/WEB-INF/pages/admin/apartment.jsp";
     public static final String APARTMENT_CREATE_VIEW = "/WEB-INF/pages/admin/create-apartment.jsp";
+    private static final String[] IMPORT_ERROR_COLUMNS = {"line", "error"};
 
     @Inject
     private RequestMapperService mapperService;
@@ -44,6 +55,45 @@ public class AdminApartmentController {
         req.getRequestDispatcher(APARTMENTS_VIEW).forward(req, resp);
     }
 
+    @RequestMapping(value = "/apartments/import", method = RequestMethod.POST)
+    public void importApartments(HttpServletRequest req, HttpServletResponse resp)
+            throws Exception {
+        ExportFormat format = Parse.enumeration(ExportFormat.class, req.getParameter("format"), ExportFormat.CSV);
+        int imported = 0;
+        List<ImportError> errors;
+        try {
+            ApartmentImport apartments = new ApartmentImport(
+                    new CsvReader(req.getReader()),
+                    apartmentTypeDAO.list(),
+                    validationService::tryValidate
+            );
+            imported = apartmentService.importApartments(apartments);
+            errors = apartments.getErrors();
+        } catch (ValidationException e) {
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            errors = Collections.singletonList(new ImportError(1, e.getErrors()));
+        } catch (UncheckedIOException e) {
+            if (!(e.getCause() instanceof CsvFormatException)) {
+                throw e.getCause();
+            }
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            int line = ((CsvFormatException) e.getCause()).getLine();
+            errors = Collections.singletonList(
+                    new ImportError(line, Collections.singletonList("apartment.import.format"))
+            );
+        }
+
+        resp.setHeader("X-Imported-Rows", String.valueOf(imported));
+        resp.setContentType(format.getContentType());
+        ExportWriter writer = format.newWriter(resp.getWriter(), IMPORT_ERROR_COLUMNS);
+        for (ImportError error : errors) {
+            for (String message : error.getErrors()) {
+                writer.row(error.getLine(), message);
+            }
+        }
+        writer.finish();
+    }
+
     @RequestMapping("/apartment/new")
     public void getApartmentCreatePage(HttpServletRequest req, HttpServletResponse resp)
             throws Exception {
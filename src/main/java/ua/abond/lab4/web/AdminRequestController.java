@@ -45,7 +45,7 @@ public class AdminRequestController {
         resp.sendRedirect(REQUESTS_MAPPING);
     }
 
-    @RequestMapping("/request")
+    @RequestMapping(value = "/request", async = true)
     public void viewRequest(HttpServletRequest req, HttpServletResponse resp)
             throws Exception {
         Long id = Parse.longObject(req.getParameter("id"));
@@ -19,6 +19,7 @@ import java.util.ResourceBundle;
 @ExceptionController
 public class AppExceptionController {
     private static final String ERRORS_ATTR = "errors";
+    private static final int TOO_MANY_REQUESTS = 429;
 
     @ExceptionHandler(ValidationException.class)
     public HandlerMethodInfo handleValidationException(ExceptionHandlerData data) {
@@ -55,6 +56,14 @@ public class AppExceptionController {
         return getForward(data);
     }
 
+    @ExceptionHandler(LoginThrottledException.class)
+    public HandlerMethodInfo handleLoginThrottledException(ExceptionHandlerData data)
+            throws Exception {
+        data.getResponse().setStatus(TOO_MANY_REQUESTS);
+        setError(data.getRequest(), "login.error.throttled");
+        return getForward(data);
+    }
+
     @ExceptionHandler(OrderAlreadyPayedException.class)
     public HandlerMethodInfo handleOrderAlreadyPayedException(ExceptionHandlerData data)
             throws Exception {
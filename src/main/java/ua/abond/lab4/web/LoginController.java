@@ -11,10 +11,10 @@ import ua.abond.lab4.service.UserService;
 import ua.abond.lab4.service.ValidationService;
 import ua.abond.lab4.web.dto.LoginDTO;
 import ua.abond.lab4.web.dto.UserSessionDTO;
+import ua.abond.lab4.web.session.RequestPrincipal;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 import java.util.Collections;
 
 @Controller
@@ -54,18 +54,12 @@ public class LoginController {
             resp.sendRedirect(HOME_MAPPING);
             return;
         }
-        HttpSession session = req.getSession(false);
-        if (session != null) {
-            session.invalidate();
-        }
-
         LoginDTO loginDTO = mapperService.map(req, LoginDTO.class);
         validationService.validate(loginDTO);
 
         if (userService.isAuthorized(loginDTO)) {
-            session = req.getSession();
             User byLogin = userService.findByLogin(loginDTO.getLogin()).orElse(null);
-            session.setAttribute("user", new UserSessionDTO(byLogin));
+            RequestPrincipal.login(req, resp, new UserSessionDTO(byLogin));
             resp.sendRedirect(HOME_MAPPING);
         } else {
             req.setAttribute("user", loginDTO);
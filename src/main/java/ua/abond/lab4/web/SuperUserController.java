@@ -1,6 +1,8 @@
 package ua.abond.lab4.web;
 
 import ua.abond.lab4.core.annotation.Inject;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.PrometheusWriter;
 import ua.abond.lab4.core.web.annotation.Controller;
 import ua.abond.lab4.core.web.annotation.OnException;
 import ua.abond.lab4.core.web.annotation.RequestMapping;
@@ -12,9 +14,15 @@ import ua.abond.lab4.domain.Request;
 import ua.abond.lab4.domain.User;
 import ua.abond.lab4.service.*;
 import ua.abond.lab4.util.Parse;
+import ua.abond.lab4.web.export.ExportFormat;
+import ua.abond.lab4.web.export.ExportWriter;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 
 @Controller
 @RequestMapping("/supersu")
@@ -24,6 +32,15 @@ public class SuperUserController {
     public static final String REQUESTS_VIEW = "/WEB-INF/pages/supersu/requests.jsp";
     public static final String ADMINS_VIEW = "/WEB-INF/pages/supersu/admins.jsp";
     public static final String CREATE_ADMIN_VIEW = "/WEB-INF/pages/supersu/create-admin.jsp";
+    private static final LocalDate EXPORT_FROM = LocalDate.of(1970, 1, 1);
+    private static final LocalDate EXPORT_TO = LocalDate.of(9999, 12, 30);
+    private static final String[] ORDER_COLUMNS = {
+            "id", "request_id", "apartment_id", "apartment_name", "room_count", "apartment_type",
+            "from", "to", "price", "payed"
+    };
+    private static final String[] REQUEST_COLUMNS = {
+            "id", "user_id", "room_count", "apartment_type", "from", "to", "status", "status_comment"
+    };
 
     @Inject
     private RequestMapperService mapperService;
@@ -35,6 +52,8 @@ public class SuperUserController {
     private OrderService orderService;
     @Inject
     private UserService userService;
+    @Inject
+    private MetricRegistry metricRegistry;
 
     @RequestMapping("/orders")
     public void viewOrders(HttpServletRequest req, HttpServletResponse resp)
@@ -47,6 +66,35 @@ public class SuperUserController {
         req.getRequestDispatcher(ORDERS_VIEW).forward(req, resp);
     }
 
+    @RequestMapping("/orders/export")
+    public void exportOrders(HttpServletRequest req, HttpServletResponse resp)
+            throws Exception {
+        LocalDate from = parseDate(req.getParameter("from"), EXPORT_FROM);
+        LocalDate to = parseDate(req.getParameter("to"), EXPORT_TO);
+        if (from == null || to == null) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        ExportWriter writer = startExport(req, resp, "orders", ORDER_COLUMNS);
+        try {
+            orderService.export(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), order -> writer.row(
+                    order.getId(),
+                    order.getRequest().getId(),
+                    order.getApartment().getId(),
+                    order.getApartment().getName(),
+                    order.getApartment().getRoomCount(),
+                    order.getApartment().getType().getName(),
+                    order.getRequest().getFrom(),
+                    order.getRequest().getTo(),
+                    order.getPrice(),
+                    order.isPayed()
+            ));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
     @OnException("/supersu/orders")
     @RequestMapping(value = "/order/delete", method = RequestMethod.POST)
     public void deleteOrder(HttpServletRequest req, HttpServletResponse resp)
@@ -68,6 +116,33 @@ public class SuperUserController {
         req.getRequestDispatcher(REQUESTS_VIEW).forward(req, resp);
     }
 
+    @RequestMapping("/requests/export")
+    public void exportRequests(HttpServletRequest req, HttpServletResponse resp)
+            throws Exception {
+        LocalDate from = parseDate(req.getParameter("from"), EXPORT_FROM);
+        LocalDate to = parseDate(req.getParameter("to"), EXPORT_TO);
+        if (from == null || to == null) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        ExportWriter writer = startExport(req, resp, "requests", REQUEST_COLUMNS);
+        try {
+            requestService.export(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), request -> writer.row(
+                    request.getId(),
+                    request.getUser().getId(),
+                    request.getLookup().getRoomCount(),
+                    request.getLookup().getType().getName(),
+                    request.getFrom(),
+                    request.getTo(),
+                    request.getStatus(),
+                    request.getStatusComment()
+            ));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
     @OnException("/supersu/requests")
     @RequestMapping(value = "/request/delete", method = RequestMethod.POST)
     public void deleteRequest(HttpServletRequest req, HttpServletResponse resp)
@@ -116,5 +191,27 @@ public class SuperUserController {
         userService.deleteAdminById(id);
         resp.sendRedirect(ADMINS_MAPPING);
     }
-}
 
+    @RequestMapping("/metrics")
+    public void viewMetrics(HttpServletRequest req, HttpServletResponse resp)
+            throws Exception {
+        resp.setContentType(PrometheusWriter.CONTENT_TYPE);
+        PrometheusWriter.write(metricRegistry, resp.getWriter());
+    }
+
+    private ExportWriter startExport(HttpServletRequest req, HttpServletResponse resp,
+                                     String name, String[] columns) throws IOException {
+        ExportFormat format = Parse.enumeration(ExportFormat.class, req.getParameter("format"), ExportFormat.CSV);
+        resp.setContentType(format.getContentType());
+        resp.setHeader("Content-Disposition",
+                String.format("attachment; filename=\"%s.%s\"", name, format.getExtension()));
+        return format.newWriter(resp.getWriter(), columns);
+    }
+
+    private static LocalDate parseDate(String str, LocalDate defaultValue) {
+        if (str == null || str.isEmpty()) {
+            return defaultValue;
+        }
+        return Parse.localDate(str, DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+}
@@ -21,6 +21,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -138,6 +139,9 @@ public class UserController {
 
         if (Objects.isNull(from) || Objects.isNull(to)) {
             req.setAttribute("page", apartmentService.list(pageable));
+        } else if (from.isAfter(to)) {
+            req.setAttribute("errors", Collections.singletonList("request.validation.from.after.to"));
+            req.setAttribute("page", apartmentService.list(pageable));
         } else {
             req.setAttribute("page", apartmentService.listFree(pageable, from, to));
         }
@@ -3,6 +3,7 @@ package ua.abond.lab4.web.dto;
 public class LoginDTO {
     private String login;
     private String password;
+    private String remoteAddress;
 
     public LoginDTO() {
     }
@@ -27,4 +28,12 @@ public class LoginDTO {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public void setRemoteAddress(String remoteAddress) {
+        this.remoteAddress = remoteAddress;
+    }
 }
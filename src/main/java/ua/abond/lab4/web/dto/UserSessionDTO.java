@@ -2,27 +2,28 @@ package ua.abond.lab4.web.dto;
 
 import ua.abond.lab4.domain.Authority;
 import ua.abond.lab4.domain.User;
+import ua.abond.lab4.web.session.Role;
 
 import java.io.Serializable;
 
 public class UserSessionDTO implements Serializable {
     private final Long id;
     private final String login;
-    private final String password;
     private final Authority authority;
+    private final int roles;
 
     public UserSessionDTO(User user) {
         this.id = user.getId();
         this.login = user.getLogin();
-        this.password = user.getPassword();
         this.authority = user.getAuthority();
+        this.roles = Role.maskOf(authority);
     }
 
-    public UserSessionDTO(Long id, String login, String password, Authority authority) {
+    public UserSessionDTO(Long id, String login, Authority authority) {
         this.id = id;
         this.login = login;
-        this.password = password;
         this.authority = authority;
+        this.roles = Role.maskOf(authority);
     }
 
     public Long getId() {
@@ -33,11 +34,15 @@ public class UserSessionDTO implements Serializable {
         return login;
     }
 
-    public String getPassword() {
-        return password;
-    }
-
     public Authority getAuthority() {
         return authority;
     }
+
+    public int getRoles() {
+        return roles;
+    }
+
+    public boolean hasAnyRole(int mask) {
+        return (roles & mask) != 0;
+    }
 }
@@ -0,0 +1,59 @@
+package ua.abond.lab4.web.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class CsvExportWriter extends ExportWriter {
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    public CsvExportWriter(Writer out, String... columns) {
+        super(out, columns);
+    }
+
+    @Override
+    protected void writeHeader() throws IOException {
+        writeLine(columns);
+    }
+
+    @Override
+    protected void writeRow(Object[] values, long index) throws IOException {
+        writeLine(values);
+    }
+
+    @Override
+    protected void writeFooter(long rowCount) {
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeValue(values[i].toString());
+            }
+        }
+        out.write(LINE_SEPARATOR);
+    }
+
+    private void writeValue(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
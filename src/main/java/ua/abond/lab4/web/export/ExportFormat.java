@@ -0,0 +1,28 @@
+package ua.abond.lab4.web.export;
+
+import java.io.Writer;
+
+public enum ExportFormat {
+    CSV("text/csv; charset=UTF-8", "csv"),
+    JSON("application/json; charset=UTF-8", "json");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ExportWriter newWriter(Writer out, String... columns) {
+        return this == JSON ? new JsonExportWriter(out, columns) : new CsvExportWriter(out, columns);
+    }
+}
@@ -0,0 +1,55 @@
+package ua.abond.lab4.web.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+
+public abstract class ExportWriter {
+    protected final Writer out;
+    protected final String[] columns;
+    private boolean started;
+    private long rows;
+
+    protected ExportWriter(Writer out, String... columns) {
+        Objects.requireNonNull(out);
+        this.out = out;
+        this.columns = columns.clone();
+    }
+
+    public void row(Object... values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(
+                    String.format("Expected %d values, got %d.", columns.length, values.length)
+            );
+        }
+        try {
+            if (!started) {
+                writeHeader();
+                started = true;
+            }
+            writeRow(values, rows++);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+        if (!started) {
+            writeHeader();
+            started = true;
+        }
+        writeFooter(rows);
+        out.flush();
+    }
+
+    public long getRowCount() {
+        return rows;
+    }
+
+    protected abstract void writeHeader() throws IOException;
+
+    protected abstract void writeRow(Object[] values, long index) throws IOException;
+
+    protected abstract void writeFooter(long rowCount) throws IOException;
+}
@@ -0,0 +1,82 @@
+package ua.abond.lab4.web.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+public class JsonExportWriter extends ExportWriter {
+
+    public JsonExportWriter(Writer out, String... columns) {
+        super(out, columns);
+    }
+
+    @Override
+    protected void writeHeader() throws IOException {
+        out.write('[');
+    }
+
+    @Override
+    protected void writeRow(Object[] values, long index) throws IOException {
+        if (index > 0) {
+            out.write(',');
+        }
+        out.write("\n{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeString(columns[i]);
+            out.write(':');
+            writeValue(values[i]);
+        }
+        out.write('}');
+    }
+
+    @Override
+    protected void writeFooter(long rowCount) throws IOException {
+        out.write(rowCount > 0 ? "\n]\n" : "]\n");
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+            out.write(value.toString());
+        } else if (value instanceof BigDecimal) {
+            out.write(((BigDecimal) value).toPlainString());
+        } else {
+            writeString(value.toString());
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
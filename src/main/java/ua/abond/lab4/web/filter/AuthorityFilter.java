@@ -2,7 +2,8 @@ package ua.abond.lab4.web.filter;
 
 import org.apache.log4j.Logger;
 import ua.abond.lab4.web.dto.UserSessionDTO;
-import ua.abond.lab4.web.mapper.UserSessionDTORequestMapper;
+import ua.abond.lab4.web.session.RequestPrincipal;
+import ua.abond.lab4.web.session.Role;
 
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -16,32 +17,28 @@ public class AuthorityFilter extends HttpFilter {
     private static final Logger logger = Logger.getLogger(AuthorityFilter.class);
     public static final String AUTH_PARAM = "authority";
 
-    private String authority;
+    private int roles;
 
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
-        authority = filterConfig.getInitParameter(AUTH_PARAM);
+        String authority = filterConfig.getInitParameter(AUTH_PARAM);
         Objects.requireNonNull(authority, "Authority parameter was not specified.");
+        try {
+            roles = Role.parse(authority);
+        } catch (IllegalArgumentException e) {
+            throw new ServletException(e.getMessage(), e);
+        }
     }
 
     @Override
     protected void doHttpFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        final String auth = authority;
-
-        UserSessionDTO user = new UserSessionDTORequestMapper().map(request);
-        if (isAuthorized(user, auth)) {
+        UserSessionDTO user = RequestPrincipal.resolve(request);
+        if (user != null && user.hasAnyRole(roles)) {
             chain.doFilter(request, response);
         } else {
             logger.debug("Unauthorized access.");
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
         }
     }
-
-    private boolean isAuthorized(UserSessionDTO user, String auth) {
-        return user != null
-                && user.getAuthority() != null
-                && user.getAuthority().getName() != null
-                && auth.equalsIgnoreCase(user.getAuthority().getName());
-    }
 }
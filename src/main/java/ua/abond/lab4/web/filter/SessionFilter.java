@@ -0,0 +1,75 @@
+package ua.abond.lab4.web.filter;
+
+import org.apache.log4j.Logger;
+import ua.abond.lab4.web.session.CookieSessionStore;
+import ua.abond.lab4.web.session.HttpSessionStore;
+import ua.abond.lab4.web.session.RequestPrincipal;
+import ua.abond.lab4.web.session.SessionCookieCodec;
+import ua.abond.lab4.web.session.SessionStore;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class SessionFilter extends HttpFilter {
+    private static final Logger logger = Logger.getLogger(SessionFilter.class);
+    public static final String STORE_PARAM = "store";
+    public static final String SECRET_PARAM = "secret";
+    public static final String MAX_AGE_PARAM = "maxAge";
+    static final String SECRET_ENV = "SESSION_SECRET";
+    private static final int DEFAULT_MAX_AGE = 30 * 60;
+
+    private SessionStore store = HttpSessionStore.INSTANCE;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        String type = filterConfig.getInitParameter(STORE_PARAM);
+        if (type == null || "http".equalsIgnoreCase(type)) {
+            store = HttpSessionStore.INSTANCE;
+        } else if ("cookie".equalsIgnoreCase(type)) {
+            store = new CookieSessionStore(new SessionCookieCodec(getSecret(filterConfig)), getMaxAge(filterConfig));
+        } else {
+            throw new ServletException("Unknown session store '" + type + "'.");
+        }
+        logger.debug("Using " + store.getClass().getSimpleName() + " for user sessions.");
+    }
+
+    @Override
+    protected void doHttpFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        request.setAttribute(SessionStore.STORE_ATTR, store);
+        RequestPrincipal.resolve(request);
+        chain.doFilter(request, response);
+    }
+
+    SessionStore getStore() {
+        return store;
+    }
+
+    private static byte[] getSecret(FilterConfig filterConfig) throws ServletException {
+        String secret = System.getenv(SECRET_ENV);
+        if (secret == null || secret.isEmpty()) {
+            secret = filterConfig.getInitParameter(SECRET_PARAM);
+        }
+        if (secret == null || secret.isEmpty()) {
+            throw new ServletException("Cookie sessions need a secret, set " + SECRET_ENV + ".");
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int getMaxAge(FilterConfig filterConfig) throws ServletException {
+        String maxAge = filterConfig.getInitParameter(MAX_AGE_PARAM);
+        if (maxAge == null) {
+            return DEFAULT_MAX_AGE;
+        }
+        try {
+            return Integer.parseInt(maxAge.trim());
+        } catch (NumberFormatException e) {
+            throw new ServletException("Session max age should be a number of seconds.", e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ua.abond.lab4.web.imports;
+
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.service.exception.ValidationException;
+import ua.abond.lab4.util.Parse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+public class ApartmentImport implements Iterator<Apartment> {
+    public static final String[] COLUMNS = {"name", "roomCount", "type", "price"};
+
+    private final CsvReader reader;
+    private final Map<String, ApartmentType> types;
+    private final Function<Apartment, List<String>> validator;
+    private final int[] indexes = new int[COLUMNS.length];
+    private final int width;
+    private final List<ImportError> errors = new ArrayList<>();
+    private Apartment next;
+
+    public ApartmentImport(CsvReader reader,
+                           Collection<ApartmentType> types,
+                           Function<Apartment, List<String>> validator)
+            throws IOException, ValidationException {
+        Objects.requireNonNull(reader);
+        Objects.requireNonNull(types);
+        Objects.requireNonNull(validator);
+        this.reader = reader;
+        this.validator = validator;
+        this.types = new HashMap<>();
+        for (ApartmentType type : types) {
+            this.types.put(normalize(type.getName()), type);
+        }
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ValidationException(Collections.singletonList("apartment.import.header"));
+        }
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+        for (int i = 0; i < COLUMNS.length; i++) {
+            indexes[i] = header.indexOf(COLUMNS[i]);
+            if (indexes[i] < 0) {
+                throw new ValidationException(Collections.singletonList("apartment.import.header"));
+            }
+        }
+        this.width = header.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            List<String> record = read();
+            if (record == null) {
+                return false;
+            }
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            if (record.size() != width) {
+                errors.add(new ImportError(reader.getLine(), Collections.singletonList("apartment.import.columns")));
+                continue;
+            }
+            Apartment apartment = map(record);
+            List<String> rowErrors = validator.apply(apartment);
+            if (rowErrors == null || rowErrors.isEmpty()) {
+                next = apartment;
+            } else {
+                errors.add(new ImportError(reader.getLine(), rowErrors));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Apartment next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Apartment result = next;
+        next = null;
+        return result;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    private List<String> read() {
+        try {
+            return reader.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Apartment map(List<String> record) {
+        Apartment apartment = new Apartment();
+        apartment.setName(record.get(indexes[0]).trim());
+        apartment.setRoomCount(Parse.intObject(record.get(indexes[1]).trim(), 0));
+        apartment.setType(types.get(normalize(record.get(indexes[2]))));
+        apartment.setPrice(Parse.bigDecimal(record.get(indexes[3]).trim()));
+        return apartment;
+    }
+
+    private static String normalize(String typeName) {
+        return typeName == null ? null : typeName.trim().toLowerCase(Locale.ROOT);
+    }
+}
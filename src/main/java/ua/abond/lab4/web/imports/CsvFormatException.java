@@ -0,0 +1,16 @@
+package ua.abond.lab4.web.imports;
+
+import java.io.IOException;
+
+public class CsvFormatException extends IOException {
+    private final int line;
+
+    public CsvFormatException(String message, int line) {
+        super(message);
+        this.line = line;
+    }
+
+    public int getLine() {
+        return line;
+    }
+}
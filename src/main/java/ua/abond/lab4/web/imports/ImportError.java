@@ -0,0 +1,24 @@
+package ua.abond.lab4.web.imports;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public class ImportError {
+    private final int line;
+    private final List<String> errors;
+
+    public ImportError(int line, List<String> errors) {
+        Objects.requireNonNull(errors);
+        this.line = line;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -13,6 +13,7 @@ public class LoginDTORequestMapper implements RequestMapper<LoginDTO> {
         LoginDTO loginDTO = new LoginDTO();
         loginDTO.setLogin(req.getParameter("login"));
         loginDTO.setPassword(req.getParameter("password"));
+        loginDTO.setRemoteAddress(req.getRemoteAddr());
         return loginDTO;
     }
 }
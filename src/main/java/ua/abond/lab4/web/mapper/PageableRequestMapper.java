@@ -1,6 +1,8 @@
 package ua.abond.lab4.web.mapper;
 
 import ua.abond.lab4.core.annotation.Component;
+import ua.abond.lab4.core.web.support.CountMode;
+import ua.abond.lab4.core.web.support.Cursor;
 import ua.abond.lab4.core.web.support.DefaultPageable;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.core.web.support.SortOrder;
@@ -26,6 +28,14 @@ public class PageableRequestMapper implements RequestMapper<Pageable> {
         SortOrder sortOrder = Parse.enumeration(
                 SortOrder.class, req.getParameter("order"), SortOrder.ASC
         );
-        return new DefaultPageable(page, pageSize, sortOrder);
+        CountMode countMode = Parse.enumeration(
+                CountMode.class, req.getParameter("count"), CountMode.WINDOW
+        );
+        String after = req.getParameter("after");
+        if (after != null) {
+            Cursor cursor = Cursor.parse(after).orElse(Cursor.first());
+            return new DefaultPageable(cursor, pageSize, sortOrder).withCountMode(countMode);
+        }
+        return new DefaultPageable(page, pageSize, sortOrder).withCountMode(countMode);
     }
 }
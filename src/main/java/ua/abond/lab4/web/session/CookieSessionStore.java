@@ -0,0 +1,58 @@
+package ua.abond.lab4.web.session;
+
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Objects;
+
+public class CookieSessionStore implements SessionStore {
+    public static final String COOKIE_NAME = "session";
+
+    private final SessionCookieCodec codec;
+    private final int maxAge;
+
+    public CookieSessionStore(SessionCookieCodec codec, int maxAge) {
+        Objects.requireNonNull(codec);
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("Session max age should be positive.");
+        }
+        this.codec = codec;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public UserSessionDTO load(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return codec.decode(cookie.getValue(), System.currentTimeMillis());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void save(HttpServletRequest request, HttpServletResponse response, UserSessionDTO user) {
+        long expiresAt = System.currentTimeMillis() + maxAge * 1000L;
+        response.addCookie(cookie(request, codec.encode(user, expiresAt), maxAge));
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        response.addCookie(cookie(request, "", 0));
+    }
+
+    private static Cookie cookie(HttpServletRequest request, String value, int maxAge) {
+        Cookie cookie = new Cookie(COOKIE_NAME, value);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
+}
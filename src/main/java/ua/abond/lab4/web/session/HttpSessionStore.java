@@ -0,0 +1,35 @@
+package ua.abond.lab4.web.session;
+
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+public class HttpSessionStore implements SessionStore {
+    public static final HttpSessionStore INSTANCE = new HttpSessionStore();
+    static final String SESSION_ATTR = "user";
+
+    @Override
+    public UserSessionDTO load(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            return (UserSessionDTO) session.getAttribute(SESSION_ATTR);
+        }
+        return null;
+    }
+
+    @Override
+    public void save(HttpServletRequest request, HttpServletResponse response, UserSessionDTO user) {
+        clear(request, response);
+        request.getSession().setAttribute(SESSION_ATTR, user);
+    }
+
+    @Override
+    public void clear(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+    }
+}
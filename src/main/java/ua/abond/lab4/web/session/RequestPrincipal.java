@@ -0,0 +1,37 @@
+package ua.abond.lab4.web.session;
+
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public final class RequestPrincipal {
+    static final String RESOLVED_ATTR = RequestPrincipal.class.getName();
+
+    private RequestPrincipal() {
+    }
+
+    public static UserSessionDTO resolve(HttpServletRequest request) {
+        if (request.getAttribute(RESOLVED_ATTR) != null) {
+            return (UserSessionDTO) request.getAttribute(SessionStore.USER_ATTR);
+        }
+        UserSessionDTO user = SessionStore.of(request).load(request);
+        set(request, user);
+        return user;
+    }
+
+    public static void login(HttpServletRequest request, HttpServletResponse response, UserSessionDTO user) {
+        SessionStore.of(request).save(request, response, user);
+        set(request, user);
+    }
+
+    public static void logout(HttpServletRequest request, HttpServletResponse response) {
+        SessionStore.of(request).clear(request, response);
+        set(request, null);
+    }
+
+    private static void set(HttpServletRequest request, UserSessionDTO user) {
+        request.setAttribute(SessionStore.USER_ATTR, user);
+        request.setAttribute(RESOLVED_ATTR, Boolean.TRUE);
+    }
+}
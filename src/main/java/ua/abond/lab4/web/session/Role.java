@@ -0,0 +1,46 @@
+package ua.abond.lab4.web.session;
+
+import ua.abond.lab4.domain.Authority;
+
+public enum Role {
+    USER, ADMIN, SUPERSU;
+
+    private static final Role[] ROLES = values();
+
+    private final int bit = 1 << ordinal();
+
+    public int bit() {
+        return bit;
+    }
+
+    public static int maskOf(Authority authority) {
+        if (authority == null || authority.getName() == null) {
+            return 0;
+        }
+        for (Role role : ROLES) {
+            if (role.name().equalsIgnoreCase(authority.getName())) {
+                return role.bit;
+            }
+        }
+        return 0;
+    }
+
+    public static int parse(String roles) {
+        int mask = 0;
+        for (String name : roles.split(",")) {
+            String trimmed = name.trim();
+            Role found = null;
+            for (Role role : ROLES) {
+                if (role.name().equalsIgnoreCase(trimmed)) {
+                    found = role;
+                    break;
+                }
+            }
+            if (found == null) {
+                throw new IllegalArgumentException("Unknown role '" + trimmed + "'.");
+            }
+            mask |= found.bit;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,153 @@
+package ua.abond.lab4.web.session;
+
+import ua.abond.lab4.domain.Authority;
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Objects;
+
+public class SessionCookieCodec {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final char SEPARATOR = '.';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public SessionCookieCodec(byte[] secret) {
+        Objects.requireNonNull(secret);
+        if (secret.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("Session secret should be at least " + MIN_SECRET_LENGTH + " bytes.");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        newMac();
+    }
+
+    public String encode(UserSessionDTO user, long expiresAt) {
+        Objects.requireNonNull(user);
+        Objects.requireNonNull(user.getId());
+        Authority authority = user.getAuthority();
+        StringBuilder sb = new StringBuilder(96);
+        sb.append(user.getId()).append(SEPARATOR).
+                append(expiresAt).append(SEPARATOR);
+        if (authority != null && authority.getId() != null) {
+            sb.append(authority.getId());
+        }
+        sb.append(SEPARATOR);
+        if (authority != null && authority.getName() != null) {
+            sb.append(encode(authority.getName()));
+        }
+        sb.append(SEPARATOR);
+        if (user.getLogin() != null) {
+            sb.append(encode(user.getLogin()));
+        }
+        byte[] signature = sign(sb, sb.length());
+        return sb.append(SEPARATOR).append(ENCODER.encodeToString(signature)).toString();
+    }
+
+    public UserSessionDTO decode(String value, long now) {
+        if (value == null) {
+            return null;
+        }
+        int signatureStart = value.lastIndexOf(SEPARATOR);
+        if (signatureStart <= 0 || !verify(value, signatureStart)) {
+            return null;
+        }
+        int expiresStart = value.indexOf(SEPARATOR) + 1;
+        int authorityIdStart = value.indexOf(SEPARATOR, expiresStart) + 1;
+        int authorityNameStart = value.indexOf(SEPARATOR, authorityIdStart) + 1;
+        int loginStart = value.indexOf(SEPARATOR, authorityNameStart) + 1;
+        if (expiresStart <= 0 || authorityIdStart <= 0 || authorityNameStart <= 0 || loginStart <= 0 ||
+                loginStart > signatureStart) {
+            return null;
+        }
+        long expiresAt = parseLong(value, expiresStart, authorityIdStart - 1);
+        if (expiresAt < now) {
+            return null;
+        }
+        long id = parseLong(value, 0, expiresStart - 1);
+        if (id < 0) {
+            return null;
+        }
+        Authority authority = null;
+        if (authorityNameStart - 1 > authorityIdStart || loginStart - 1 > authorityNameStart) {
+            authority = new Authority();
+            long authorityId = parseLong(value, authorityIdStart, authorityNameStart - 1);
+            authority.setId(authorityId >= 0 ? authorityId : null);
+            authority.setName(decode(value, authorityNameStart, loginStart - 1));
+        }
+        return new UserSessionDTO(id, decode(value, loginStart, signatureStart), authority);
+    }
+
+    private boolean verify(String value, int end) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+        byte[] expected = sign(value, end);
+        byte[] actual;
+        try {
+            actual = DECODER.decode(value.substring(end + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private byte[] sign(CharSequence value, int end) {
+        Mac mac = macs.get();
+        for (int i = 0; i < end; i++) {
+            mac.update((byte) value.charAt(i));
+        }
+        return mac.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize " + ALGORITHM + ".", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        try {
+            return new String(DECODER.decode(value.substring(start, end)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long parseLong(String value, int start, int end) {
+        if (start >= end || end - start > 18) {
+            return -1;
+        }
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
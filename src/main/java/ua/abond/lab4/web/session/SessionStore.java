@@ -0,0 +1,22 @@
+package ua.abond.lab4.web.session;
+
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public interface SessionStore {
+    String STORE_ATTR = SessionStore.class.getName();
+    String USER_ATTR = "sessionUser";
+
+    UserSessionDTO load(HttpServletRequest request);
+
+    void save(HttpServletRequest request, HttpServletResponse response, UserSessionDTO user);
+
+    void clear(HttpServletRequest request, HttpServletResponse response);
+
+    static SessionStore of(HttpServletRequest request) {
+        Object store = request.getAttribute(STORE_ATTR);
+        return store instanceof SessionStore ? (SessionStore) store : HttpSessionStore.INSTANCE;
+    }
+}
@@ -0,0 +1,32 @@
+--
+-- Availability index: one tsrange per confirmed request, so free apartment
+-- lookups probe a GiST index instead of joining orders with requests.
+-- Apply on top of dump.sql.
+--
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE apartment_bookings (
+    id serial PRIMARY KEY,
+    request_id integer NOT NULL UNIQUE REFERENCES requests(id) ON DELETE CASCADE,
+    order_id integer NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
+    apartment_id integer NOT NULL REFERENCES apartments(id),
+    during tsrange NOT NULL,
+    EXCLUDE USING gist (apartment_id WITH =, during WITH &&)
+);
+
+ALTER TABLE apartment_bookings OWNER TO postgres;
+
+--
+-- Backfill from existing orders. Overlapping historical orders for the same
+-- apartment cannot be represented, only the first of them is kept.
+--
+
+INSERT INTO apartment_bookings (request_id, order_id, apartment_id, during)
+SELECT r.id, o.id, o.apartment_id, tsrange(r.from_date, r.to_date, '[)')
+FROM orders o
+  INNER JOIN requests r ON r.id = o.request_id
+WHERE o.apartment_id IS NOT NULL
+      AND r.from_date <= r.to_date
+ORDER BY o.id
+ON CONFLICT DO NOTHING;
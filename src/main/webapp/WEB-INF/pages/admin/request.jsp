@@ -1,4 +1,4 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
 <%@ taglib prefix="t" tagdir="/WEB-INF/tags" %>
@@ -11,7 +11,7 @@
             <c:if test="${not empty request}">
                 <form class="form-group" method="post" action="/admin/request/confirm">
                     <input type="hidden" name="id" value="${request.id}"/>
-                    <input type="hidden" name="userId" value="${sessionScope.user.id}"/>
+                    <input type="hidden" name="userId" value="${sessionUser.id}"/>
 
                     <p:request-partial request="${request}"/>
                     <c:if test="${request.status == 'CREATED'}">
@@ -1,18 +1,18 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
 <%@ taglib prefix="t" tagdir="/WEB-INF/tags" %>
 <%@ taglib prefix="p" tagdir="/WEB-INF/tags/partials" %>
 
 <t:site-page>
-    <c:if test="${empty sessionScope.user}">
+    <c:if test="${empty sessionUser}">
         <p:login-partial/>
     </c:if>
-    <c:if test="${not empty sessionScope.user}">
+    <c:if test="${not empty sessionUser}">
         <div class="container">
             <div class="jumbotron">
-                <c:if test="${sessionScope.user.authority.name == 'ADMIN'}">
-                    <h1><fmt:message key="index.hello" bundle="${locale}"/>, ${sessionScope.user.login}</h1>
+                <c:if test="${sessionUser.authority.name == 'ADMIN'}">
+                    <h1><fmt:message key="index.hello" bundle="${locale}"/>, ${sessionUser.login}</h1>
                     <p>
                         <fmt:message key="index.admin.hello.message" bundle="${locale}"/>.
                     </p>
@@ -37,8 +37,8 @@
                         </a>
                     </p>
                 </c:if>
-                <c:if test="${sessionScope.user.authority.name == 'USER'}">
-                    <h1><fmt:message key="index.hello" bundle="${locale}"/>, ${sessionScope.user.login}.</h1>
+                <c:if test="${sessionUser.authority.name == 'USER'}">
+                    <h1><fmt:message key="index.hello" bundle="${locale}"/>, ${sessionUser.login}.</h1>
                     <p><fmt:message key="index.user.hello.message" bundle="${locale}"/>.</p>
                     <p>
                         <a class="btn btn-primary" href="/user/orders" role="button">
@@ -61,8 +61,8 @@
                         </a>
                     </p>
                 </c:if>
-                <c:if test="${sessionScope.user.authority.name == 'SUPERSU'}">
-                    <h1>Hi, ${sessionScope.user.login}.</h1>
+                <c:if test="${sessionUser.authority.name == 'SUPERSU'}">
+                    <h1>Hi, ${sessionUser.login}.</h1>
                     <p><fmt:message key="index.supersu.hello.message" bundle="${locale}"/>.</p>
                     <p>
                         <a class="btn btn-primary" href="/supersu/admin/new" role="button">
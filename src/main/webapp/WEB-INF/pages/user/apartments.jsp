@@ -1,4 +1,4 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
 <%@ taglib prefix="fn" uri="http://java.sun.com/jsp/jstl/functions" %>
@@ -24,6 +24,7 @@
                     <input class="btn btn-primary" type="submit"
                            value="<fmt:message key="filter" bundle="${locale}"/>"/>
                 </form>
+                <p:error-partial/>
             </div>
 
             <c:set var="apartments" value="${page.content}" scope="page"/>
@@ -4,6 +4,7 @@ import org.junit.Test;
 import ua.abond.lab4.config.DatabaseConfig;
 import ua.abond.lab4.core.annotation.Bean;
 import ua.abond.lab4.core.bean.BeanDefinition;
+import ua.abond.lab4.core.metrics.MetricRegistry;
 
 import javax.sql.DataSource;
 import java.util.AbstractList;
@@ -41,7 +42,7 @@ public class BeanDefinitionTest {
 
     @Test
     public void testHasFactoryMethod() throws Exception {
-        BeanDefinition beanDefinition = new BeanDefinition(DataSource.class, DatabaseConfig.class.getMethod("getDataSource"));
+        BeanDefinition beanDefinition = new BeanDefinition(DataSource.class, DatabaseConfig.class.getMethod("getDataSource", MetricRegistry.class));
         assertTrue(beanDefinition.hasFactoryMethod());
     }
 
@@ -0,0 +1,79 @@
+package ua.abond.lab4.core.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.PrometheusWriter;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class CacheTest {
+    private AtomicLong clock;
+    private Cache cache;
+
+    @Before
+    public void setUp() {
+        clock = new AtomicLong();
+        cache = new Cache("test", 2, 1000, clock::get);
+    }
+
+    @Test
+    public void testGetAfterPut() {
+        assertNull(cache.get("a"));
+        assertTrue(cache.put("a", 1, cache.getGeneration()));
+        assertEquals(1, cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio(), 0.0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        cache.put("a", 1, cache.getGeneration());
+        cache.put("b", 2, cache.getGeneration());
+        cache.get("a");
+        cache.put("c", 3, cache.getGeneration());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testExpiredEntryIsReloaded() {
+        cache.put("a", 1, cache.getGeneration());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals(1, cache.get("a"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPutAfterInvalidationIsIgnored() {
+        long generation = cache.getGeneration();
+        cache.invalidateAll();
+        assertFalse(cache.put("a", 1, generation));
+        assertNull(cache.get("a"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveSize() {
+        new Cache("test", 0, 1000);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        cache.registerMetrics(registry);
+        cache.get("a");
+        StringWriter out = new StringWriter();
+        PrometheusWriter.write(registry, out);
+        assertTrue(out.toString().contains("cache_misses_total{cache=\"test\"} 1"));
+        assertTrue(out.toString().contains("cache_hit_ratio{cache=\"test\"} 0"));
+    }
+}
@@ -0,0 +1,56 @@
+package ua.abond.lab4.core.cache.bean;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.BeanPostProcessor;
+import ua.abond.lab4.core.annotation.Cacheable;
+import ua.abond.lab4.core.cache.CacheManager;
+import ua.abond.lab4.core.context.AnnotationBeanFactory;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheBeanPostProcessorTest {
+    @Mock
+    private AnnotationBeanFactory beanFactory;
+
+    private BeanPostProcessor beanPostProcessor;
+
+    @Before
+    public void setUp() {
+        beanPostProcessor = new CacheBeanPostProcessor();
+    }
+
+    @Test
+    public void testPostProcessAfterInitializationShouldDoNothingForPlainObjects() {
+        Object bean = new Object();
+        assertSame(bean, beanPostProcessor.postProcessAfterInitialization(beanFactory, bean, "object"));
+    }
+
+    @Test
+    public void testPostProcessAfterInitializationCacheableObject() {
+        when(beanFactory.containsBean(CacheManager.class)).thenReturn(true);
+        when(beanFactory.getBean(CacheManager.class)).thenReturn(new CacheManager(16, 60_000));
+        Object result = beanPostProcessor.postProcessAfterInitialization(beanFactory, new CacheableTest(), "test");
+        assertTrue(Proxy.isProxyClass(result.getClass()));
+        assertTrue(result instanceof CacheableInterface);
+    }
+
+    public interface CacheableInterface {
+        String method();
+    }
+
+    public static class CacheableTest implements CacheableInterface {
+        @Override
+        @Cacheable("test")
+        public String method() {
+            return "";
+        }
+    }
+}
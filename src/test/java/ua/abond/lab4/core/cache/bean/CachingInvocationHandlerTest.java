@@ -0,0 +1,209 @@
+package ua.abond.lab4.core.cache.bean;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.annotation.CacheEvict;
+import ua.abond.lab4.core.annotation.Cacheable;
+import ua.abond.lab4.core.cache.CacheManager;
+import ua.abond.lab4.core.exception.ImproperlyConfiguredException;
+import ua.abond.lab4.core.tm.RoutingDataSource;
+import ua.abond.lab4.core.tm.TransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingInvocationHandlerTest {
+    @Mock
+    private TransactionManager tm;
+
+    private CacheManager cacheManager;
+    private Repository repository;
+    private NameRepository proxy;
+
+    @Before
+    public void setUp() {
+        cacheManager = new CacheManager(16, 60_000);
+        repository = new Repository();
+        proxy = createProxy(null);
+    }
+
+    @Test
+    public void testReadIsCachedPerArguments() {
+        assertEquals(Optional.of("a"), proxy.getByName("a"));
+        assertEquals(Optional.of("a"), proxy.getByName("a"));
+        assertEquals(Optional.of("b"), proxy.getByName("b"));
+        assertEquals(2, repository.reads);
+        assertEquals(1, cacheManager.getCache("names").getHitCount());
+    }
+
+    @Test
+    public void testWriteEvicts() {
+        proxy.getByName("a");
+        proxy.create("a");
+        proxy.getByName("a");
+        assertEquals(2, repository.reads);
+        assertEquals(1, repository.writes);
+    }
+
+    @Test
+    public void testPlainMethodIsNotCached() {
+        proxy.count();
+        proxy.count();
+        assertEquals(2, repository.reads);
+    }
+
+    @Test
+    public void testReadInReadWriteTransactionIsNotCached() {
+        when(tm.hasBegun()).thenReturn(true);
+        proxy = createProxy(tm);
+        proxy.getByName("a");
+        proxy.getByName("a");
+        assertEquals(2, repository.reads);
+    }
+
+    @Test
+    public void testReadInTransactionUsesStoredValue() {
+        proxy.getByName("a");
+        when(tm.hasBegun()).thenReturn(true);
+        proxy = createProxy(tm);
+        proxy.getByName("a");
+        proxy.getByName("b");
+        assertEquals(2, repository.reads);
+        assertEquals(1, cacheManager.getCache("names").size());
+    }
+
+    @Test
+    public void testMissIsLoadedFromPrimary() {
+        proxy.getByName("a");
+        assertTrue(repository.primary);
+        assertFalse(RoutingDataSource.isPrimary());
+    }
+
+    @Test
+    public void testCachedValuesAreCopied() {
+        List<Name> first = proxy.list();
+        first.get(0).value = "changed";
+        first.clear();
+
+        List<Name> second = proxy.list();
+        assertEquals(1, second.size());
+        assertEquals("a", second.get(0).value);
+        second.get(0).value = "changed";
+        assertEquals("a", proxy.list().get(0).value);
+        assertEquals(1, repository.reads);
+    }
+
+    @Test
+    public void testOptionalValueIsCopied() {
+        proxy.getNameById(1L).get().value = "changed";
+        assertEquals("a", proxy.getNameById(1L).get().value);
+        assertNotSame(proxy.getNameById(1L).get(), proxy.getNameById(1L).get());
+    }
+
+    @Test(expected = ImproperlyConfiguredException.class)
+    public void testValueWithoutCopyConstructorIsRejected() {
+        proxy.getOpaque();
+    }
+
+    @Test
+    public void testWriteInTransactionEvictsAgainAfterCommit() {
+        when(tm.hasBegun()).thenReturn(true);
+        proxy = createProxy(tm);
+        proxy.create("a");
+        verify(tm).afterCommit(any(Runnable.class));
+    }
+
+    private NameRepository createProxy(TransactionManager tm) {
+        return (NameRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{NameRepository.class},
+                new CachingInvocationHandler(repository, cacheManager, tm)
+        );
+    }
+
+    public interface NameRepository {
+        Optional<String> getByName(String name);
+
+        int count();
+
+        void create(String name);
+
+        List<Name> list();
+
+        Optional<Name> getNameById(Long id);
+
+        Opaque getOpaque();
+    }
+
+    public static class Name {
+        private String value;
+
+        public Name(String value) {
+            this.value = value;
+        }
+
+        public Name(Name other) {
+            this.value = other.value;
+        }
+    }
+
+    public static class Opaque {
+    }
+
+    public static class Repository implements NameRepository {
+        private int reads;
+        private int writes;
+        private boolean primary;
+
+        @Override
+        @Cacheable("names")
+        public Optional<String> getByName(String name) {
+            reads++;
+            primary = RoutingDataSource.isPrimary();
+            return Optional.of(name);
+        }
+
+        @Override
+        public int count() {
+            return ++reads;
+        }
+
+        @Override
+        @CacheEvict("names")
+        public void create(String name) {
+            writes++;
+        }
+
+        @Override
+        @Cacheable("names")
+        public List<Name> list() {
+            reads++;
+            return new ArrayList<>(Collections.singletonList(new Name("a")));
+        }
+
+        @Override
+        @Cacheable("names")
+        public Optional<Name> getNameById(Long id) {
+            reads++;
+            return Optional.of(new Name("a"));
+        }
+
+        @Override
+        @Cacheable("names")
+        public Opaque getOpaque() {
+            return new Opaque();
+        }
+    }
+}
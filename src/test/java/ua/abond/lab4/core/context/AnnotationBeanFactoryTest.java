@@ -3,12 +3,17 @@ package ua.abond.lab4.core.context;
 import org.junit.Before;
 import org.junit.Test;
 import ua.abond.lab4.core.BeanFactory;
+import ua.abond.lab4.core.bean.BeanDefinition;
 import ua.abond.lab4.core.context.test.A;
 import ua.abond.lab4.core.context.test.B;
 import ua.abond.lab4.core.exception.NoSuchBeanException;
 
 import javax.sql.DataSource;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import static org.junit.Assert.*;
 
@@ -117,4 +122,47 @@ public class AnnotationBeanFactoryTest {
         assertNotNull(bean);
         assertEquals(new A().getA(), bean.getA1().getA());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetBeanBySuperclassAndInterface() {
+        AnnotationBeanFactory ac = new AnnotationBeanFactory();
+        ac.register(new BeanDefinition(Items.class));
+        ac.refresh();
+
+        Object bean = ac.getBean(Items.class);
+        assertTrue(bean == ac.getBean(AbstractList.class));
+        assertTrue(bean == ac.getBean(RandomAccess.class));
+        assertTrue(bean == ac.getBean(List.class));
+        assertTrue(bean == ac.getBean(Collection.class));
+        assertTrue(ac.containsBean(Iterable.class));
+        assertFalse(ac.containsBean(Map.class));
+        assertEquals(1, ac.getBeansOfType(Collection.class).size());
+        assertTrue(ac.containsBeanDefinition(Collection.class));
+        assertEquals(Items.class, ac.getBeanDefinition(List.class).getType());
+    }
+
+    @Test
+    public void testRefreshRebuildsTypeIndex() {
+        AnnotationBeanFactory ac = new AnnotationBeanFactory(TEST_PACKAGE);
+        A before = ac.getBean(A.class);
+        ac.refresh();
+
+        A after = ac.getBean(A.class);
+        assertTrue(before != after);
+        assertEquals(1, ac.getBeansOfType(A.class).size());
+        assertTrue(after == ac.getBean("A"));
+    }
+
+    public static class Items extends AbstractList<Object> implements RandomAccess {
+
+        @Override
+        public Object get(int index) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ua.abond.lab4.core.context;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.*;
+
+public class TypeIndexTest {
+    private TypeIndex index;
+
+    @Before
+    public void setUp() {
+        index = new TypeIndex();
+    }
+
+    @Test
+    public void testHierarchyContainsSuperclassesAndInterfaces() {
+        assertTrue(TypeIndex.hierarchy(ArrayList.class).containsAll(Arrays.asList(
+                ArrayList.class, AbstractList.class, Object.class,
+                List.class, Collection.class, Iterable.class, Serializable.class
+        )));
+    }
+
+    @Test
+    public void testGetByAssignableType() {
+        index.add("list", ArrayList.class);
+        index.add("queue", LinkedList.class);
+
+        assertEquals(2, index.get(Collection.class).size());
+        assertEquals(1, index.get(Queue.class).size());
+        assertEquals("list", index.first(ArrayList.class));
+        assertTrue(index.get(Runnable.class).isEmpty());
+        assertNull(index.first(Runnable.class));
+    }
+
+    @Test
+    public void testFirstKeepsRegistrationOrder() {
+        index.add("list", ArrayList.class);
+        index.add("queue", LinkedList.class);
+
+        assertEquals("list", index.first(List.class));
+    }
+
+    @Test
+    public void testRemove() {
+        index.add("bean", ArrayList.class);
+        index.remove("bean", ArrayList.class);
+        index.add("bean", LinkedList.class);
+
+        assertTrue(index.get(ArrayList.class).isEmpty());
+        assertEquals("bean", index.first(Queue.class));
+    }
+
+    @Test
+    public void testClear() {
+        index.add("list", ArrayList.class);
+        index.clear();
+
+        assertTrue(index.get(List.class).isEmpty());
+    }
+}
@@ -0,0 +1,199 @@
+package ua.abond.lab4.core.jdbc;
+
+import org.junit.Test;
+import ua.abond.lab4.core.jdbc.exception.DataAccessException;
+import ua.abond.lab4.domain.Order;
+import ua.abond.lab4.domain.Request;
+import ua.abond.lab4.domain.RequestStatus;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BeanRowMapperTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2016, 10, 2, 10, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2016, 10, 5, 12, 0);
+
+    @Test
+    public void testMapNestedObjects() throws Exception {
+        FakeResultSet rows = new FakeResultSet(
+                new String[]{"id", "apartment_id", "request_id", "price", "payed", "request_from", "request_to",
+                        "apartment_name", "apartment_room_count", "apartment_type_id", "apartment_type_name"},
+                new int[]{Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.NUMERIC, Types.BOOLEAN, Types.TIMESTAMP,
+                        Types.TIMESTAMP, Types.VARCHAR, Types.INTEGER, Types.BIGINT, Types.VARCHAR},
+                1L, 2L, 3L, new BigDecimal("600"), true, Timestamp.valueOf(FROM), Timestamp.valueOf(TO),
+                "Sea view", 4, 5L, "business"
+        );
+
+        Order order = new BeanRowMapper<>(Order.class).mapRow(rows.resultSet);
+
+        assertEquals(Long.valueOf(1), order.getId());
+        assertEquals(new BigDecimal("600"), order.getPrice());
+        assertTrue(order.isPayed());
+        assertEquals(Long.valueOf(3), order.getRequest().getId());
+        assertEquals(FROM, order.getRequest().getFrom());
+        assertEquals(TO, order.getRequest().getTo());
+        assertEquals(Long.valueOf(2), order.getApartment().getId());
+        assertEquals("Sea view", order.getApartment().getName());
+        assertEquals(4, order.getApartment().getRoomCount());
+        assertEquals(Long.valueOf(5), order.getApartment().getType().getId());
+        assertEquals("business", order.getApartment().getType().getName());
+    }
+
+    @Test
+    public void testMapEnumsAndIgnoreUnknownColumns() throws Exception {
+        FakeResultSet rows = new FakeResultSet(
+                new String[]{"id", "user_id", "lookup_room_count", "lookup_type_id", "lookup_type_name",
+                        "from", "to", "status", "status_comment", "total_count"},
+                new int[]{Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.BIGINT, Types.VARCHAR,
+                        Types.TIMESTAMP, Types.TIMESTAMP, Types.INTEGER, Types.VARCHAR, Types.BIGINT},
+                1L, 2L, 4, 5L, "business", Timestamp.valueOf(FROM), Timestamp.valueOf(TO), 1, null, 10L
+        );
+
+        Request request = new BeanRowMapper<>(Request.class).mapRow(rows.resultSet);
+
+        assertEquals(Long.valueOf(2), request.getUser().getId());
+        assertEquals(4, request.getLookup().getRoomCount());
+        assertEquals("business", request.getLookup().getType().getName());
+        assertEquals(FROM, request.getFrom());
+        assertEquals(RequestStatus.values()[1], request.getStatus());
+        assertNull(request.getStatusComment());
+    }
+
+    @Test
+    public void testNestedObjectIsCreatedForMappedColumns() throws Exception {
+        FakeResultSet rows = new FakeResultSet(
+                new String[]{"id", "apartment_id", "apartment_name"},
+                new int[]{Types.BIGINT, Types.BIGINT, Types.VARCHAR},
+                1L, null, null
+        );
+
+        Order order = new BeanRowMapper<>(Order.class).mapRow(rows.resultSet);
+
+        assertNotNull(order.getApartment());
+        assertNull(order.getApartment().getId());
+        assertNull(order.getApartment().getName());
+        assertNull(order.getRequest());
+    }
+
+    @Test
+    public void testPlanIsResolvedOncePerResultSetShape() throws Exception {
+        BeanRowMapper<Order> mapper = new BeanRowMapper<>(Order.class);
+        FakeResultSet first = new FakeResultSet(new String[]{"id"}, new int[]{Types.BIGINT}, 1L);
+        FakeResultSet second = new FakeResultSet(new String[]{"id"}, new int[]{Types.BIGINT}, 2L);
+        FakeResultSet other = new FakeResultSet(new String[]{"id", "price"}, new int[]{Types.BIGINT, Types.NUMERIC},
+                3L, BigDecimal.ONE);
+
+        mapper.mapRow(first.resultSet);
+        mapper.mapRow(first.resultSet);
+        assertEquals(1, first.metaDataCalls.get());
+        assertEquals(Long.valueOf(2), mapper.mapRow(second.resultSet).getId());
+        assertEquals(1, mapper.getPlanCount());
+        assertEquals(BigDecimal.ONE, mapper.mapRow(other.resultSet).getPrice());
+        assertEquals(2, mapper.getPlanCount());
+    }
+
+    @Test
+    public void testBoundMapperDoesNotReadMetaDataPerRow() throws Exception {
+        BeanRowMapper<Order> mapper = new BeanRowMapper<>(Order.class);
+        FakeResultSet rows = new FakeResultSet(new String[]{"id"}, new int[]{Types.BIGINT}, 1L);
+
+        RowMapper<Order> bound = mapper.bind(rows.resultSet);
+        bound.mapRow(rows.resultSet);
+        bound.mapRow(rows.resultSet);
+
+        assertEquals(1, rows.metaDataCalls.get());
+        assertEquals(Long.valueOf(1), bound.mapRow(rows.resultSet).getId());
+    }
+
+    @Test
+    public void testResultSetsMappedOnOtherThreadsKeepBinding() throws Exception {
+        BeanRowMapper<Order> mapper = new BeanRowMapper<>(Order.class);
+        FakeResultSet mine = new FakeResultSet(new String[]{"id"}, new int[]{Types.BIGINT}, 1L);
+        FakeResultSet other = new FakeResultSet(new String[]{"id", "price"}, new int[]{Types.BIGINT, Types.NUMERIC},
+                2L, BigDecimal.ONE);
+
+        mapper.mapRow(mine.resultSet);
+        Thread thread = new Thread(() -> {
+            try {
+                mapper.mapRow(other.resultSet);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        mapper.mapRow(mine.resultSet);
+
+        assertEquals(1, mine.metaDataCalls.get());
+        assertEquals(1, other.metaDataCalls.get());
+    }
+
+    @Test(expected = DataAccessException.class)
+    public void testDuplicateColumns() throws Exception {
+        FakeResultSet rows = new FakeResultSet(new String[]{"id", "ID"}, new int[]{Types.BIGINT, Types.BIGINT}, 1L, 2L);
+        new BeanRowMapper<>(Order.class).mapRow(rows.resultSet);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValueTypesAreRejected() throws Exception {
+        new BeanRowMapper<>(String.class);
+    }
+
+    private static final class FakeResultSet {
+        private final AtomicInteger metaDataCalls = new AtomicInteger();
+        private final ResultSet resultSet;
+        private boolean wasNull;
+
+        private FakeResultSet(String[] labels, int[] types, Object... row) {
+            ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getColumnCount":
+                                return labels.length;
+                            case "getColumnLabel":
+                                return labels[(Integer) args[0] - 1];
+                            case "getColumnType":
+                                return types[(Integer) args[0] - 1];
+                            case "isNullable":
+                                return ResultSetMetaData.columnNullable;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+            this.resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class[]{ResultSet.class}, (proxy, method, args) -> {
+                        if ("getMetaData".equals(method.getName())) {
+                            metaDataCalls.incrementAndGet();
+                            return metaData;
+                        }
+                        if ("wasNull".equals(method.getName())) {
+                            return wasNull;
+                        }
+                        Object value = row[(Integer) args[0] - 1];
+                        wasNull = value == null;
+                        if (value == null && method.getReturnType() == long.class) {
+                            return 0L;
+                        }
+                        if (value == null && method.getReturnType() == int.class) {
+                            return 0;
+                        }
+                        if (value == null && method.getReturnType() == boolean.class) {
+                            return false;
+                        }
+                        return value;
+                    });
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package ua.abond.lab4.core.jdbc;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.jdbc.exception.DataAccessException;
+import ua.abond.lab4.core.jdbc.pool.PoolConfig;
+import ua.abond.lab4.core.jdbc.pool.PooledDataSource;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JdbcTemplateTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement ps;
+    @Mock
+    private ResultSet rs;
+    private MetricRegistry registry;
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        registry = new MetricRegistry();
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void beginTransaction() {
+            }
+
+            @Override
+            public void endTransaction() {
+            }
+
+            @Override
+            public boolean isManaged() {
+                return false;
+            }
+        };
+        jdbcTemplate.setMetricRegistry(registry);
+        jdbcTemplate.registerSql("users.ids", "SELECT id FROM users");
+    }
+
+    @Test
+    public void testSqlLabel() {
+        assertEquals("users.ids", jdbcTemplate.sqlLabel("SELECT id FROM users"));
+        String label = jdbcTemplate.sqlLabel("  SELECT *\n  FROM users\tWHERE id = ? ");
+        assertEquals(String.format("sql:%08x", "SELECT * FROM users WHERE id = ?".hashCode()), label);
+        assertEquals(label, jdbcTemplate.sqlLabel("SELECT * FROM users WHERE id = ?"));
+        assertEquals("JdbcTemplateTest.update", jdbcTemplate.sqlLabel(JdbcTemplateTest.class));
+        PreparedStatementCreator creator = c -> ps;
+        assertEquals("JdbcTemplateTest.update", jdbcTemplate.sqlLabel(creator.getClass()));
+    }
+
+    @Test
+    public void testRegisterSqlKeepsFirstName() {
+        jdbcTemplate.registerSql("users.all", "SELECT id FROM users");
+
+        assertEquals("users.ids", jdbcTemplate.sqlLabel("SELECT id FROM users"));
+    }
+
+    @Test
+    public void testUpdateWithSqlIsRecordedByStatementName() throws Exception {
+        String sql = "INSERT INTO users (login) VALUES (?)";
+        jdbcTemplate.registerSql("users.create", sql);
+        when(connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)).thenReturn(ps);
+        when(ps.executeUpdate()).thenReturn(1);
+        when(ps.getGeneratedKeys()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getLong(1)).thenReturn(10L);
+
+        KeyHolder holder = new KeyHolder();
+        jdbcTemplate.update(sql, p -> p.setString(1, "login"), holder);
+
+        verify(ps).setString(1, "login");
+        assertEquals(10L, holder.getKey());
+        assertEquals(1, registry.timer("db_query_seconds", null, "sql", "users.create").getCount());
+        assertEquals(0, registry.timer("db_query_seconds", null, "sql", "JdbcTemplateTest.update").getCount());
+    }
+
+    @Test
+    public void testQueryRecordsLatencyAndRows() throws Exception {
+        when(connection.prepareStatement("SELECT id FROM users")).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+
+        jdbcTemplate.query("SELECT id FROM users", r -> 1L);
+
+        assertEquals(1, registry.timer("db_query_seconds", null, "sql", "users.ids").getCount());
+        assertEquals(2, registry.histogram("db_query_rows", null, "sql", "users.ids").getSum());
+    }
+
+    @Test
+    public void testQueryBindsMapperOncePerResultSet() throws Exception {
+        when(connection.prepareStatement("SELECT id FROM users")).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        AtomicInteger binds = new AtomicInteger();
+        RowMapper<Long> mapper = new RowMapper<Long>() {
+            @Override
+            public Long mapRow(ResultSet rs) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public RowMapper<Long> bind(ResultSet resultSet) {
+                binds.incrementAndGet();
+                return r -> 1L;
+            }
+        };
+
+        assertEquals(Arrays.asList(1L, 1L), jdbcTemplate.query("SELECT id FROM users", mapper));
+        assertEquals(1, binds.get());
+    }
+
+    @Test
+    public void testQueryFailureIsCounted() throws Exception {
+        when(connection.prepareStatement("SELECT id FROM users")).thenThrow(new SQLException());
+        try {
+            jdbcTemplate.query("SELECT id FROM users", r -> 1L);
+            fail();
+        } catch (DataAccessException e) {
+            assertEquals(1, registry.counter("db_query_errors_total", null, "sql", "users.ids").getCount());
+            assertEquals(0, registry.timer("db_query_seconds", null, "sql", "users.ids").getCount());
+        }
+    }
+
+    @Test
+    public void testBatchUpdateSplitsIntoBatchesAndCommitsOnce() throws Exception {
+        String sql = "DELETE FROM users WHERE id = ?";
+        when(connection.prepareStatement(sql)).thenReturn(ps);
+        when(ps.executeBatch()).thenReturn(new int[]{1, 1}, new int[]{0});
+        jdbcTemplate.setBatchSize(2);
+
+        int[] counts = jdbcTemplate.batchUpdate(sql, Arrays.asList(1L, 2L, 3L), (p, id) -> p.setLong(1, id));
+
+        assertArrayEquals(new int[]{1, 1, 0}, counts);
+        verify(ps, times(3)).addBatch();
+        verify(ps, times(2)).executeBatch();
+        verify(connection).commit();
+        assertEquals(2, registry.histogram("db_query_rows", null, "sql", jdbcTemplate.sqlLabel(sql)).getSum());
+    }
+
+    @Test
+    public void testBatchUpdateAssignsGeneratedKeysPerBatch() throws Exception {
+        String sql = "INSERT INTO users (login) VALUES (?)";
+        when(connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)).thenReturn(ps);
+        when(ps.executeBatch()).thenReturn(new int[]{1, 1}, new int[]{1});
+        when(ps.getGeneratedKeys()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false, true, false);
+        when(rs.getLong(1)).thenReturn(10L, 11L, 12L);
+        jdbcTemplate.setBatchSize(2);
+
+        Map<String, Number> keys = new LinkedHashMap<>();
+        jdbcTemplate.batchUpdate(sql, Arrays.asList("a", "b", "c"), (p, login) -> p.setString(1, login), keys::put);
+
+        assertEquals(Arrays.asList(10L, 11L, 12L), new ArrayList<>(keys.values()));
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(keys.keySet()));
+    }
+
+    @Test
+    public void testBatchUpdateRollsBackOnFailure() throws Exception {
+        String sql = "DELETE FROM users WHERE id = ?";
+        when(connection.prepareStatement(sql)).thenReturn(ps);
+        when(ps.executeBatch()).thenThrow(new SQLException());
+        try {
+            jdbcTemplate.batchUpdate(sql, Collections.singletonList(1L), (p, id) -> p.setLong(1, id));
+            fail();
+        } catch (DataAccessException e) {
+            verify(connection).rollback();
+            verify(connection, never()).commit();
+        }
+    }
+
+    @Test
+    public void testBatchUpdateWithNoItemsDoesNotConnect() throws Exception {
+        reset(dataSource);
+        assertEquals(0, jdbcTemplate.batchUpdate("DELETE FROM users", Collections.emptyList(), (p, id) -> {
+        }).length);
+        verifyZeroInteractions(dataSource);
+    }
+
+    @Test
+    public void testQueryForEachStreamsWithFetchSize() throws Exception {
+        String sql = "SELECT id FROM orders";
+        when(connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getLong(1)).thenReturn(1L, 2L, 3L);
+        jdbcTemplate.setFetchSize(2);
+
+        List<Long> ids = new ArrayList<>();
+        long count = jdbcTemplate.queryForEach(sql, p -> {
+        }, r -> r.getLong(1), ids::add);
+
+        assertEquals(3, count);
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids);
+        verify(connection).setAutoCommit(false);
+        verify(ps).setFetchSize(2);
+        verify(rs).close();
+        verify(ps).close();
+        verify(connection).close();
+        assertEquals(3, registry.histogram("db_query_rows", null, "sql", jdbcTemplate.sqlLabel(sql)).getSum());
+    }
+
+    @Test
+    public void testClosingStreamEarlyReleasesResources() throws Exception {
+        String sql = "SELECT id FROM orders";
+        when(connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(1L);
+
+        try (Stream<Long> stream = jdbcTemplate.queryForStream(sql, p -> {
+        }, r -> r.getLong(1))) {
+            assertEquals(Arrays.asList(1L, 1L), stream.limit(2).collect(Collectors.toList()));
+        }
+        verify(rs).close();
+        verify(connection).close();
+    }
+
+    @Test
+    public void testStreamSetterFailureReleasesConnection() throws Exception {
+        String sql = "SELECT id FROM orders WHERE id = ?";
+        when(connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(ps);
+        PoolConfig config = new PoolConfig();
+        config.setMaxPoolSize(1);
+        config.setMinIdle(0);
+        config.setHousekeepingIntervalMillis(0);
+        try (PooledDataSource pool = new PooledDataSource(dataSource, config)) {
+            jdbcTemplate.setDataSource(pool);
+            try {
+                jdbcTemplate.queryForStream(sql, p -> {
+                    throw new IllegalArgumentException();
+                }, r -> r.getLong(1));
+                fail();
+            } catch (IllegalArgumentException e) {
+                verify(ps, never()).executeQuery();
+                assertEquals(0, pool.getActiveCount());
+                assertEquals(1, pool.getIdleCount());
+                assertEquals(1, registry.counter("db_query_errors_total", null, "sql", jdbcTemplate.sqlLabel(sql)).getCount());
+            }
+        }
+    }
+
+    @Test
+    public void testStreamBindFailureReleasesConnection() throws Exception {
+        String sql = "SELECT id, id FROM orders";
+        when(connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        RowMapper<Long> mapper = new RowMapper<Long>() {
+            @Override
+            public Long mapRow(ResultSet rs) {
+                return 1L;
+            }
+
+            @Override
+            public RowMapper<Long> bind(ResultSet resultSet) {
+                throw new DataAccessException("Columns 'id' and 'id' both map to id.");
+            }
+        };
+        try {
+            jdbcTemplate.queryForStream(sql, p -> {
+            }, mapper);
+            fail();
+        } catch (DataAccessException e) {
+            verify(rs).close();
+            verify(ps).close();
+            verify(connection).close();
+        }
+    }
+
+    @Test
+    public void testStreamReadFailureIsCounted() throws Exception {
+        String sql = "SELECT id FROM orders";
+        when(connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenThrow(new SQLException());
+        try {
+            jdbcTemplate.queryForEach(sql, p -> {
+            }, r -> 1L, id -> {
+            });
+            fail();
+        } catch (DataAccessException e) {
+            verify(connection).close();
+            assertEquals(1, registry.counter("db_query_errors_total", null, "sql", jdbcTemplate.sqlLabel(sql)).getCount());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package ua.abond.lab4.core.jdbc.pool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.jdbc.util.ConnectionUtils;
+import ua.abond.lab4.core.tm.TransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PooledDataSourceTest {
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection physical;
+    @Mock
+    private Connection secondPhysical;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private PreparedStatement otherStatement;
+    private PoolConfig config;
+    private PooledDataSource pool;
+
+    @Before
+    public void setUp() throws Exception {
+        when(target.getConnection()).thenReturn(physical, secondPhysical);
+        when(physical.isValid(anyInt())).thenReturn(true);
+        when(physical.getAutoCommit()).thenReturn(true);
+
+        config = new PoolConfig();
+        config.setMaxPoolSize(1);
+        config.setMinIdle(0);
+        config.setMaxWaitMillis(50);
+        config.setHousekeepingIntervalMillis(0);
+        pool = new PooledDataSource(target, config);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void testConnectionIsReused() throws Exception {
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        verify(target, times(1)).getConnection();
+        verify(physical, never()).close();
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    public void testBorrowTimesOutWhenExhausted() throws Exception {
+        Connection connection = pool.getConnection();
+        try {
+            pool.getConnection();
+            fail("Expected borrow to time out.");
+        } catch (SQLTransientConnectionException e) {
+            assertEquals(1, pool.getTimeoutCount());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testInvalidConnectionIsReplacedOnBorrow() throws Exception {
+        config.setValidationIntervalMillis(0);
+        pool.getConnection().close();
+        when(physical.isValid(anyInt())).thenReturn(false);
+
+        pool.getConnection().close();
+
+        verify(physical).close();
+        verify(target, times(2)).getConnection();
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    public void testUncommittedWorkIsRolledBackOnReturn() throws Exception {
+        when(physical.getAutoCommit()).thenReturn(false);
+        pool.getConnection().close();
+
+        verify(physical).rollback();
+    }
+
+    @Test
+    public void testBrokenConnectionIsDiscarded() throws Exception {
+        when(physical.prepareStatement(anyString())).thenThrow(new SQLException("lost", "08006"));
+        Connection connection = pool.getConnection();
+        try {
+            connection.prepareStatement("SELECT 1");
+            fail("Expected exception.");
+        } catch (SQLException e) {
+            connection.close();
+        }
+
+        verify(physical).close();
+        assertEquals(0, pool.getTotalCount());
+    }
+
+    @Test(expected = SQLException.class)
+    public void testUseAfterCloseIsRejected() throws Exception {
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.commit();
+    }
+
+    @Test
+    public void testLeakIsReported() throws Exception {
+        config.setLeakDetectionThresholdMillis(1);
+        Connection connection = pool.getConnection();
+        Thread.sleep(5);
+
+        pool.housekeep();
+
+        assertEquals(1, pool.getLeakCount());
+        connection.close();
+    }
+
+    @Test
+    public void testIdleConnectionIsEvicted() throws Exception {
+        config.setIdleTimeoutMillis(0);
+        pool.getConnection().close();
+        Thread.sleep(1);
+
+        pool.housekeep();
+
+        verify(physical).close();
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void testBorrowLatencyIsRecorded() throws Exception {
+        pool.getConnection().close();
+        pool.getConnection().close();
+
+        assertEquals(2, pool.getBorrowLatency().getCount());
+    }
+
+    @Test
+    public void testWorksWithTransactionManager() throws Exception {
+        TransactionManager tm = new TransactionManager(pool);
+        tm.begin();
+        Connection scoped = ConnectionUtils.getConnection(tm.getDataSourceProxy());
+        assertEquals(1, pool.getActiveCount());
+        tm.commit();
+        tm.end();
+
+        assertTrue(scoped.isClosed());
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+        verify(physical).commit();
+    }
+
+    @Test
+    public void testStatementIsReusedAcrossLeases() throws Exception {
+        when(physical.prepareStatement("SELECT 1")).thenReturn(statement);
+        for (int i = 0; i < 2; i++) {
+            try (Connection connection = pool.getConnection()) {
+                connection.prepareStatement("SELECT 1").close();
+            }
+        }
+
+        verify(physical, times(1)).prepareStatement("SELECT 1");
+        verify(statement, never()).close();
+        verify(statement, times(2)).clearParameters();
+        assertEquals(1, pool.getStatementCacheHitCount());
+        assertEquals(1, pool.getStatementCacheMissCount());
+    }
+
+    @Test
+    public void testGeneratedKeysFlagIsPartOfCacheKey() throws Exception {
+        when(physical.prepareStatement("INSERT")).thenReturn(statement);
+        when(physical.prepareStatement("INSERT", Statement.RETURN_GENERATED_KEYS)).thenReturn(otherStatement);
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement("INSERT").close();
+            PreparedStatement ps = connection.prepareStatement("INSERT", Statement.RETURN_GENERATED_KEYS);
+            ps.close();
+
+            assertTrue(ps.isClosed());
+            assertEquals(0, pool.getStatementCacheHitCount());
+            assertEquals(2, pool.getStatementCacheMissCount());
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvicted() throws Exception {
+        config.setStatementCacheSize(1);
+        pool.close();
+        pool = new PooledDataSource(target, config);
+        when(physical.prepareStatement("SELECT 1")).thenReturn(statement);
+        when(physical.prepareStatement("SELECT 2")).thenReturn(otherStatement);
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+            connection.prepareStatement("SELECT 2").close();
+        }
+
+        verify(statement).close();
+        verify(otherStatement, never()).close();
+    }
+
+    @Test
+    public void testCachedStatementsAreClosedWithConnection() throws Exception {
+        when(physical.prepareStatement("SELECT 1")).thenReturn(statement);
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+        }
+        pool.close();
+
+        verify(statement).close();
+        verify(physical).close();
+    }
+
+    @Test
+    public void testStatementCacheCanBeDisabled() throws Exception {
+        config.setStatementCacheSize(0);
+        pool.close();
+        pool = new PooledDataSource(target, config);
+        when(physical.prepareStatement("SELECT 1")).thenReturn(statement);
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+        }
+
+        verify(statement).close();
+        assertEquals(0, pool.getStatementCacheMissCount());
+    }
+}
@@ -0,0 +1,64 @@
+package ua.abond.lab4.core.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i, Histogram.upperBoundOf(Histogram.bucketOf(i)));
+        }
+    }
+
+    @Test
+    public void testBucketBoundsContainValue() {
+        long[] values = {17, 100, 1_000, 123_456, 1_000_000_007L, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(Histogram.upperBoundOf(bucket) >= value);
+            assertTrue(Histogram.upperBoundOf(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    public void testRelativeErrorIsBounded() {
+        for (long value = 8; value < 1_000_000; value = value * 3 + 1) {
+            long upper = Histogram.upperBoundOf(Histogram.bucketOf(value));
+            assertTrue((double) (upper - value) / value <= 0.125);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0.001);
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(median >= 50 && median <= 55);
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testNegativeValuesAreClamped() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getBucketCounts()[0]);
+        assertEquals(0, histogram.getSum());
+    }
+
+    @Test
+    public void testEmpty() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean(), 0);
+    }
+}
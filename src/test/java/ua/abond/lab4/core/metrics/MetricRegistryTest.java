@@ -0,0 +1,74 @@
+package ua.abond.lab4.core.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MetricRegistryTest {
+    private MetricRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new MetricRegistry();
+    }
+
+    @Test
+    public void testSameNameAndLabelsReturnSameMetric() {
+        Counter counter = registry.counter("requests_total", "Requests.", "route", "/");
+        assertSame(counter, registry.counter("requests_total", "Requests.", "route", "/"));
+        assertNotSame(counter, registry.counter("requests_total", "Requests.", "route", "/home"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypeMismatch() {
+        registry.counter("latency", "Latency.");
+        registry.timer("latency", "Latency.");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSummaryKindMismatch() {
+        registry.timer("latency", "Latency.");
+        registry.histogram("latency", "Latency.");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidName() {
+        registry.counter("bad-name", "Bad.");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddLabels() {
+        registry.counter("requests_total", "Requests.", "route");
+    }
+
+    @Test
+    public void testRegisterReplaces() {
+        Gauge first = () -> 1;
+        Gauge second = () -> 2;
+        registry.gauge("pool_size", "Pool size.", first);
+        registry.gauge("pool_size", "Pool size.", second);
+        MetricFamily family = registry.getFamilies().get(0);
+        assertEquals(1, family.getMetrics().size());
+        assertSame(second, family.getMetrics().values().iterator().next());
+    }
+
+    @Test
+    public void testRemove() {
+        registry.counter("requests_total", "Requests.", "route", "/");
+        assertTrue(registry.remove("requests_total", "route", "/"));
+        assertFalse(registry.remove("requests_total", "route", "/"));
+        assertFalse(registry.remove("missing"));
+    }
+
+    @Test
+    public void testFamiliesAreSorted() {
+        registry.counter("b_total", "B.");
+        registry.counter("a_total", "A.");
+        List<MetricFamily> families = registry.getFamilies();
+        assertEquals("a_total", families.get(0).getName());
+        assertEquals("b_total", families.get(1).getName());
+    }
+}
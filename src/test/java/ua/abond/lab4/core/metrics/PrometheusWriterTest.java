@@ -0,0 +1,55 @@
+package ua.abond.lab4.core.metrics;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrometheusWriterTest {
+
+    @Test
+    public void testCounterAndGauge() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("requests_total", "Handled requests.", "route", "/a\"b").add(3);
+        registry.gauge("pool_active", "Active connections.", () -> 2.5);
+
+        String text = write(registry);
+
+        assertEquals("# HELP pool_active Active connections.\n" +
+                "# TYPE pool_active gauge\n" +
+                "pool_active 2.5\n" +
+                "# HELP requests_total Handled requests.\n" +
+                "# TYPE requests_total counter\n" +
+                "requests_total{route=\"/a\\\"b\"} 3\n", text);
+    }
+
+    @Test
+    public void testTimerIsWrittenInSeconds() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        registry.timer("query_seconds", "Query time.", "sql", "q").record(2, TimeUnit.SECONDS);
+
+        String text = write(registry);
+
+        assertTrue(text.contains("# TYPE query_seconds summary\n"));
+        assertTrue(text.contains("query_seconds{sql=\"q\",quantile=\"0.5\"} 2\n"));
+        assertTrue(text.contains("query_seconds_sum{sql=\"q\"} 2\n"));
+        assertTrue(text.contains("query_seconds_count{sql=\"q\"} 1\n"));
+    }
+
+    @Test
+    public void testEmptyFamilyIsSkipped() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("requests_total", "Requests.", "route", "/");
+        registry.remove("requests_total", "route", "/");
+        assertEquals("", write(registry));
+    }
+
+    private static String write(MetricRegistry registry) throws Exception {
+        StringWriter writer = new StringWriter();
+        PrometheusWriter.write(registry, writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package ua.abond.lab4.core.tm;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.jdbc.TransactionalJdbcTemplate;
+import ua.abond.lab4.core.jdbc.util.ConnectionUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RoutingDataSourceTest {
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private RoutingDataSource dataSource;
+    private TransactionManager tm;
+
+    @Before
+    public void setUp() throws Exception {
+        dataSource = new RoutingDataSource(primary, replica);
+        tm = new TransactionManager(dataSource);
+    }
+
+    @After
+    public void tearDown() {
+        tm.end();
+    }
+
+    @Test
+    public void testWritesGoToPrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        assertSame(primaryConnection, dataSource.getConnection());
+        verifyZeroInteractions(replica);
+    }
+
+    @Test
+    public void testReadOnlyGoesToReplica() throws Exception {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        Connection connection = RoutingDataSource.readOnly(() -> ConnectionUtils.getConnection(dataSource));
+
+        assertSame(replicaConnection, connection);
+        assertFalse(RoutingDataSource.isReadOnly());
+        verifyZeroInteractions(primary);
+    }
+
+    @Test
+    public void testNestedReadOnlyKeepsOuterRoute() throws Exception {
+        RoutingDataSource.readOnly(() -> {
+            RoutingDataSource.readOnly(() -> null);
+            assertTrue(RoutingDataSource.isReadOnly());
+            return null;
+        });
+        assertFalse(RoutingDataSource.isReadOnly());
+    }
+
+    @Test
+    public void testPrimaryOverridesReadOnly() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Connection connection = RoutingDataSource.primary(() ->
+                RoutingDataSource.readOnly(() -> ConnectionUtils.getConnection(dataSource)));
+
+        assertSame(primaryConnection, connection);
+        assertFalse(RoutingDataSource.isPrimary());
+        verifyZeroInteractions(replica);
+    }
+
+    @Test
+    public void testReadOnlyTransactionUsesReplica() throws Exception {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        tm.begin(new TransactionAttributes(true, Isolation.DEFAULT));
+
+        assertSame(replicaConnection, tm.getDataSourceProxy().getConnection());
+        verify(replicaConnection).setReadOnly(true);
+        verifyZeroInteractions(primary);
+    }
+
+    @Test
+    public void testReadWriteTransactionUsesPrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        tm.begin();
+
+        assertSame(primaryConnection, tm.getDataSourceProxy().getConnection());
+        verifyZeroInteractions(replica);
+    }
+
+    @Test
+    public void testNonTransactionalQueryUsesReplica() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.prepareStatement("SELECT 1")).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+
+        TransactionalJdbcTemplate jdbcTemplate = new TransactionalJdbcTemplate();
+        jdbcTemplate.setTransactionManager(tm);
+        assertTrue(jdbcTemplate.query("SELECT 1", r -> r.getLong(1)).isEmpty());
+
+        verify(replicaConnection).close();
+        verifyZeroInteractions(primary);
+    }
+
+    @Test
+    public void testNonTransactionalQueryInsidePrimaryUsesPrimary() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(primaryConnection.prepareStatement("SELECT 1")).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+
+        TransactionalJdbcTemplate jdbcTemplate = new TransactionalJdbcTemplate();
+        jdbcTemplate.setTransactionManager(tm);
+        RoutingDataSource.primary(() -> jdbcTemplate.query("SELECT 1", r -> r.getLong(1)));
+
+        verify(primaryConnection).close();
+        verifyZeroInteractions(replica);
+    }
+
+    @Test
+    public void testQueryInsideTransactionUsesScopedConnection() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(primaryConnection.prepareStatement("SELECT 1")).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+
+        TransactionalJdbcTemplate jdbcTemplate = new TransactionalJdbcTemplate();
+        jdbcTemplate.setTransactionManager(tm);
+        tm.begin();
+        jdbcTemplate.query("SELECT 1", r -> r.getLong(1));
+
+        verify(primaryConnection, never()).close();
+        verifyZeroInteractions(replica);
+    }
+}
@@ -8,11 +8,16 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import ua.abond.lab4.core.bean.BeanDefinition;
 import ua.abond.lab4.core.context.AnnotationBeanFactory;
+import ua.abond.lab4.core.metrics.MetricRegistry;
 import ua.abond.lab4.core.tm.bean.TransactionalBeanPostProcessor;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -88,4 +93,92 @@ public class TransactionManagerTest {
         transactionManager.rollback();
         verify(connection, never()).rollback();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAfterCommitRunsImmediatelyWithoutTransaction() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        transactionManager.afterCommit(counter::incrementAndGet);
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testAfterCommitRunsOnCommit() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        transactionManager.begin();
+        transactionManager.afterCommit(counter::incrementAndGet);
+        assertEquals(0, counter.get());
+
+        transactionManager.commit();
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testAfterCompletionRunsOnCommitAndRollback() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        transactionManager.begin();
+        transactionManager.afterCompletion(counter::incrementAndGet);
+        transactionManager.rollback();
+        assertEquals(0, counter.get());
+        transactionManager.end();
+        assertEquals(1, counter.get());
+
+        transactionManager.begin();
+        transactionManager.afterCompletion(counter::incrementAndGet);
+        transactionManager.commit();
+        transactionManager.end();
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testAfterCommitIsDiscardedOnRollback() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        transactionManager.begin();
+        transactionManager.afterCommit(counter::incrementAndGet);
+        transactionManager.rollback();
+        transactionManager.end();
+
+        transactionManager.begin();
+        transactionManager.commit();
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void testBeginWithAttributes() throws Exception {
+        when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+        transactionManager.begin(new TransactionAttributes(true, Isolation.SERIALIZABLE));
+        verify(connection).setReadOnly(true);
+        verify(connection).setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        assertTrue(transactionManager.isReadOnly());
+
+        transactionManager.end();
+        verify(connection).setReadOnly(false);
+        verify(connection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        assertFalse(transactionManager.isReadOnly());
+    }
+
+    @Test
+    public void testBeginWithDefaultAttributesKeepsConnectionSettings() throws Exception {
+        transactionManager.begin(TransactionAttributes.DEFAULT);
+        transactionManager.end();
+        verify(connection, never()).setReadOnly(anyBoolean());
+        verify(connection, never()).setTransactionIsolation(anyInt());
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        transactionManager.setMetricRegistry(registry);
+
+        transactionManager.begin();
+        transactionManager.commit();
+        transactionManager.end();
+        transactionManager.begin();
+        transactionManager.rollback();
+        transactionManager.end();
+        transactionManager.rollback();
+
+        assertEquals(2, registry.timer("db_transaction_seconds", null).getCount());
+        assertEquals(1, registry.counter("db_transaction_commits_total", null).getCount());
+        assertEquals(1, registry.counter("db_transaction_rollbacks_total", null).getCount());
+    }
+}
@@ -8,13 +8,19 @@ import org.mockito.runners.MockitoJUnitRunner;
 import ua.abond.lab4.core.BeanPostProcessor;
 import ua.abond.lab4.core.annotation.Transactional;
 import ua.abond.lab4.core.context.AnnotationBeanFactory;
+import ua.abond.lab4.core.tm.TransactionManager;
+
+import java.lang.reflect.Proxy;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class TransactionalBeanPostProcessorTest {
     @Mock
     private AnnotationBeanFactory beanFactory;
+    @Mock
+    private TransactionManager tm;
 
     private BeanPostProcessor beanPostProcessor;
 
@@ -44,6 +50,8 @@ public class TransactionalBeanPostProcessorTest {
 
     @Test
     public void testPostProcessAfterInitializationTransactionalObject() {
+        when(beanFactory.containsBean(TransactionManager.class)).thenReturn(true);
+        when(beanFactory.getBean(TransactionManager.class)).thenReturn(tm);
         Object result = beanPostProcessor.postProcessAfterInitialization(
                 beanFactory,
                 new TransactionalTest(),
@@ -51,6 +59,8 @@ public class TransactionalBeanPostProcessorTest {
         );
         assertNotNull(result);
         assertNotEquals(bean, result);
+        assertTrue(Proxy.isProxyClass(result.getClass()));
+        assertTrue(result instanceof TransactionalInterface);
     }
 
     public interface TransactionalInterface {
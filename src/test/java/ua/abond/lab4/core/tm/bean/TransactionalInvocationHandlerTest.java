@@ -6,6 +6,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import ua.abond.lab4.core.annotation.Transactional;
+import ua.abond.lab4.core.tm.Isolation;
+import ua.abond.lab4.core.tm.TransactionAttributes;
 import ua.abond.lab4.core.tm.TransactionManager;
 import ua.abond.lab4.core.tm.bean.TransactionalInvocationHandler;
 
@@ -13,6 +15,8 @@ import java.lang.reflect.Method;
 
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 @RunWith(MockitoJUnitRunner.class)
 public class TransactionalInvocationHandlerTest {
@@ -49,8 +53,53 @@ public class TransactionalInvocationHandlerTest {
         }
     }
 
+    @Test
+    public void testNonTransactionalInvokeDoesNotTouchTransactionManager() throws Throwable {
+        handler.invoke(null, TestInterface.class.getMethod("plain"), new Object[]{});
+        verify(testClass).plain();
+        verifyZeroInteractions(tm);
+    }
+
+    @Test
+    public void testInvokeWithAttributes() throws Throwable {
+        handler.invoke(null, TestInterface.class.getMethod("read"), new Object[]{});
+        verify(tm).begin(new TransactionAttributes(true, Isolation.SERIALIZABLE));
+        verify(tm).commit();
+        verify(tm).end();
+        verifyNoMoreInteractions(tm);
+    }
+
+    @Test
+    public void testInvokeMethodAnnotatedOnImplementation() throws Throwable {
+        TransactionalInvocationHandler implHandler = new TransactionalInvocationHandler(new TestImpl(), tm);
+        implHandler.invoke(null, TestInterface.class.getMethod("plain"), new Object[]{});
+        verify(tm).begin();
+        verify(tm).commit();
+        verify(tm).end();
+    }
+
     public interface TestInterface {
         @Transactional
         void test();
+
+        void plain();
+
+        @Transactional(readOnly = true, isolation = Isolation.SERIALIZABLE)
+        void read();
+    }
+
+    public static class TestImpl implements TestInterface {
+        @Override
+        public void test() {
+        }
+
+        @Override
+        @Transactional
+        public void plain() {
+        }
+
+        @Override
+        public void read() {
+        }
     }
-}
\ No newline at end of file
+}
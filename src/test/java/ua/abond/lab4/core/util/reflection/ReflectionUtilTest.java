@@ -3,6 +3,7 @@ package ua.abond.lab4.core.util.reflection;
 import org.junit.Test;
 import ua.abond.lab4.core.util.reflection.ReflectionUtil;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -13,6 +14,13 @@ public class ReflectionUtilTest {
 
     }
 
+    @Test
+    public void testGetClassesFromJar() throws Exception {
+        List<java.lang.Class> classes = Arrays.asList(ReflectionUtil.getClasses("org.junit.rules"));
+        assertTrue(classes.contains(org.junit.rules.ExpectedException.class));
+        assertTrue(classes.stream().allMatch(c -> c.getName().startsWith("org.junit.rules.")));
+    }
+
     @Test
     public void testGetSuperclassesWithOneLevel() throws Exception {
         List<java.lang.Class<?>> superclasses =
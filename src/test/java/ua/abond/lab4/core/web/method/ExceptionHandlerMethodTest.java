@@ -0,0 +1,77 @@
+package ua.abond.lab4.core.web.method;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.web.support.RequestMethod;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExceptionHandlerMethodTest {
+    @Mock
+    private ExceptionHandlerData data;
+
+    @Test
+    public void testForwardingHandler() throws Exception {
+        ExceptionHandlerMethod method = new ExceptionHandlerMethod(
+                Handlers.class.getMethod("forward", ExceptionHandlerData.class), new Handlers());
+        assertTrue(method.isGenerated());
+
+        Object result = method.invoke(data);
+        assertEquals(new HandlerMethodInfo("/error", RequestMethod.GET), result);
+    }
+
+    @Test
+    public void testVoidHandler() throws Exception {
+        ExceptionHandlerMethod method = new ExceptionHandlerMethod(
+                Handlers.class.getMethod("handle", ExceptionHandlerData.class), new Handlers());
+        assertTrue(method.isGenerated());
+
+        assertNull(method.invoke(data));
+        verify(data).getResponse();
+    }
+
+    @Test
+    public void testNonPublicHandlerFallsBackToReflection() throws Exception {
+        ExceptionHandlerMethod method = new ExceptionHandlerMethod(
+                Handlers.class.getDeclaredMethod("hidden", ExceptionHandlerData.class), new Handlers());
+        assertFalse(method.isGenerated());
+
+        assertEquals("hidden", method.invoke(data));
+    }
+
+    @Test
+    public void testExceptionIsWrapped() throws Exception {
+        ExceptionHandlerMethod method = new ExceptionHandlerMethod(
+                Handlers.class.getMethod("fail", ExceptionHandlerData.class), new Handlers());
+        try {
+            method.invoke(data);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getTargetException() instanceof IllegalStateException);
+        }
+    }
+
+    public static class Handlers {
+        public HandlerMethodInfo forward(ExceptionHandlerData data) {
+            return new HandlerMethodInfo("/error", RequestMethod.GET);
+        }
+
+        public void handle(ExceptionHandlerData data) {
+            data.getResponse();
+        }
+
+        public void fail(ExceptionHandlerData data) {
+            throw new IllegalStateException();
+        }
+
+        private String hidden(ExceptionHandlerData data) {
+            return "hidden";
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ua.abond.lab4.core.web.method;
+
+import org.junit.Before;
+import org.junit.Test;
+import ua.abond.lab4.core.exception.ImproperlyConfiguredException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class ExceptionHandlerResolverTest {
+    private ExceptionHandlerResolver resolver;
+    private ExceptionHandlerMethod ioHandler;
+    private ExceptionHandlerMethod exceptionHandler;
+
+    @Before
+    public void setUp() throws Exception {
+        resolver = new ExceptionHandlerResolver();
+        ioHandler = handler();
+        exceptionHandler = handler();
+    }
+
+    @Test
+    public void testExactMatch() {
+        resolver.register(IOException.class, ioHandler);
+        assertSame(ioHandler, resolver.resolve(IOException.class));
+    }
+
+    @Test
+    public void testNearestSuperclassWins() {
+        resolver.register(Exception.class, exceptionHandler);
+        resolver.register(IOException.class, ioHandler);
+
+        assertSame(ioHandler, resolver.resolve(FileNotFoundException.class));
+        assertSame(exceptionHandler, resolver.resolve(IllegalStateException.class));
+    }
+
+    @Test
+    public void testUnresolved() {
+        resolver.register(IOException.class, ioHandler);
+        assertNull(resolver.resolve(IllegalStateException.class));
+        assertNull(resolver.resolve(Error.class));
+    }
+
+    @Test
+    public void testRegistrationInvalidatesResolved() {
+        resolver.register(Exception.class, exceptionHandler);
+        assertSame(exceptionHandler, resolver.resolve(FileNotFoundException.class));
+
+        resolver.register(IOException.class, ioHandler);
+        assertSame(ioHandler, resolver.resolve(FileNotFoundException.class));
+    }
+
+    @Test(expected = ImproperlyConfiguredException.class)
+    public void testAmbiguousHandler() throws Exception {
+        resolver.register(IOException.class, ioHandler);
+        resolver.register(IOException.class, exceptionHandler);
+    }
+
+    private static ExceptionHandlerMethod handler() throws NoSuchMethodException {
+        return new ExceptionHandlerMethod(
+                ExceptionHandlerMethodTest.Handlers.class.getMethod("handle", ExceptionHandlerData.class),
+                new ExceptionHandlerMethodTest.Handlers()
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package ua.abond.lab4.core.web.method;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.web.exception.RequestMappingHandlerException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HandlerMethodTest {
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+
+    @Test
+    public void testPublicHandlerIsGenerated() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(new Handlers(),
+                Handlers.class.getMethod("handle", HttpServletRequest.class, HttpServletResponse.class));
+        assertTrue(handlerMethod.isGenerated());
+
+        handlerMethod.handle(request, response);
+        verify(request).setAttribute("handled", Boolean.TRUE);
+    }
+
+    @Test
+    public void testNonPublicHandlerFallsBackToReflection() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(new Handlers(),
+                Handlers.class.getDeclaredMethod("hidden", HttpServletRequest.class, HttpServletResponse.class));
+        assertFalse(handlerMethod.isGenerated());
+
+        handlerMethod.handle(request, response);
+        verify(request).setAttribute("hidden", Boolean.TRUE);
+    }
+
+    @Test
+    public void testCheckedExceptionIsWrapped() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(new Handlers(),
+                Handlers.class.getMethod("fail", HttpServletRequest.class, HttpServletResponse.class));
+        try {
+            handlerMethod.handle(request, response);
+            fail();
+        } catch (RequestMappingHandlerException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testReflectiveExceptionIsUnwrapped() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(new Handlers(),
+                Handlers.class.getDeclaredMethod("hiddenFail", HttpServletRequest.class, HttpServletResponse.class));
+        try {
+            handlerMethod.handle(request, response);
+            fail();
+        } catch (RequestMappingHandlerException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    public static class Handlers {
+        public void handle(HttpServletRequest req, HttpServletResponse resp) {
+            req.setAttribute("handled", Boolean.TRUE);
+        }
+
+        public void fail(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            throw new IOException();
+        }
+
+        private void hidden(HttpServletRequest req, HttpServletResponse resp) {
+            req.setAttribute("hidden", Boolean.TRUE);
+        }
+
+        private void hiddenFail(HttpServletRequest req, HttpServletResponse resp) {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package ua.abond.lab4.core.web.route;
+
+import org.junit.Before;
+import org.junit.Test;
+import ua.abond.lab4.core.exception.ImproperlyConfiguredException;
+import ua.abond.lab4.core.web.support.RequestMethod;
+
+import static org.junit.Assert.*;
+
+public class RouterTest {
+    private Router<String> router;
+
+    @Before
+    public void setUp() {
+        router = new Router<>();
+    }
+
+    @Test
+    public void testStaticRoute() {
+        router.add("/admin/apartments", RequestMethod.GET, "apartments");
+
+        RouteMatch<String> match = router.match(RequestMethod.GET, "/admin/apartments");
+        assertEquals("apartments", match.getHandler());
+        assertFalse(match.hasVariables());
+        assertNull(router.match(RequestMethod.GET, "/admin/apartment"));
+        assertNull(router.match(RequestMethod.GET, "/admin"));
+    }
+
+    @Test
+    public void testStaticMatchIsShared() {
+        router.add("/admin/apartments", RequestMethod.GET, "apartments");
+        assertSame(
+                router.match(RequestMethod.GET, "/admin/apartments"),
+                router.match(RequestMethod.GET, "/admin/apartments")
+        );
+    }
+
+    @Test
+    public void testRoot() {
+        router.add("/", RequestMethod.GET, "root");
+        assertEquals("root", router.match(RequestMethod.GET, "/").getHandler());
+        assertEquals("root", router.match(RequestMethod.GET, "").getHandler());
+        assertNull(router.match(RequestMethod.GET, "/other"));
+    }
+
+    @Test
+    public void testTrailingAndRepeatedSlashes() {
+        router.add("/admin/apartments", RequestMethod.GET, "apartments");
+        assertNotNull(router.match(RequestMethod.GET, "/admin/apartments/"));
+        assertNotNull(router.match(RequestMethod.GET, "//admin//apartments"));
+        assertNotNull(router.match(RequestMethod.GET, "admin/apartments"));
+    }
+
+    @Test
+    public void testOffsetSkipsContextPath() {
+        router.add("/admin/apartments", RequestMethod.GET, "apartments");
+        assertNotNull(router.match(RequestMethod.GET, "/app/admin/apartments", "/app".length()));
+        assertNull(router.match(RequestMethod.GET, "/app/admin/apartments"));
+    }
+
+    @Test
+    public void testMethodMatching() {
+        router.add("/apartment/new", RequestMethod.GET, "form");
+        router.add("/apartment/new", RequestMethod.POST, "create");
+
+        assertEquals("form", router.match(RequestMethod.GET, "/apartment/new").getHandler());
+        assertEquals("create", router.match(RequestMethod.POST, "/apartment/new").getHandler());
+    }
+
+    @Test
+    public void testMatchesAnyMethod() {
+        router.add("/apartment/update", RequestMethod.POST, "update");
+
+        assertNull(router.match(RequestMethod.GET, "/apartment/update"));
+        assertTrue(router.matches("/apartment/update", 0));
+        assertFalse(router.matches("/apartment/missing", 0));
+    }
+
+    @Test
+    public void testPathVariables() {
+        router.add("/users/{userId}/orders/{id}", RequestMethod.GET, "order");
+
+        RouteMatch<String> match = router.match(RequestMethod.GET, "/users/7/orders/42/");
+        assertEquals("order", match.getHandler());
+        assertEquals("7", match.getVariable("userId"));
+        assertEquals("42", match.getVariable("id"));
+        assertEquals(2, match.getVariables().size());
+        assertNull(router.match(RequestMethod.GET, "/users/7/orders"));
+    }
+
+    @Test
+    public void testPathVariablesByIndex() {
+        router.add("/ctx/*/users/{userId}//orders/{id}/**", RequestMethod.GET, "order");
+
+        RouteMatch<String> match = router.match(RequestMethod.GET, "/app/ctx/any/users/7/orders/42/a/b", 4);
+        assertEquals(2, match.getVariableCount());
+        assertEquals("userId", match.getVariableName(0));
+        assertEquals("7", match.getVariable(0));
+        assertEquals("id", match.getVariableName(1));
+        assertEquals("42", match.getVariable(1));
+        assertNull(match.getVariable("missing"));
+    }
+
+    @Test
+    public void testStaticSegmentWinsOverVariable() {
+        router.add("/apartment/{id}", RequestMethod.GET, "apartment");
+        router.add("/apartment/new", RequestMethod.GET, "form");
+
+        assertEquals("form", router.match(RequestMethod.GET, "/apartment/new").getHandler());
+        assertEquals("apartment", router.match(RequestMethod.GET, "/apartment/5").getHandler());
+    }
+
+    @Test
+    public void testBacktracksToVariable() {
+        router.add("/apartment/new/form", RequestMethod.GET, "form");
+        router.add("/apartment/{id}/edit", RequestMethod.GET, "edit");
+
+        RouteMatch<String> match = router.match(RequestMethod.GET, "/apartment/new/edit");
+        assertEquals("edit", match.getHandler());
+        assertEquals("new", match.getVariable("id"));
+    }
+
+    @Test
+    public void testBacktracksOnMethodMismatch() {
+        router.add("/apartment/new", RequestMethod.POST, "create");
+        router.add("/apartment/{id}", RequestMethod.GET, "apartment");
+
+        assertEquals("apartment", router.match(RequestMethod.GET, "/apartment/new").getHandler());
+    }
+
+    @Test
+    public void testWildcards() {
+        router.add("/static/*/logo", RequestMethod.GET, "logo");
+        router.add("/assets/**", RequestMethod.GET, "assets");
+
+        assertEquals("logo", router.match(RequestMethod.GET, "/static/v1/logo").getHandler());
+        assertNull(router.match(RequestMethod.GET, "/static/v1/v2/logo"));
+        assertEquals("assets", router.match(RequestMethod.GET, "/assets").getHandler());
+        assertEquals("assets", router.match(RequestMethod.GET, "/assets/css/site.css").getHandler());
+    }
+
+    @Test
+    public void testCatchAllIsLastResort() {
+        router.add("/**", RequestMethod.GET, "fallback");
+        router.add("/orders/{id}", RequestMethod.GET, "order");
+
+        assertEquals("order", router.match(RequestMethod.GET, "/orders/1").getHandler());
+        assertEquals("fallback", router.match(RequestMethod.GET, "/orders/1/details").getHandler());
+    }
+
+    @Test(expected = ImproperlyConfiguredException.class)
+    public void testCatchAllMustBeLast() {
+        router.add("/assets/**/logo", RequestMethod.GET, "logo");
+    }
+
+    @Test(expected = ImproperlyConfiguredException.class)
+    public void testAmbiguousMapping() {
+        router.add("/orders/{id}", RequestMethod.GET, "order");
+        router.add("/orders/{orderId}", RequestMethod.GET, "other");
+    }
+
+    @Test
+    public void testManyRoutes() {
+        for (int i = 0; i < 500; i++) {
+            router.add("/module" + (i % 10) + "/resource" + i, RequestMethod.GET, "r" + i);
+            router.add("/module" + (i % 10) + "/resource" + i + "/{id}", RequestMethod.POST, "v" + i);
+        }
+        assertEquals(1000, router.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("r" + i, router.match(RequestMethod.GET, "/module" + (i % 10) + "/resource" + i).getHandler());
+            RouteMatch<String> match =
+                    router.match(RequestMethod.POST, "/module" + (i % 10) + "/resource" + i + "/" + i);
+            assertEquals("v" + i, match.getHandler());
+            assertEquals(String.valueOf(i), match.getVariable("id"));
+        }
+        assertNull(router.match(RequestMethod.GET, "/module0/resource1"));
+    }
+}
@@ -0,0 +1,154 @@
+package ua.abond.lab4.core.web.servlet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncDispatchTest {
+    @Mock
+    private AsyncContext context;
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private RequestDispatcher dispatcher;
+
+    private AsyncHandlerExecutor executor;
+    private AsyncDispatch dispatch;
+
+    @Before
+    public void setUp() {
+        executor = new AsyncHandlerExecutor(1, 0, false);
+        dispatch = new AsyncDispatch(context, executor);
+        when(context.getResponse()).thenReturn(response);
+    }
+
+    @After
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    public void testForwardBecomesAsyncDispatch() throws Exception {
+        when(request.getRequestDispatcher("/view.jsp")).thenReturn(dispatcher);
+        HttpServletRequest wrapped = dispatch.wrap(request);
+
+        wrapped.getRequestDispatcher("/view.jsp").forward(wrapped, response);
+        dispatch.complete();
+
+        verify(context).dispatch("/view.jsp");
+        verify(context, never()).complete();
+        verify(dispatcher, never()).forward(any(), any());
+    }
+
+    @Test
+    public void testRelativeForwardIsDelegated() throws Exception {
+        when(request.getRequestDispatcher("view.jsp")).thenReturn(dispatcher);
+        HttpServletRequest wrapped = dispatch.wrap(request);
+
+        assertSame(dispatcher, wrapped.getRequestDispatcher("view.jsp"));
+    }
+
+    @Test
+    public void testTimeoutSendsServiceUnavailable() throws Exception {
+        dispatch.onTimeout(new AsyncEvent(context));
+        dispatch.complete();
+
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(context, times(1)).complete();
+        assertEquals(1, executor.getTimeoutCount());
+    }
+
+    @Test
+    public void testWritesAfterTimeoutAreDropped() throws Exception {
+        HttpServletRequest wrappedRequest = dispatch.wrap(request);
+        HttpServletResponse wrappedResponse = dispatch.wrap(response);
+        dispatch.onTimeout(new AsyncEvent(context));
+
+        wrappedResponse.getWriter().write("late");
+        wrappedResponse.getOutputStream().write(1);
+        wrappedResponse.sendRedirect("/");
+        wrappedResponse.setStatus(HttpServletResponse.SC_OK);
+        wrappedResponse.setHeader("X-Late", "true");
+        wrappedRequest.setAttribute("late", true);
+
+        verify(response).isCommitted();
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verifyNoMoreInteractions(response);
+        verify(request, never()).setAttribute(anyString(), any());
+    }
+
+    @Test
+    public void testWritesBeforeTimeoutAreDelegated() throws Exception {
+        StringWriter body = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(body));
+        HttpServletResponse wrapped = dispatch.wrap(response);
+
+        PrintWriter writer = wrapped.getWriter();
+        writer.write("early");
+        writer.flush();
+        dispatch.onTimeout(new AsyncEvent(context));
+        writer.write("late");
+        writer.flush();
+
+        assertEquals("early", body.toString());
+    }
+
+    @Test
+    public void testTimeoutInterruptsWorker() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread worker = new Thread(() -> {
+            assertTrue(dispatch.begin());
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            } finally {
+                dispatch.end();
+            }
+        });
+        worker.start();
+        started.await();
+        dispatch.onTimeout(new AsyncEvent(context));
+        worker.join(1000);
+
+        assertTrue(interrupted.get());
+        verify(context, times(1)).complete();
+    }
+
+    @Test
+    public void testWorkerDoesNotBeginAfterTimeout() throws Exception {
+        dispatch.onTimeout(new AsyncEvent(context));
+
+        assertFalse(dispatch.begin());
+    }
+
+    @Test
+    public void testTimeoutAfterCompletion() throws Exception {
+        dispatch.complete();
+        dispatch.onTimeout(new AsyncEvent(context));
+
+        verify(response, never()).sendError(anyInt());
+        verify(context, times(1)).complete();
+    }
+}
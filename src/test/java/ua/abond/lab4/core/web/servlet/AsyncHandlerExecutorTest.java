@@ -0,0 +1,89 @@
+package ua.abond.lab4.core.web.servlet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncHandlerExecutorTest {
+    private AsyncHandlerExecutor executor;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        executor = new AsyncHandlerExecutor(1, 1, false);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    public void testRunsTasks() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertFalse(executor.isVirtual());
+    }
+
+    @Test
+    public void testRejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        executor.execute(() -> await(release));
+
+        assertEquals(1, executor.getActiveCount());
+        assertEquals(1, executor.getQueueDepth());
+        try {
+            executor.execute(() -> {
+            });
+            fail();
+        } catch (RejectedExecutionException e) {
+            assertEquals(1, executor.getRejectedCount());
+        }
+    }
+
+    @Test
+    public void testCapacityIsReleased() throws Exception {
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(done::countDown);
+            Thread.sleep(20);
+        }
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(0, executor.getRejectedCount());
+        assertEquals(3, executor.getQueueLatency().getCount());
+    }
+
+    @Test
+    public void testTimeouts() {
+        executor.timedOut();
+        assertEquals(1, executor.getTimeoutCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoThreads() {
+        new AsyncHandlerExecutor(0, 1, false);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
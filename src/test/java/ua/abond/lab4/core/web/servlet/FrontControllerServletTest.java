@@ -3,10 +3,15 @@ package ua.abond.lab4.core.web.servlet;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.metrics.MetricRegistry;
 import ua.abond.lab4.core.web.exception.ApplicationException;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
@@ -14,6 +19,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -122,6 +128,18 @@ public class FrontControllerServletTest {
         verify(request).setAttribute(eq("error"), eq("error"));
     }
 
+    @Test
+    public void testExceptionControllerHandlesSubclass() throws Exception {
+        initServletWithConfig();
+        mockMethod("GET");
+        mockURI("/subclass");
+
+        servlet.service(request, response);
+
+        verify(request).setAttribute(eq("error"), eq("error"));
+        verify(response, never()).sendError(anyInt());
+    }
+
     @Test
     public void testExceptionControllerThatItselfThrowsException() throws Exception {
         initServletWithConfig();
@@ -133,6 +151,118 @@ public class FrontControllerServletTest {
         verify(response).sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
 
+    @Test
+    public void testPathVariableIsExposedAsParameter() throws Exception {
+        initServletWithConfig();
+        mockMethod("GET");
+        mockURI("/items/42");
+
+        servlet.service(request, response);
+
+        verify(request).setAttribute("id", "42");
+    }
+
+    @Test
+    public void testContextPathAndTrailingSlash() throws Exception {
+        initServletWithConfig();
+        mockMethod("GET");
+        mockURI("/app/items/7/");
+        when(request.getContextPath()).thenReturn("/app");
+
+        servlet.service(request, response);
+
+        verify(request).setAttribute("id", "7");
+    }
+
+    @Test
+    public void testMethodNotAllowed() throws Exception {
+        initServletWithConfig();
+        mockMethod("POST");
+        mockURI("/exception");
+
+        servlet.service(request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+    }
+
+    @Test
+    public void testAsyncHandlerRunsOnExecutor() throws Exception {
+        AsyncContext context = mock(AsyncContext.class);
+        when(config.getInitParameter("asyncVirtualThreads")).thenReturn("false");
+        initServletWithConfig();
+        mockMethod("GET");
+        mockURI("/async");
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync(any(), any())).thenReturn(context);
+
+        servlet.service(request, response);
+
+        verify(context).addListener(any(AsyncListener.class));
+        verify(context, timeout(1000)).dispatch("/test");
+        verify(request).setAttribute(eq("thread"), startsWith("async-handler-"));
+        verify(dispatcher, never()).forward(any(), any());
+        verify(context, never()).complete();
+    }
+
+    @Test
+    public void testAsyncHandlerWritesAfterTimeoutAreDropped() throws Exception {
+        AsyncContext context = mock(AsyncContext.class);
+        when(config.getInitParameter("asyncVirtualThreads")).thenReturn("false");
+        initServletWithConfig();
+        mockMethod("GET");
+        mockURI("/slow");
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync(any(), any())).thenReturn(context);
+        when(context.getResponse()).thenReturn(response);
+
+        servlet.service(request, response);
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(context).addListener(listener.capture());
+        verify(request, timeout(1000)).setAttribute("started", true);
+        listener.getValue().onTimeout(new AsyncEvent(context));
+
+        AsyncHandlerExecutor executor = ((FrontControllerServlet) servlet).getAsyncExecutor();
+        long deadline = System.currentTimeMillis() + 1000;
+        while (executor.getCompletedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, executor.getCompletedCount());
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response, never()).getWriter();
+        verify(response, never()).sendRedirect(anyString());
+        verify(request, never()).setAttribute(eq("interrupted"), any());
+        verify(context, times(1)).complete();
+    }
+
+    @Test
+    public void testAsyncHandlerRunsInlineWhenUnsupported() throws Exception {
+        initServletWithConfig();
+        mockMethod("GET");
+        mockURI("/async");
+
+        servlet.service(request, response);
+
+        verify(request, never()).startAsync(any(), any());
+        verify(dispatcher).forward(request, response);
+    }
+
+    @Test
+    public void testRequestMetrics() throws Exception {
+        initServletWithConfig();
+        mockMethod("GET");
+        mockURI("/");
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+        servlet.service(request, response);
+        mockURI("test");
+        servlet.service(request, response);
+
+        MetricRegistry registry = ((FrontControllerServlet) servlet).getMetricRegistry();
+        assertEquals(1, registry.timer(RouteHandler.LATENCY, null, "method", "GET", "route", "/").getCount());
+        assertEquals(1, registry.counter(RouteHandler.REQUESTS, null,
+                "method", "GET", "route", "/", "status", "200").getCount());
+        assertEquals(1, registry.counter("http_requests_unmatched_total", null, "status", "404").getCount());
+    }
+
     private void mockMethod(String method) {
         when(request.getMethod()).
                 thenReturn(method);
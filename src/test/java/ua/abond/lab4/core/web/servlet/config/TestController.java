@@ -3,6 +3,7 @@ package ua.abond.lab4.core.web.servlet.config;
 import ua.abond.lab4.core.web.annotation.Controller;
 import ua.abond.lab4.core.web.annotation.RequestMapping;
 import ua.abond.lab4.core.web.support.RequestMethod;
+import ua.abond.lab4.service.exception.ResourceNotFoundException;
 import ua.abond.lab4.service.exception.ServiceException;
 
 import javax.servlet.ServletException;
@@ -25,12 +26,43 @@ public class TestController {
         throw new ServiceException();
     }
 
+    @RequestMapping("/subclass")
+    public void getSubclassException(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException, ServiceException {
+        throw new ResourceNotFoundException();
+    }
+
+    @RequestMapping(value = "/async", async = true)
+    public void getAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        req.setAttribute("thread", Thread.currentThread().getName());
+        req.getRequestDispatcher("/test").forward(req, resp);
+    }
+
+    @RequestMapping(value = "/slow", async = true)
+    public void getSlow(HttpServletRequest req, HttpServletResponse resp)
+            throws IOException {
+        req.setAttribute("started", true);
+        try {
+            Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+            req.setAttribute("interrupted", true);
+        }
+        resp.getWriter().write("late");
+        resp.sendRedirect("/");
+    }
+
     @RequestMapping("/runtime")
     public void getRuntime(HttpServletRequest req, HttpServletResponse resp)
             throws ServletException, IOException, ServiceException {
         throw new RuntimeException();
     }
 
+    @RequestMapping("/items/{id}")
+    public void getItem(HttpServletRequest req, HttpServletResponse resp) {
+        req.setAttribute("id", req.getParameter("id"));
+    }
+
     @RequestMapping(value = "/", method = RequestMethod.POST)
     public void post(HttpServletRequest req, HttpServletResponse resp)
             throws IOException {
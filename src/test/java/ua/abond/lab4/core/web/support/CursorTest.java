@@ -0,0 +1,40 @@
+package ua.abond.lab4.core.web.support;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class CursorTest {
+
+    @Test
+    public void testTokenRoundTrip() throws Exception {
+        Cursor cursor = Cursor.after(1234L);
+        assertEquals(Optional.of(cursor), Cursor.parse(cursor.getToken()));
+    }
+
+    @Test
+    public void testNegativeIdRoundTrip() throws Exception {
+        Cursor cursor = Cursor.after(-5L);
+        assertEquals(-5L, Cursor.parse(cursor.getToken()).get().getLastId());
+    }
+
+    @Test
+    public void testFirstHasEmptyToken() throws Exception {
+        assertEquals("", Cursor.first().getToken());
+        assertTrue(Cursor.parse("").get().isFirst());
+    }
+
+    @Test
+    public void testTokenIsOpaque() throws Exception {
+        assertFalse(Cursor.after(42L).getToken().contains("42"));
+    }
+
+    @Test
+    public void testParseInvalidToken() throws Exception {
+        assertFalse(Cursor.parse("not a token").isPresent());
+        assertFalse(Cursor.parse("NDI").isPresent());
+        assertFalse(Cursor.parse(null).isPresent());
+    }
+}
@@ -0,0 +1,86 @@
+package ua.abond.lab4.core.web.support;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class DefaultPageTest {
+
+    @Test
+    public void testKnownTotal() throws Exception {
+        Page<String> page = new DefaultPage<>(Arrays.asList("a", "b"), 5, new DefaultPageable(1, 2, SortOrder.ASC));
+        assertTrue(page.isTotalKnown());
+        assertEquals(3, page.getTotalPages());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public void testLastPageHasNoNext() throws Exception {
+        Page<String> page = new DefaultPage<>(Collections.singletonList("e"), 5, new DefaultPageable(3, 2, SortOrder.ASC));
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void testUnknownTotal() throws Exception {
+        Page<String> page = new DefaultPage<>(Arrays.asList("a", "b"), new DefaultPageable(1, 2, SortOrder.ASC), true);
+        assertFalse(page.isTotalKnown());
+        assertEquals(Page.UNKNOWN_TOTAL, page.getTotalElements());
+        assertEquals(Page.UNKNOWN_TOTAL, page.getTotalPages());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public void testKeysetPage() throws Exception {
+        Pageable pageable = new DefaultPageable(Cursor.first(), 2, SortOrder.ASC);
+        Page<String> page = new DefaultPage<>(Arrays.asList("a", "b"), pageable, Cursor.after(2L));
+        assertTrue(page.isKeyset());
+        assertTrue(page.hasNext());
+        assertEquals(Cursor.after(2L), page.getNextCursor());
+    }
+
+    @Test
+    public void testCountModeIsKeptAcrossPages() throws Exception {
+        Pageable pageable = new DefaultPageable(1, 2, SortOrder.ASC).withCountMode(CountMode.NONE);
+        assertEquals(CountMode.NONE, pageable.next().getCountMode());
+        assertEquals(CountMode.NONE, pageable.after(Cursor.first()).getCountMode());
+    }
+
+    @Test
+    public void testPreviousOrFirst() throws Exception {
+        Pageable pageable = new DefaultPageable(3, 2, SortOrder.ASC);
+        assertEquals(2, pageable.previousOrFirst().getPageNumber());
+        assertEquals(1, pageable.previousOrFirst().previousOrFirst().getPageNumber());
+        assertEquals(1, pageable.first().previousOrFirst().getPageNumber());
+    }
+
+    @Test
+    public void testKeysetNextPageableUsesNextCursor() throws Exception {
+        Pageable pageable = new DefaultPageable(Cursor.first(), 2, SortOrder.ASC).withCountMode(CountMode.NONE);
+        Page<String> page = new DefaultPage<>(Arrays.asList("a", "b"), pageable, Cursor.after(2L));
+
+        Pageable next = page.nextPageable();
+        assertEquals(Cursor.after(2L), next.getCursor());
+        assertEquals(0, next.getOffset());
+        assertEquals(CountMode.NONE, next.getCountMode());
+    }
+
+    @Test
+    public void testOffsetNextPageable() throws Exception {
+        Page<String> page = new DefaultPage<>(Arrays.asList("a", "b"), 5, new DefaultPageable(1, 2, SortOrder.ASC));
+        assertEquals(2, page.nextPageable().getPageNumber());
+    }
+
+    @Test
+    public void testLastPageHasNoNextPageable() throws Exception {
+        Pageable pageable = new DefaultPageable(Cursor.after(4L), 2, SortOrder.ASC);
+        assertNull(new DefaultPage<>(Collections.singletonList("e"), pageable, (Cursor) null).nextPageable());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testKeysetPageableDoesNotFallBackToOffset() throws Exception {
+        new DefaultPageable(Cursor.after(2L), 2, SortOrder.ASC).next();
+    }
+}
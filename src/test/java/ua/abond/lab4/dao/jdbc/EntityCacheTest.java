@@ -0,0 +1,158 @@
+package ua.abond.lab4.dao.jdbc;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.cache.Cache;
+import ua.abond.lab4.core.tm.RoutingDataSource;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.domain.ApartmentType;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityCacheTest {
+    @Mock
+    private TransactionManager tm;
+
+    private AtomicInteger loads;
+    private Function<Long, Optional<ApartmentType>> loader;
+    private EntityCache<ApartmentType> cache;
+
+    @Before
+    public void setUp() {
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return id > 0 ? Optional.of(new ApartmentType(id, "type")) : Optional.empty();
+        };
+        cache = new EntityCache<>(new Cache("types", 2, 60_000), tm, ApartmentType::new);
+    }
+
+    @Test
+    public void testHitReturnsCopy() {
+        ApartmentType first = cache.getById(1L, loader).get();
+        first.setName("changed");
+        ApartmentType second = cache.getById(1L, loader).get();
+        assertEquals("type", second.getName());
+        assertNotSame(second, cache.getById(1L, loader).get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testMissingEntityIsNotCached() {
+        assertFalse(cache.getById(-1L, loader).isPresent());
+        assertFalse(cache.getById(-1L, loader).isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEvictWithoutTransaction() {
+        cache.getById(1L, loader);
+        cache.evict(1L);
+        cache.getById(1L, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testRowWrittenInTransactionIsReadFromOverlay() {
+        cache.getById(1L, loader);
+        when(tm.hasBegun()).thenReturn(true);
+        cache.evict(1L);
+        ApartmentType own = cache.getById(1L, loader).get();
+        own.setName("changed");
+        assertEquals("type", cache.getById(1L, loader).get().getName());
+        assertEquals(2, loads.get());
+
+        cache.evict(1L);
+        cache.getById(1L, loader);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testCommitEvictsOverlayAndCompletionDropsIt() {
+        when(tm.hasBegun()).thenReturn(true);
+        cache.evict(1L);
+        cache.evict(2L);
+        ArgumentCaptor<Runnable> commit = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Runnable> completion = ArgumentCaptor.forClass(Runnable.class);
+        verify(tm).afterCommit(commit.capture());
+        verify(tm).afterCompletion(completion.capture());
+
+        cache.getById(1L, loader);
+        cache.getById(1L, loader);
+        assertEquals(1, loads.get());
+        when(tm.hasBegun()).thenReturn(false);
+        cache.getById(2L, loader);
+        commit.getValue().run();
+        completion.getValue().run();
+        cache.getById(2L, loader);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testRollbackDropsOverlay() {
+        cache.getById(1L, loader);
+        when(tm.hasBegun()).thenReturn(true);
+        cache.evict(1L);
+        cache.getById(1L, loader);
+        ArgumentCaptor<Runnable> completion = ArgumentCaptor.forClass(Runnable.class);
+        verify(tm).afterCompletion(completion.capture());
+        completion.getValue().run();
+
+        cache.getById(1L, loader);
+        assertEquals(3, loads.get());
+        cache.evict(1L);
+        verify(tm, times(2)).afterCompletion(completion.capture());
+    }
+
+    @Test
+    public void testTransactionReadsThroughCacheWithoutStoringMisses() {
+        cache.getById(1L, loader);
+        when(tm.hasBegun()).thenReturn(true);
+        cache.getById(1L, loader);
+        cache.getById(2L, loader);
+        cache.getById(2L, loader);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testMissIsLoadedFromPrimary() {
+        AtomicBoolean primary = new AtomicBoolean();
+        cache.getById(1L, id -> {
+            primary.set(RoutingDataSource.isPrimary());
+            return loader.apply(id);
+        });
+        assertTrue(primary.get());
+        assertFalse(RoutingDataSource.isPrimary());
+    }
+
+    @Test
+    public void testCommitInvalidatesEntityCachedDuringTransaction() throws Exception {
+        Thread writer = Thread.currentThread();
+        when(tm.hasBegun()).thenAnswer(invocation -> Thread.currentThread() == writer);
+        cache.evict(1L);
+        ArgumentCaptor<Runnable> commit = ArgumentCaptor.forClass(Runnable.class);
+        verify(tm).afterCommit(commit.capture());
+
+        Thread reader = new Thread(() -> cache.getById(1L, loader));
+        reader.start();
+        reader.join();
+        commit.getValue().run();
+        assertEquals(1, loads.get());
+        when(tm.hasBegun()).thenReturn(false);
+        cache.getById(1L, loader);
+        assertEquals(2, loads.get());
+    }
+}
@@ -1,6 +1,8 @@
 package ua.abond.lab4.dao.jdbc;
 
 import org.junit.Test;
+import ua.abond.lab4.core.web.support.CountMode;
+import ua.abond.lab4.core.web.support.Cursor;
 import ua.abond.lab4.core.web.support.DefaultPageable;
 import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.SortOrder;
@@ -11,6 +13,8 @@ import ua.abond.lab4.domain.Request;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,6 +76,44 @@ public class JdbcApartmentDAOTest extends JdbcDAOTest {
         assertEquals(apartment.getType(), updated.getType());
     }
 
+    @Test
+    public void testCreateAll() throws Exception {
+        List<Apartment> apartments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Apartment apartment = new Apartment();
+            apartment.setType(apartmentTypeDAO.getByName("vip").get());
+            apartment.setRoomCount(i + 1);
+            apartment.setPrice(new BigDecimal(10));
+            apartments.add(apartment);
+        }
+        apartmentDAO.createAll(apartments);
+
+        for (Apartment apartment : apartments) {
+            assertNotNull(apartment.getId());
+            assertEquals(apartment.getRoomCount(), apartmentDAO.getById(apartment.getId()).get().getRoomCount());
+        }
+    }
+
+    @Test
+    public void testUpdateAll() throws Exception {
+        Apartment first = apartmentDAO.getById(1L).get();
+        Apartment second = apartmentDAO.getById(2L).get();
+        first.setRoomCount(7);
+        second.setRoomCount(8);
+        apartmentDAO.updateAll(Arrays.asList(first, second));
+
+        assertEquals(7, apartmentDAO.getById(1L).get().getRoomCount());
+        assertEquals(8, apartmentDAO.getById(2L).get().getRoomCount());
+    }
+
+    @Test
+    public void testDeleteAllById() throws Exception {
+        assertNotEquals(Optional.empty(), apartmentDAO.getById(100L));
+        apartmentDAO.deleteAllById(Arrays.asList(4L, 100L));
+        assertEquals(Optional.empty(), apartmentDAO.getById(4L));
+        assertEquals(Optional.empty(), apartmentDAO.getById(100L));
+    }
+
     @Test
     public void testDeleteById() throws Exception {
         assertNotEquals(Optional.empty(), apartmentDAO.getById(100L));
@@ -134,4 +176,53 @@ public class JdbcApartmentDAOTest extends JdbcDAOTest {
         assertEquals(5, page.getTotalElements());
         assertEquals(5, page.getTotalPages());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testListKeyset() {
+        Page<Apartment> first = apartmentDAO.list(new DefaultPageable(Cursor.first(), 3, SortOrder.ASC));
+        assertEquals(3, first.getSize());
+        assertEquals(Long.valueOf(0L), first.getContent().get(0).getId());
+        assertEquals(Cursor.after(2L), first.getNextCursor());
+
+        Page<Apartment> second = apartmentDAO.list(new DefaultPageable(first.getNextCursor(), 3, SortOrder.ASC));
+        assertEquals(3, second.getSize());
+        assertEquals(Long.valueOf(3L), second.getContent().get(0).getId());
+
+        Page<Apartment> last = apartmentDAO.list(new DefaultPageable(second.getNextCursor(), 3, SortOrder.ASC));
+        assertEquals(1, last.getSize());
+        assertEquals(Long.valueOf(100L), last.getContent().get(0).getId());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    public void testListFreeKeysetMatchesOffset() {
+        LocalDateTime from = LocalDateTime.now().minusYears(10);
+        LocalDateTime to = from.plusDays(1);
+        Page<Apartment> offset = apartmentDAO.listFree(new DefaultPageable(2, 2, SortOrder.ASC), from, to);
+        Page<Apartment> keyset = apartmentDAO.listFree(new DefaultPageable(Cursor.after(1L), 2, SortOrder.ASC), from, to);
+
+        assertEquals(offset.getSize(), keyset.getSize());
+        for (int i = 0; i < offset.getSize(); i++) {
+            assertEquals(offset.getContent().get(i).getId(), keyset.getContent().get(i).getId());
+        }
+    }
+
+    @Test
+    public void testListWithoutCount() {
+        Page<Apartment> page = apartmentDAO.list(new DefaultPageable(1, 5, SortOrder.ASC).withCountMode(CountMode.NONE));
+        assertEquals(5, page.getSize());
+        assertFalse(page.isTotalKnown());
+        assertTrue(page.hasNext());
+
+        Page<Apartment> last = apartmentDAO.list(new DefaultPageable(2, 5, SortOrder.ASC).withCountMode(CountMode.NONE));
+        assertEquals(2, last.getSize());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    public void testListTotalBeyondLastPage() {
+        Page<Apartment> page = apartmentDAO.list(new DefaultPageable(10, 5, SortOrder.ASC));
+        assertFalse(page.hasContent());
+        assertEquals(7, page.getTotalElements());
+    }
+}
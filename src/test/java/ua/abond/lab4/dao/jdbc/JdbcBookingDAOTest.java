@@ -0,0 +1,87 @@
+package ua.abond.lab4.dao.jdbc;
+
+import org.junit.Test;
+import ua.abond.lab4.core.web.support.DefaultPageable;
+import ua.abond.lab4.core.web.support.Page;
+import ua.abond.lab4.core.web.support.SortOrder;
+import ua.abond.lab4.dao.ApartmentDAO;
+import ua.abond.lab4.dao.BookingDAO;
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class JdbcBookingDAOTest extends JdbcDAOTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2016, 10, 2, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2016, 10, 4, 0, 0);
+
+    private BookingDAO bookingDAO;
+    private ApartmentDAO apartmentDAO;
+
+    @Override
+    protected void onBeforeSetup() throws Exception {
+        dataSet = loadDataSet("apartments.xml");
+        bookingDAO = beanFactory.getBean(BookingDAO.class);
+        apartmentDAO = beanFactory.getBean(ApartmentDAO.class);
+    }
+
+    @Test
+    public void testCreate() throws Exception {
+        Booking booking = createBooking(0L, FROM, TO);
+
+        assertNotNull(booking.getId());
+        Optional<Booking> byId = bookingDAO.getById(booking.getId());
+        assertEquals(Optional.of(booking), byId);
+    }
+
+    @Test
+    public void testIsBookedHalfOpen() throws Exception {
+        createBooking(0L, FROM, TO);
+
+        assertTrue(bookingDAO.isBooked(0L, FROM.minusDays(1), FROM.plusHours(1)));
+        assertTrue(bookingDAO.isBooked(0L, TO.minusHours(1), TO.plusDays(1)));
+        assertFalse(bookingDAO.isBooked(0L, TO, TO.plusDays(1)));
+        assertFalse(bookingDAO.isBooked(0L, FROM.minusDays(1), FROM));
+        assertFalse(bookingDAO.isBooked(1L, FROM, TO));
+    }
+
+    @Test
+    public void testList() throws Exception {
+        Booking first = createBooking(0L, FROM, TO);
+        Booking second = createBooking(1L, FROM, TO);
+
+        assertEquals(Arrays.asList(first, second), bookingDAO.list());
+    }
+
+    @Test
+    public void testDeleteByRequestId() throws Exception {
+        Booking booking = createBooking(0L, FROM, TO);
+        bookingDAO.deleteByRequestId(booking.getRequestId());
+
+        assertFalse(bookingDAO.isBooked(0L, FROM, TO));
+    }
+
+    @Test
+    public void testListFreeSkipsBookedApartments() throws Exception {
+        createBooking(0L, FROM, TO);
+        Page<Apartment> page = apartmentDAO.listFree(new DefaultPageable(1, 10, SortOrder.ASC), FROM, TO);
+
+        assertEquals(6, page.getTotalElements());
+        assertTrue(page.getContent().stream().noneMatch(a -> a.getId() == 0L));
+    }
+
+    private Booking createBooking(Long apartmentId, LocalDateTime from, LocalDateTime to) {
+        Booking booking = new Booking();
+        booking.setRequestId(apartmentId + 1000);
+        booking.setOrderId(apartmentId + 1000);
+        booking.setApartmentId(apartmentId);
+        booking.setFrom(from);
+        booking.setTo(to);
+        bookingDAO.create(booking);
+        return booking;
+    }
+}
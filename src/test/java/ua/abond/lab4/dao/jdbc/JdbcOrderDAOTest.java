@@ -5,11 +5,15 @@ import ua.abond.lab4.core.web.support.DefaultPageable;
 import ua.abond.lab4.core.web.support.Page;
 import ua.abond.lab4.core.web.support.SortOrder;
 import ua.abond.lab4.dao.ApartmentDAO;
+import ua.abond.lab4.dao.BookingDAO;
 import ua.abond.lab4.dao.OrderDAO;
 import ua.abond.lab4.dao.RequestDAO;
+import ua.abond.lab4.domain.Booking;
 import ua.abond.lab4.domain.Order;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -18,6 +22,7 @@ public class JdbcOrderDAOTest extends JdbcDAOTest {
     private OrderDAO orderDAO;
     private ApartmentDAO apartmentDAO;
     private RequestDAO requestDAO;
+    private BookingDAO bookingDAO;
 
     @Override
     protected void onBeforeSetup() throws Exception {
@@ -25,6 +30,7 @@ public class JdbcOrderDAOTest extends JdbcDAOTest {
         orderDAO = beanFactory.getBean(OrderDAO.class);
         apartmentDAO = beanFactory.getBean(ApartmentDAO.class);
         requestDAO = beanFactory.getBean(RequestDAO.class);
+        bookingDAO = beanFactory.getBean(BookingDAO.class);
     }
 
     @Test
@@ -39,6 +45,47 @@ public class JdbcOrderDAOTest extends JdbcDAOTest {
         assertNotNull(orderDAO.getById(order.getId()).get());
     }
 
+    @Test
+    public void testCreateAllWritesBookings() throws Exception {
+        List<Order> orders = Arrays.asList(order(20L, 0L), order(21L, 1L));
+        orderDAO.createAll(orders);
+
+        List<Booking> bookings = bookingDAO.list();
+        assertEquals(2, bookings.size());
+        for (int i = 0; i < orders.size(); i++) {
+            assertNotNull(orders.get(i).getId());
+            assertEquals(orders.get(i).getId(), bookings.get(i).getOrderId());
+            assertEquals(orders.get(i).getRequest().getId(), bookings.get(i).getRequestId());
+            assertEquals(orders.get(i).getApartment().getId(), bookings.get(i).getApartmentId());
+        }
+    }
+
+    @Test
+    public void testUpdateAllMovesBookings() throws Exception {
+        List<Order> orders = Arrays.asList(order(20L, 0L), order(21L, 1L));
+        orderDAO.createAll(orders);
+        orders.get(0).setApartment(apartmentDAO.getById(100L).get());
+        orders.get(1).setPayed(true);
+        orderDAO.updateAll(orders);
+
+        List<Booking> bookings = bookingDAO.list();
+        assertEquals(Long.valueOf(100L), bookings.get(0).getApartmentId());
+        assertEquals(Long.valueOf(1L), bookings.get(1).getApartmentId());
+        assertEquals(Long.valueOf(100L), orderDAO.getById(orders.get(0).getId()).get().getApartment().getId());
+        assertTrue(orderDAO.getById(orders.get(1).getId()).get().isPayed());
+    }
+
+    @Test
+    public void testDeleteAllByIdRemovesBookings() throws Exception {
+        List<Order> orders = Arrays.asList(order(20L, 0L), order(21L, 1L));
+        orderDAO.createAll(orders);
+        orderDAO.deleteAllById(Arrays.asList(orders.get(0).getId(), orders.get(1).getId()));
+
+        assertEquals(Optional.empty(), orderDAO.getById(orders.get(0).getId()));
+        assertEquals(Optional.empty(), orderDAO.getById(orders.get(1).getId()));
+        assertTrue(bookingDAO.list().isEmpty());
+    }
+
     @Test
     public void testGetById() throws Exception {
         Optional<Order> byId = orderDAO.getById(0L);
@@ -126,4 +173,13 @@ public class JdbcOrderDAOTest extends JdbcDAOTest {
         Order order = orderDAO.findByRequestId(0L).orElse(null);
         assertNull(order);
     }
-}
\ No newline at end of file
+
+    private Order order(Long requestId, Long apartmentId) {
+        Order order = new Order();
+        order.setPayed(false);
+        order.setPrice(new BigDecimal(10));
+        order.setRequest(requestDAO.getById(requestId).get());
+        order.setApartment(apartmentDAO.getById(apartmentId).get());
+        return order;
+    }
+}
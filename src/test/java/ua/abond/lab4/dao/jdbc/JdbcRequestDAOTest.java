@@ -14,6 +14,8 @@ import ua.abond.lab4.domain.Request;
 import ua.abond.lab4.domain.RequestStatus;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -84,6 +86,38 @@ public class JdbcRequestDAOTest extends JdbcDAOTest {
         assertTrue(Optional.empty().equals(requestDAO.getById(0L)));
     }
 
+    @Test
+    public void testCreateAll() throws Exception {
+        Request first = requestDAO.getById(0L).get();
+        Request second = requestDAO.getById(1L).get();
+        List<Request> requests = Arrays.asList(first, second);
+        requestDAO.createAll(requests);
+
+        assertNotEquals(Long.valueOf(0L), first.getId());
+        assertNotEquals(Long.valueOf(1L), second.getId());
+        assertEquals(first.getFrom(), requestDAO.getById(first.getId()).get().getFrom());
+        assertEquals(second.getFrom(), requestDAO.getById(second.getId()).get().getFrom());
+    }
+
+    @Test
+    public void testUpdateAll() throws Exception {
+        Request first = requestDAO.getById(0L).get();
+        Request second = requestDAO.getById(1L).get();
+        first.setStatus(RequestStatus.REJECTED);
+        second.setStatus(RequestStatus.REJECTED);
+        requestDAO.updateAll(Arrays.asList(first, second));
+
+        assertEquals(RequestStatus.REJECTED, requestDAO.getById(0L).get().getStatus());
+        assertEquals(RequestStatus.REJECTED, requestDAO.getById(1L).get().getStatus());
+    }
+
+    @Test
+    public void testDeleteAllById() throws Exception {
+        requestDAO.deleteAllById(Arrays.asList(0L, 1L));
+        assertEquals(Optional.empty(), requestDAO.getById(0L));
+        assertEquals(Optional.empty(), requestDAO.getById(1L));
+    }
+
     @Test
     public void testList() throws Exception {
         Page<Request> list = requestDAO.list(new DefaultPageable(1, 1, SortOrder.ASC));
@@ -44,4 +44,26 @@ public class BCryptPasswordEncoderTest {
                 "йцукенгшщзхїфівапролджєячсмитьбю.";
         assertTrue(encoder.matches(message, encoder.encode(message)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNeedsRehashWhenCostChanges() {
+        String encoded = new BCryptPasswordEncoder(4).encode(message);
+        assertEquals(4, BCryptPasswordEncoder.getLogRounds(encoded));
+        assertFalse(new BCryptPasswordEncoder(4).needsRehash(encoded));
+        assertTrue(new BCryptPasswordEncoder(5).needsRehash(encoded));
+        assertTrue(encoder.matches(message, encoded));
+    }
+
+    @Test
+    public void testLogRoundsOfMalformedHash() {
+        assertEquals(-1, BCryptPasswordEncoder.getLogRounds(null));
+        assertEquals(-1, BCryptPasswordEncoder.getLogRounds("plain"));
+        assertEquals(-1, BCryptPasswordEncoder.getLogRounds("$2a$xx$"));
+        assertEquals(12, BCryptPasswordEncoder.getLogRounds("$2$12$abc"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLogRounds() {
+        new BCryptPasswordEncoder(3);
+    }
+}
@@ -0,0 +1,79 @@
+package ua.abond.lab4.security;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BoundedPasswordEncoderTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final PasswordEncoder blocking = new PasswordEncoder() {
+        @Override
+        public String encode(String password) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return password;
+        }
+
+        @Override
+        public boolean matches(String rawPassword, String encodedPassword) {
+            return rawPassword.equals(encodedPassword);
+        }
+    };
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDelegates() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, 10_000);
+        String encoded = encoder.encode("secret");
+        assertTrue(encoder.matches("secret", encoded));
+        assertFalse(encoder.matches("other", encoded));
+        assertTrue(encoder.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+    }
+
+    @Test(expected = PasswordEncoderBusyException.class)
+    public void testRejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 10_000);
+        callers = Executors.newFixedThreadPool(2);
+        callers.submit(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("b"));
+        while (encoder.getQueueDepth() == 0) {
+            Thread.sleep(1);
+        }
+        encoder.encode("c");
+    }
+
+    @Test(expected = PasswordEncoderBusyException.class)
+    public void testTimesOut() {
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 50);
+        encoder.encode("a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueue() {
+        new BoundedPasswordEncoder(blocking, 1, 0, 50);
+    }
+}
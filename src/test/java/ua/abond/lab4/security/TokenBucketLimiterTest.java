@@ -0,0 +1,56 @@
+package ua.abond.lab4.security;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TokenBucketLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void testBurstThenRefill() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 10, now::get);
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void testRefillIsCappedAtCapacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 10, now::get);
+        assertTrue(limiter.tryAcquire("a"));
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void testFullBucketsAreEvicted() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 2, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("c");
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    public void testLoginThrottleChecksLoginAndAddress() {
+        LoginThrottle throttle = new LoginThrottle(
+                new TokenBucketLimiter(1, 1, 10, now::get),
+                new TokenBucketLimiter(2, 1, 10, now::get)
+        );
+        assertTrue(throttle.tryAcquire("Login", "10.0.0.1"));
+        assertFalse(throttle.tryAcquire("login", "10.0.0.2"));
+        assertTrue(throttle.tryAcquire("other", "10.0.0.1"));
+        assertFalse(throttle.tryAcquire("third", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,103 @@
+package ua.abond.lab4.service.availability;
+
+import org.junit.Test;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.core.web.support.CountMode;
+import ua.abond.lab4.core.web.support.Cursor;
+import ua.abond.lab4.core.web.support.DefaultPageable;
+import ua.abond.lab4.core.web.support.Pageable;
+import ua.abond.lab4.core.web.support.SortOrder;
+import ua.abond.lab4.dao.ApartmentDAO;
+import ua.abond.lab4.dao.BookingDAO;
+import ua.abond.lab4.dao.jdbc.JdbcDAOTest;
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.domain.Booking;
+import ua.abond.lab4.domain.Request;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AvailabilityIndexConsistencyTest extends JdbcDAOTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2016, 10, 1, 0, 0);
+
+    private ApartmentDAO apartmentDAO;
+    private BookingDAO bookingDAO;
+    private AvailabilityIndex index;
+
+    @Override
+    protected void onBeforeSetup() throws Exception {
+        dataSet = loadDataSet("apartments.xml");
+        apartmentDAO = beanFactory.getBean(ApartmentDAO.class);
+        bookingDAO = beanFactory.getBean(BookingDAO.class);
+    }
+
+    @Test
+    public void testIndexMatchesDatabase() throws Exception {
+        book(1L, 0L, 0, 2);
+        book(2L, 0L, 5, 7);
+        book(3L, 2L, 1, 3);
+        book(4L, 3L, 2, 10);
+        book(5L, 100L, 0, 1);
+        index = new AvailabilityIndex(AvailabilityEngine.VERIFY, apartmentDAO, bookingDAO,
+                beanFactory.getBean(TransactionManager.class));
+        index.load();
+
+        for (int from = 0; from < 11; from++) {
+            for (int length = 0; length < 4; length++) {
+                LocalDateTime start = BASE.plusDays(from);
+                LocalDateTime end = start.plusDays(length);
+                for (Pageable pageable : pageables()) {
+                    assertTrue(index.verify(
+                            apartmentDAO.listFree(pageable, start, end),
+                            index.listFree(pageable, start, end)
+                    ));
+                    Request filter = filter(4, "business", start, end);
+                    assertTrue(index.verify(
+                            apartmentDAO.list(pageable, filter),
+                            index.listFree(pageable, filter)
+                    ));
+                }
+            }
+        }
+        assertEquals(0, index.getMismatchCount());
+    }
+
+    private List<Pageable> pageables() {
+        return Arrays.asList(
+                new DefaultPageable(1, 10, SortOrder.ASC),
+                new DefaultPageable(2, 2, SortOrder.ASC),
+                new DefaultPageable(5, 2, SortOrder.ASC),
+                new DefaultPageable(2, 3, SortOrder.ASC).withCountMode(CountMode.NONE),
+                new DefaultPageable(Cursor.first(), 2, SortOrder.ASC),
+                new DefaultPageable(Cursor.after(2L), 2, SortOrder.ASC)
+        );
+    }
+
+    private void book(Long requestId, Long apartmentId, int fromDay, int toDay) {
+        Booking booking = new Booking();
+        booking.setRequestId(requestId);
+        booking.setOrderId(requestId);
+        booking.setApartmentId(apartmentId);
+        booking.setFrom(BASE.plusDays(fromDay));
+        booking.setTo(BASE.plusDays(toDay));
+        bookingDAO.create(booking);
+    }
+
+    private static Request filter(int roomCount, String typeName, LocalDateTime from, LocalDateTime to) {
+        ApartmentType type = new ApartmentType();
+        type.setName(typeName);
+        Apartment lookup = new Apartment();
+        lookup.setRoomCount(roomCount);
+        lookup.setType(type);
+        Request request = new Request();
+        request.setLookup(lookup);
+        request.setFrom(from);
+        request.setTo(to);
+        return request;
+    }
+}
@@ -0,0 +1,208 @@
+package ua.abond.lab4.service.availability;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.tm.TransactionManager;
+import ua.abond.lab4.core.web.support.CountMode;
+import ua.abond.lab4.core.web.support.Cursor;
+import ua.abond.lab4.core.web.support.DefaultPage;
+import ua.abond.lab4.core.web.support.DefaultPageable;
+import ua.abond.lab4.core.web.support.Page;
+import ua.abond.lab4.core.web.support.Pageable;
+import ua.abond.lab4.core.web.support.SortOrder;
+import ua.abond.lab4.dao.ApartmentDAO;
+import ua.abond.lab4.dao.BookingDAO;
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.domain.Booking;
+import ua.abond.lab4.domain.Request;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AvailabilityIndexTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2016, 10, 2, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2016, 10, 4, 0, 0);
+
+    @Mock
+    private ApartmentDAO apartmentDAO;
+    @Mock
+    private BookingDAO bookingDAO;
+    @Mock
+    private DataSource dataSource;
+    private AvailabilityIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        List<Apartment> apartments = Arrays.asList(
+                apartment(0L, 4, "business"),
+                apartment(1L, 2, "vip"),
+                apartment(2L, 4, "business"),
+                apartment(3L, 4, "business"),
+                apartment(5L, 2, "vip")
+        );
+        when(apartmentDAO.list(any(Pageable.class))).
+                thenReturn(new DefaultPage<>(apartments, new DefaultPageable(1, 10, SortOrder.ASC), (Cursor) null));
+        when(bookingDAO.list()).thenReturn(Arrays.asList(
+                booking(10L, 0L, FROM, TO),
+                booking(11L, 3L, TO, TO.plusDays(2))
+        ));
+
+        index = new AvailabilityIndex(AvailabilityEngine.MEMORY, apartmentDAO, bookingDAO,
+                new TransactionManager(dataSource));
+        index.load();
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        assertEquals(5, index.getApartmentCount());
+        assertEquals(2, index.getBookingCount());
+    }
+
+    @Test
+    public void testListFreeSkipsOverlappingBookings() throws Exception {
+        Page<Apartment> page = index.listFree(new DefaultPageable(1, 10, SortOrder.ASC), FROM, TO);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 5L), ids(page));
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    public void testOffsetPaging() throws Exception {
+        Page<Apartment> page = index.listFree(new DefaultPageable(2, 2, SortOrder.ASC), FROM, TO.plusDays(1));
+
+        assertEquals(Arrays.asList(5L), ids(page));
+        assertEquals(3, page.getTotalElements());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void testOffsetPagingWithoutCount() throws Exception {
+        Pageable pageable = new DefaultPageable(1, 2, SortOrder.ASC).withCountMode(CountMode.NONE);
+        Page<Apartment> page = index.listFree(pageable, FROM, TO);
+
+        assertEquals(Arrays.asList(1L, 2L), ids(page));
+        assertFalse(page.isTotalKnown());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public void testKeysetPaging() throws Exception {
+        Page<Apartment> first = index.listFree(new DefaultPageable(Cursor.first(), 2, SortOrder.ASC), FROM, TO);
+        assertEquals(Arrays.asList(1L, 2L), ids(first));
+        assertEquals(Cursor.after(2L), first.getNextCursor());
+
+        Page<Apartment> second = index.listFree(new DefaultPageable(first.getNextCursor(), 2, SortOrder.ASC), FROM, TO);
+        assertEquals(Arrays.asList(3L, 5L), ids(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    public void testFilterByRoomCountAndType() throws Exception {
+        Request filter = new Request();
+        filter.setLookup(apartment(null, 4, "business"));
+        filter.setFrom(FROM);
+        filter.setTo(TO.plusHours(1));
+
+        Page<Apartment> page = index.listFree(new DefaultPageable(1, 10, SortOrder.ASC), filter);
+
+        assertEquals(Arrays.asList(2L), ids(page));
+    }
+
+    @Test
+    public void testBookingAndRelease() throws Exception {
+        index.onBooked(booking(12L, 1L, FROM, TO));
+        assertEquals(Arrays.asList(2L, 3L, 5L), ids(index.listFree(new DefaultPageable(1, 10, SortOrder.ASC), FROM, TO)));
+
+        index.onReleased(10L);
+        index.onReleased(12L);
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 5L),
+                ids(index.listFree(new DefaultPageable(1, 10, SortOrder.ASC), FROM, TO)));
+    }
+
+    @Test
+    public void testApartmentChanges() throws Exception {
+        when(apartmentDAO.getById(7L)).thenReturn(Optional.of(apartment(7L, 1, "vip")));
+        index.onApartmentSaved(7L);
+        index.onApartmentDeleted(0L);
+
+        assertEquals(5, index.getApartmentCount());
+        assertEquals(1, index.getBookingCount());
+    }
+
+    @Test
+    public void testApartmentsCreated() throws Exception {
+        index.onApartmentsCreated(Arrays.asList(apartment(7L, 1, "vip"), apartment(8L, 4, "business")));
+
+        assertEquals(7, index.getApartmentCount());
+        assertEquals(Arrays.asList(1L, 2L, 3L, 5L, 7L, 8L),
+                ids(index.listFree(new DefaultPageable(1, 10, SortOrder.ASC), FROM, TO)));
+    }
+
+    @Test
+    public void testReturnedApartmentsAreCopies() throws Exception {
+        Pageable pageable = new DefaultPageable(1, 10, SortOrder.ASC);
+        index.listFree(pageable, FROM, TO).getContent().get(0).setRoomCount(100);
+
+        assertEquals(2, index.listFree(pageable, FROM, TO).getContent().get(0).getRoomCount());
+    }
+
+    @Test
+    public void testVerifyCountsMismatches() throws Exception {
+        Pageable pageable = new DefaultPageable(1, 10, SortOrder.ASC);
+        Page<Apartment> actual = index.listFree(pageable, FROM, TO);
+
+        assertTrue(index.verify(new DefaultPage<>(actual.getContent(), 4, pageable), actual));
+        assertFalse(index.verify(new DefaultPage<>(Collections.emptyList(), 0, pageable), actual));
+        assertEquals(1, index.getMismatchCount());
+    }
+
+    @Test
+    public void testSqlEngineDoesNotLoad() throws Exception {
+        AvailabilityIndex disabled = new AvailabilityIndex(AvailabilityEngine.SQL, apartmentDAO, bookingDAO,
+                new TransactionManager(dataSource));
+        disabled.load();
+        disabled.onBooked(booking(12L, 1L, FROM, TO));
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.getBookingCount());
+        verify(bookingDAO, times(1)).list();
+    }
+
+    private static List<Long> ids(Page<Apartment> page) {
+        return page.getContent().stream().map(Apartment::getId).collect(Collectors.toList());
+    }
+
+    private static Apartment apartment(Long id, int roomCount, String typeName) {
+        Apartment apartment = new Apartment();
+        apartment.setId(id);
+        apartment.setRoomCount(roomCount);
+        apartment.setPrice(new BigDecimal(100));
+        apartment.setType(new ApartmentType(typeName.length() + 0L, typeName));
+        return apartment;
+    }
+
+    private static Booking booking(Long requestId, Long apartmentId, LocalDateTime from, LocalDateTime to) {
+        Booking booking = new Booking();
+        booking.setRequestId(requestId);
+        booking.setOrderId(requestId);
+        booking.setApartmentId(apartmentId);
+        booking.setFrom(from);
+        booking.setTo(to);
+        return booking;
+    }
+}
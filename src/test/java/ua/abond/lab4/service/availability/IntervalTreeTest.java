@@ -0,0 +1,70 @@
+package ua.abond.lab4.service.availability;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntervalTreeTest {
+
+    @Test
+    public void testOverlapIsHalfOpen() throws Exception {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, 10, 20);
+
+        assertTrue(tree.overlaps(5, 11));
+        assertTrue(tree.overlaps(19, 30));
+        assertTrue(tree.overlaps(12, 13));
+        assertFalse(tree.overlaps(20, 30));
+        assertFalse(tree.overlaps(0, 10));
+    }
+
+    @Test
+    public void testEmptyIntervalsNeverOverlap() throws Exception {
+        IntervalTree tree = new IntervalTree();
+        assertFalse(tree.insert(1, 10, 10));
+        tree.insert(2, 0, 100);
+
+        assertFalse(tree.overlaps(50, 50));
+        assertFalse(tree.overlaps(60, 40));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(1, 10, 20);
+        tree.insert(2, 10, 30);
+
+        assertTrue(tree.remove(2, 10));
+        assertFalse(tree.remove(2, 10));
+        assertFalse(tree.overlaps(20, 30));
+        assertTrue(tree.overlaps(15, 16));
+    }
+
+    @Test
+    public void testMatchesLinearScan() throws Exception {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            if (!intervals.isEmpty() && random.nextInt(4) == 0) {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                assertTrue(tree.remove(removed[0], removed[1]));
+            } else {
+                long start = random.nextInt(10_000);
+                long[] interval = {i, start, start + 1 + random.nextInt(50)};
+                intervals.add(interval);
+                tree.insert(interval[0], interval[1], interval[2]);
+            }
+            long start = random.nextInt(10_000);
+            long end = start + 1 + random.nextInt(100);
+            boolean expected = intervals.stream().anyMatch(it -> it[1] < end && start < it[2]);
+            assertEquals(expected, tree.overlaps(start, end));
+        }
+        assertEquals(intervals.size(), tree.size());
+    }
+}
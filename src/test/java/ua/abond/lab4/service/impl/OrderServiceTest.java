@@ -1,24 +1,35 @@
 package ua.abond.lab4.service.impl;
 
 import org.junit.Test;
+import ua.abond.lab4.dao.ApartmentDAO;
 import ua.abond.lab4.dao.OrderDAO;
+import ua.abond.lab4.dao.RequestDAO;
 import ua.abond.lab4.dao.jdbc.JdbcDAOTest;
 import ua.abond.lab4.domain.Order;
 import ua.abond.lab4.service.OrderService;
 import ua.abond.lab4.service.exception.ServiceException;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class OrderServiceTest extends JdbcDAOTest {
     private static final String DATASET = "orders.xml";
 
     private OrderDAO orderDAO;
+    private RequestDAO requestDAO;
+    private ApartmentDAO apartmentDAO;
     private OrderService orderService;
 
     @Override
     public void onBeforeSetup() throws Exception {
         orderService = beanFactory.getBean(OrderService.class);
         orderDAO = beanFactory.getBean(OrderDAO.class);
+        requestDAO = beanFactory.getBean(RequestDAO.class);
+        apartmentDAO = beanFactory.getBean(ApartmentDAO.class);
         dataSet = loadDataSet(DATASET);
     }
 
@@ -38,4 +49,26 @@ public class OrderServiceTest extends JdbcDAOTest {
     public void testPayPayedOrder() throws Exception {
         orderService.payOrder(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUpdateOrders() throws Exception {
+        Order order = orderDAO.getById(0L).get();
+        order.setApartment(apartmentDAO.getById(100L).get());
+        orderService.updateOrders(Collections.singletonList(order));
+        assertEquals(Long.valueOf(100L), orderDAO.getById(0L).get().getApartment().getId());
+    }
+
+    @Test
+    public void testDeleteOrders() throws Exception {
+        orderService.deleteOrders(Arrays.asList(0L, 1L));
+        assertEquals(Optional.empty(), orderDAO.getById(0L));
+        assertEquals(Optional.empty(), orderDAO.getById(1L));
+        assertEquals(Optional.empty(), requestDAO.getById(1L));
+        assertEquals(Optional.empty(), requestDAO.getById(3L));
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testDeleteNonExistingOrders() throws Exception {
+        orderService.deleteOrders(Collections.singletonList(-1L));
+    }
+}
@@ -18,7 +18,10 @@ import ua.abond.lab4.web.dto.RequestDTO;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -159,6 +162,40 @@ public class RequestServiceTest extends JdbcDAOTest {
         assertTrue(byRequestId.getPrice().equals(new BigDecimal(300)));
     }
 
+    @Test
+    public void testConfirmOverlappingRequestOnBookedApartment() throws Exception {
+        ConfirmRequestDTO first = new ConfirmRequestDTO();
+        first.setRequestId(20L);
+        first.setApartmentId(0L);
+        requestService.confirmRequest(first);
+
+        ConfirmRequestDTO second = new ConfirmRequestDTO();
+        second.setRequestId(21L);
+        second.setApartmentId(0L);
+        exception.expect(ServiceException.class);
+        requestService.confirmRequest(second);
+    }
+
+    @Test
+    public void testConfirmRequests() throws Exception {
+        requestService.confirmRequests(Arrays.asList(confirm(20L, 0L), confirm(21L, 1L)));
+
+        assertEquals(RequestStatus.CONFIRMED, requestDAO.getById(20L).get().getStatus());
+        assertEquals(RequestStatus.CONFIRMED, requestDAO.getById(21L).get().getStatus());
+        assertEquals(new BigDecimal(600), orderDAO.findByRequestId(20L).get().getPrice());
+        assertEquals(Long.valueOf(1L), orderDAO.findByRequestId(21L).get().getApartment().getId());
+    }
+
+    @Test
+    public void testConfirmRequestsRollsBackOnRejectedRequest() throws Exception {
+        try {
+            requestService.confirmRequests(Arrays.asList(confirm(20L, 0L), confirm(2L, 1L)));
+        } catch (ServiceException e) {
+        }
+        assertEquals(RequestStatus.CREATED, requestDAO.getById(20L).get().getStatus());
+        assertFalse(orderDAO.findByRequestId(20L).isPresent());
+    }
+
     @Test
     public void testRequestStatusOnBadOrderSave() throws Exception {
         ConfirmRequestDTO requestDTO = new ConfirmRequestDTO();
@@ -170,4 +207,11 @@ public class RequestServiceTest extends JdbcDAOTest {
         }
         assertTrue(RequestStatus.CREATED == requestDAO.getById(0L).orElse(null).getStatus());
     }
-}
\ No newline at end of file
+
+    private static ConfirmRequestDTO confirm(Long requestId, Long apartmentId) {
+        ConfirmRequestDTO requestDTO = new ConfirmRequestDTO();
+        requestDTO.setRequestId(requestId);
+        requestDTO.setApartmentId(apartmentId);
+        return requestDTO;
+    }
+}
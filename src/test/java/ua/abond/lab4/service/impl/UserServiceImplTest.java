@@ -8,8 +8,10 @@ import ua.abond.lab4.dao.UserDAO;
 import ua.abond.lab4.dao.jdbc.JdbcDAOTest;
 import ua.abond.lab4.domain.Authority;
 import ua.abond.lab4.domain.User;
+import ua.abond.lab4.security.BCryptPasswordEncoder;
 import ua.abond.lab4.security.PasswordEncoder;
 import ua.abond.lab4.service.UserService;
+import ua.abond.lab4.service.exception.LoginThrottledException;
 import ua.abond.lab4.service.exception.ResourceNotFoundException;
 import ua.abond.lab4.service.exception.ServiceException;
 import ua.abond.lab4.service.exception.UserOldPasswordMismatchException;
@@ -56,6 +58,29 @@ public class UserServiceImplTest extends JdbcDAOTest {
         assertFalse(userService.isAuthorized(dto));
     }
 
+    @Test(expected = LoginThrottledException.class)
+    public void testRepeatedLoginIsThrottled() throws Exception {
+        LoginDTO dto = new LoginDTO("test", "test");
+        dto.setRemoteAddress("10.0.0.1");
+
+        for (int i = 0; i < 100; i++) {
+            userService.isAuthorized(dto);
+        }
+    }
+
+    @Test
+    public void testRehashOnLogin() throws Exception {
+        User user = userService.getById(0L);
+        user.setPassword(new BCryptPasswordEncoder(4).encode("admin"));
+        userDAO.update(user);
+
+        assertTrue(userService.isAuthorized(new LoginDTO(user.getLogin(), "admin")));
+
+        String rehashed = userService.getById(0L).getPassword();
+        assertFalse(passwordEncoder.needsRehash(rehashed));
+        assertTrue(passwordEncoder.matches("admin", rehashed));
+    }
+
     @Test
     public void testSuccessfulPasswordChange() throws Exception {
         User byId = userService.getById(0L);
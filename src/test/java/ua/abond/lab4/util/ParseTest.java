@@ -3,6 +3,7 @@ package ua.abond.lab4.util;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -41,6 +42,16 @@ public class ParseTest {
         assertNull(Parse.longObject("123dskfjvgvuhods"));
     }
 
+    @Test
+    public void testLongValue() throws Exception {
+        assertEquals(123L, Parse.longValue("123", 0L));
+    }
+
+    @Test
+    public void testLongValueReturnFallback() throws Exception {
+        assertEquals(42L, Parse.longValue(null, 42L));
+    }
+
     @Test
     public void testParseEnumeration() throws Exception {
         assertEquals(TestEnum.VAL2, Parse.enumeration(TestEnum.class, "VAL2", TestEnum.VAL0));
@@ -86,6 +97,13 @@ public class ParseTest {
         assertNull(Parse.localDateTime("dsadjask", dtf));
     }
 
+    @Test
+    public void testParseLocalDate() throws Exception {
+        assertEquals(LocalDate.of(2017, 1, 31), Parse.localDate("2017-01-31", DateTimeFormatter.ISO_LOCAL_DATE));
+        assertNull(Parse.localDate("2017-02-31", DateTimeFormatter.ISO_LOCAL_DATE));
+        assertNull(Parse.localDate(null, DateTimeFormatter.ISO_LOCAL_DATE));
+    }
+
     private enum TestEnum {
         VAL0, VAL1, VAL2, VAL3
     }
@@ -13,10 +13,19 @@ import ua.abond.lab4.domain.ApartmentType;
 import ua.abond.lab4.service.ApartmentService;
 import ua.abond.lab4.service.exception.ServiceException;
 import ua.abond.lab4.service.exception.ValidationException;
+import ua.abond.lab4.web.validation.ApartmentValidator;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
 
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.AdditionalMatchers.or;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -99,4 +108,47 @@ public class AdminApartmentControllerTest extends ControllerTest {
         adminController.updateApartment(request, response);
         verify(response).sendRedirect(anyString());
     }
+
+    @Test
+    public void testImportApartments() throws Exception {
+        StringWriter writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(
+                "name,roomCount,type,price\nSea view,2,lux,100\n,2,lux,100\n"
+        )));
+        when(apartmentTypeDAO.list()).thenReturn(Collections.singletonList(new ApartmentType(1L, "lux")));
+        when(validationService.tryValidate(any(Apartment.class))).thenAnswer(invocation ->
+                new ApartmentValidator().validate(invocation.getArgument(0))
+        );
+        when(apartmentService.importApartments(any())).thenAnswer(invocation -> {
+            Iterator<Apartment> apartments = invocation.getArgument(0);
+            int count = 0;
+            while (apartments.hasNext()) {
+                apartments.next();
+                count++;
+            }
+            return count;
+        });
+
+        adminController.importApartments(request, response);
+
+        verify(response).setHeader("X-Imported-Rows", "1");
+        verify(response, never()).setStatus(anyInt());
+        assertEquals("line,error\r\n3,apartment.validation.name.null\r\n", writer.toString());
+    }
+
+    @Test
+    public void testImportApartmentsWithoutHeader() throws Exception {
+        StringWriter writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        when(request.getParameter("format")).thenReturn("json");
+        when(request.getReader()).thenReturn(new BufferedReader(new StringReader("Sea view,2,lux,100\n")));
+
+        adminController.importApartments(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        verify(response).setHeader("X-Imported-Rows", "0");
+        verifyZeroInteractions(apartmentService);
+        assertEquals("[\n{\"line\":1,\"error\":\"apartment.import.header\"}\n]\n", writer.toString());
+    }
 }
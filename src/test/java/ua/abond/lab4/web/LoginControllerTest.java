@@ -13,7 +13,6 @@ import ua.abond.lab4.web.dto.UserSessionDTO;
 import java.util.Optional;
 
 import static org.mockito.AdditionalMatchers.or;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -66,7 +65,6 @@ public class LoginControllerTest extends ControllerTest {
 
     @Test
     public void testUnsuccessfulLogin() throws Exception {
-        when(request.getSession(anyBoolean())).thenReturn(httpSession);
         when(mapperService.map(request, LoginDTO.class)).
                 thenReturn(mock(LoginDTO.class));
         when(userService.isAuthorized(any(LoginDTO.class))).
@@ -76,6 +74,7 @@ public class LoginControllerTest extends ControllerTest {
 
         verify(request).setAttribute(anyString(), anyList());
         verify(request).getRequestDispatcher(LoginController.LOGIN_VIEW);
+        verify(request, never()).getSession();
         verifyForward();
     }
 }
\ No newline at end of file
@@ -4,17 +4,36 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.metrics.MetricRegistry;
+import ua.abond.lab4.core.metrics.PrometheusWriter;
 import ua.abond.lab4.core.web.support.Page;
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.domain.Order;
+import ua.abond.lab4.domain.Request;
 import ua.abond.lab4.domain.User;
 import ua.abond.lab4.service.OrderService;
 import ua.abond.lab4.service.RequestService;
 import ua.abond.lab4.service.UserService;
 import ua.abond.lab4.service.exception.ServiceException;
 import ua.abond.lab4.service.exception.ValidationException;
+import ua.abond.lab4.web.export.ExportFormat;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.AdditionalMatchers.or;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -25,9 +44,23 @@ public class SuperUserControllerTest extends ControllerTest {
     private OrderService orderService;
     @Mock
     private RequestService requestService;
+    @Spy
+    private MetricRegistry metricRegistry = new MetricRegistry();
     @InjectMocks
     private SuperUserController superUserController;
 
+    @Test
+    public void testViewMetrics() throws Exception {
+        metricRegistry.counter("test_total", "Test counter.").increment();
+        StringWriter writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+
+        superUserController.viewMetrics(request, response);
+
+        verify(response).setContentType(PrometheusWriter.CONTENT_TYPE);
+        assertTrue(writer.toString().contains("test_total 1"));
+    }
+
     @Test
     public void testViewOrders() throws Exception {
         superUserController.viewOrders(request, response);
@@ -111,4 +144,69 @@ public class SuperUserControllerTest extends ControllerTest {
 
         superUserController.deleteAdmin(request, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testExportOrdersAsCsv() throws Exception {
+        StringWriter writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        when(request.getParameter("from")).thenReturn("2017-01-01");
+        when(request.getParameter("to")).thenReturn("2017-01-31");
+        doAnswer(invocation -> {
+            Consumer<Order> action = invocation.getArgument(2);
+            action.accept(createOrder());
+            return 1L;
+        }).when(orderService).export(eq(LocalDateTime.of(2017, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2017, 2, 1, 0, 0)), any());
+
+        superUserController.exportOrders(request, response);
+
+        verify(response).setContentType(ExportFormat.CSV.getContentType());
+        verify(response).setHeader("Content-Disposition", "attachment; filename=\"orders.csv\"");
+        assertEquals("id,request_id,apartment_id,apartment_name,room_count,apartment_type,from,to,price,payed\r\n" +
+                "1,2,3,sea view,2,vip,2017-01-10T12:00,2017-01-12T12:00,100,true\r\n", writer.toString());
+    }
+
+    @Test
+    public void testExportRequestsAsJson() throws Exception {
+        StringWriter writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        when(request.getParameter("format")).thenReturn("json");
+        when(requestService.export(any(), any(), any())).thenReturn(0L);
+
+        superUserController.exportRequests(request, response);
+
+        verify(response).setContentType(ExportFormat.JSON.getContentType());
+        verify(requestService).export(eq(LocalDateTime.of(1970, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(9999, 12, 31, 0, 0)), any());
+        assertEquals("[]\n", writer.toString());
+    }
+
+    @Test
+    public void testExportWithInvalidDate() throws Exception {
+        when(request.getParameter("from")).thenReturn("yesterday");
+
+        superUserController.exportOrders(request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_BAD_REQUEST);
+        verifyZeroInteractions(orderService);
+    }
+
+    private Order createOrder() {
+        Order order = new Order();
+        order.setId(1L);
+        Request request = new Request();
+        request.setId(2L);
+        request.setFrom(LocalDateTime.of(2017, 1, 10, 12, 0));
+        request.setTo(LocalDateTime.of(2017, 1, 12, 12, 0));
+        order.setRequest(request);
+        Apartment apartment = new Apartment();
+        apartment.setId(3L);
+        apartment.setName("sea view");
+        apartment.setRoomCount(2);
+        apartment.setType(new ApartmentType(1L, "vip"));
+        order.setApartment(apartment);
+        order.setPrice(new BigDecimal(100));
+        order.setPayed(true);
+        return order;
+    }
+}
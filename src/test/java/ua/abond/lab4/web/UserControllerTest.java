@@ -12,6 +12,7 @@ import ua.abond.lab4.dao.ApartmentTypeDAO;
 import ua.abond.lab4.domain.ApartmentType;
 import ua.abond.lab4.domain.Order;
 import ua.abond.lab4.domain.Request;
+import ua.abond.lab4.service.ApartmentService;
 import ua.abond.lab4.service.OrderService;
 import ua.abond.lab4.service.RequestService;
 import ua.abond.lab4.service.UserService;
@@ -20,6 +21,7 @@ import ua.abond.lab4.service.exception.ValidationException;
 import ua.abond.lab4.web.dto.RequestDTO;
 import ua.abond.lab4.web.dto.UserSessionDTO;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -41,6 +43,8 @@ public class UserControllerTest extends ControllerTest {
     private ApartmentTypeDAO apartmentTypeDAO;
     @Mock
     private OrderService orderService;
+    @Mock
+    private ApartmentService apartmentService;
     @InjectMocks
     private UserController userController;
 
@@ -156,4 +160,36 @@ public class UserControllerTest extends ControllerTest {
                 thenThrow(new ServiceException());
         userController.viewOrder(request, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testViewFreeApartments() throws Exception {
+        when(request.getParameter("from")).thenReturn("2016-10-02T10:00");
+        when(request.getParameter("to")).thenReturn("2016-10-05T12:00");
+        Page page = mock(Page.class);
+        when(apartmentService.listFree(or(any(Pageable.class), isNull()), any(LocalDateTime.class), any(LocalDateTime.class))).
+                thenReturn(page);
+
+        userController.viewApartments(request, response);
+
+        verify(request).setAttribute("page", page);
+        verify(request, never()).setAttribute(eq("errors"), any());
+        verify(request).getRequestDispatcher(UserController.APARTMENTS_VIEW);
+        verifyForward();
+    }
+
+    @Test
+    public void testViewApartmentsWithInvertedRange() throws Exception {
+        when(request.getParameter("from")).thenReturn("2016-10-05T12:00");
+        when(request.getParameter("to")).thenReturn("2016-10-02T10:00");
+        Page page = mock(Page.class);
+        when(apartmentService.list(or(any(Pageable.class), isNull()))).thenReturn(page);
+
+        userController.viewApartments(request, response);
+
+        verify(apartmentService, never()).listFree(any(), any(), any());
+        verify(request).setAttribute("errors", Collections.singletonList("request.validation.from.after.to"));
+        verify(request).setAttribute("page", page);
+        verify(request).getRequestDispatcher(UserController.APARTMENTS_VIEW);
+        verifyForward();
+    }
+}
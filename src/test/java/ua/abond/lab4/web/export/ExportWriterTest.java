@@ -0,0 +1,59 @@
+package ua.abond.lab4.web.export;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExportWriterTest {
+
+    @Test
+    public void testCsv() throws Exception {
+        StringWriter out = new StringWriter();
+        ExportWriter writer = ExportFormat.CSV.newWriter(out, "id", "name", "price");
+        writer.row(1L, "plain", new BigDecimal("10.50"));
+        writer.row(2L, "with, \"quotes\"\nand lines", null);
+        writer.finish();
+
+        assertEquals("id,name,price\r\n" +
+                "1,plain,10.50\r\n" +
+                "2,\"with, \"\"quotes\"\"\nand lines\",\r\n", out.toString());
+        assertEquals(2, writer.getRowCount());
+    }
+
+    @Test
+    public void testEmptyCsvHasHeader() throws Exception {
+        StringWriter out = new StringWriter();
+        ExportFormat.CSV.newWriter(out, "id").finish();
+        assertEquals("id\r\n", out.toString());
+    }
+
+    @Test
+    public void testJson() throws Exception {
+        StringWriter out = new StringWriter();
+        ExportWriter writer = ExportFormat.JSON.newWriter(out, "id", "name", "payed", "from");
+        writer.row(1L, "a \"b\"\\\n", true, LocalDateTime.of(2017, 1, 2, 3, 4));
+        writer.row(2L, null, false, null);
+        writer.finish();
+
+        assertEquals("[\n" +
+                "{\"id\":1,\"name\":\"a \\\"b\\\"\\\\\\n\",\"payed\":true,\"from\":\"2017-01-02T03:04\"},\n" +
+                "{\"id\":2,\"name\":null,\"payed\":false,\"from\":null}\n" +
+                "]\n", out.toString());
+    }
+
+    @Test
+    public void testEmptyJson() throws Exception {
+        StringWriter out = new StringWriter();
+        ExportFormat.JSON.newWriter(out, "id").finish();
+        assertEquals("[]\n", out.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRowWidthIsChecked() {
+        ExportFormat.CSV.newWriter(new StringWriter(), "id", "name").row(1L);
+    }
+}
@@ -8,6 +8,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 import ua.abond.lab4.domain.Authority;
 import ua.abond.lab4.domain.User;
 import ua.abond.lab4.web.dto.UserSessionDTO;
+import ua.abond.lab4.web.session.RequestPrincipal;
+import ua.abond.lab4.web.session.SessionStore;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
@@ -76,6 +78,40 @@ public class AuthorityFilterTest {
         verify(chain).doFilter(request, response);
     }
 
+    @Test
+    public void testDoFilterWrongRole() throws Exception {
+        mockInitParameter(filter, "admin");
+        mockResolvedUser("USER");
+
+        filter.doFilter(request, response, chain);
+
+        verify(response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(chain, never()).doFilter(request, response);
+    }
+
+    @Test
+    public void testDoFilterUsesResolvedPrincipal() throws Exception {
+        mockInitParameter(filter, "admin, supersu");
+        mockResolvedUser("SUPERSU");
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(request, never()).getSession(anyBoolean());
+    }
+
+    @Test(expected = ServletException.class)
+    public void testInitWithUnknownAuthority() throws Exception {
+        mockInitParameter(filter, "root");
+    }
+
+    private void mockResolvedUser(String authorityName) {
+        Authority authority = new Authority();
+        authority.setName(authorityName);
+        when(request.getAttribute(RequestPrincipal.class.getName())).thenReturn(Boolean.TRUE);
+        when(request.getAttribute(SessionStore.USER_ATTR)).thenReturn(new UserSessionDTO(1L, "login", authority));
+    }
+
     private void mockInitParameter(Filter filter, String param) throws Exception {
         when(filterConfig.getInitParameter(AuthorityFilter.AUTH_PARAM)).
                 thenReturn(param);
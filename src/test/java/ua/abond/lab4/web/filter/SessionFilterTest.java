@@ -0,0 +1,75 @@
+package ua.abond.lab4.web.filter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.web.session.CookieSessionStore;
+import ua.abond.lab4.web.session.HttpSessionStore;
+import ua.abond.lab4.web.session.SessionStore;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SessionFilterTest {
+    @Mock
+    private FilterConfig filterConfig;
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private FilterChain chain;
+    private SessionFilter filter;
+
+    @Before
+    public void setUp() {
+        filter = new SessionFilter();
+    }
+
+    @Test
+    public void testDefaultsToHttpSessions() throws Exception {
+        filter.init(filterConfig);
+
+        filter.doFilter(request, response, chain);
+
+        assertSame(HttpSessionStore.INSTANCE, filter.getStore());
+        verify(request).setAttribute(SessionStore.STORE_ATTR, HttpSessionStore.INSTANCE);
+        verify(request).setAttribute(eq(SessionStore.USER_ATTR), isNull());
+        verify(request).getSession(false);
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    public void testCookieStore() throws Exception {
+        when(filterConfig.getInitParameter(SessionFilter.STORE_PARAM)).thenReturn("cookie");
+        when(filterConfig.getInitParameter(SessionFilter.SECRET_PARAM)).
+                thenReturn("0123456789abcdef0123456789abcdef");
+
+        filter.init(filterConfig);
+
+        assertTrue(filter.getStore() instanceof CookieSessionStore);
+    }
+
+    @Test(expected = ServletException.class)
+    public void testCookieStoreWithoutSecret() throws Exception {
+        when(filterConfig.getInitParameter(SessionFilter.STORE_PARAM)).thenReturn("cookie");
+        filter.init(filterConfig);
+    }
+
+    @Test(expected = ServletException.class)
+    public void testUnknownStore() throws Exception {
+        when(filterConfig.getInitParameter(SessionFilter.STORE_PARAM)).thenReturn("redis");
+        filter.init(filterConfig);
+    }
+}
@@ -0,0 +1,71 @@
+package ua.abond.lab4.web.imports;
+
+import org.junit.Test;
+import ua.abond.lab4.domain.Apartment;
+import ua.abond.lab4.domain.ApartmentType;
+import ua.abond.lab4.service.exception.ValidationException;
+import ua.abond.lab4.web.validation.ApartmentValidator;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ApartmentImportTest {
+    private static final List<ApartmentType> TYPES = Arrays.asList(
+            new ApartmentType(1L, "lux"),
+            new ApartmentType(2L, "business")
+    );
+
+    @Test
+    public void testImport() throws Exception {
+        ApartmentImport apartments = newImport("\uFEFFprice,name,type,roomCount\n" +
+                "100.50,Sea view,Lux,2\n" +
+                "-1,,vip,0\n" +
+                "10,short row\n" +
+                "\n" +
+                "20,\"Corner, top floor\",business,3\n");
+
+        List<Apartment> imported = new ArrayList<>();
+        apartments.forEachRemaining(imported::add);
+
+        assertEquals(2, imported.size());
+        Apartment first = imported.get(0);
+        assertEquals("Sea view", first.getName());
+        assertEquals(2, first.getRoomCount());
+        assertSame(TYPES.get(0), first.getType());
+        assertEquals(new BigDecimal("100.50"), first.getPrice());
+        assertEquals("Corner, top floor", imported.get(1).getName());
+
+        List<ImportError> errors = apartments.getErrors();
+        assertEquals(2, errors.size());
+        assertEquals(3, errors.get(0).getLine());
+        assertEquals(Arrays.asList(
+                "apartment.validation.name.null",
+                "apartment.validation.room.count",
+                "apartment.validation.type.null",
+                "apartment.validation.price"
+        ), errors.get(0).getErrors());
+        assertEquals(4, errors.get(1).getLine());
+        assertEquals(Collections.singletonList("apartment.import.columns"), errors.get(1).getErrors());
+    }
+
+    @Test(expected = ValidationException.class)
+    public void testMissingColumn() throws Exception {
+        newImport("name,roomCount,price\nSea view,2,100\n");
+    }
+
+    @Test(expected = ValidationException.class)
+    public void testEmptyFile() throws Exception {
+        newImport("");
+    }
+
+    private static ApartmentImport newImport(String csv) throws Exception {
+        return new ApartmentImport(new CsvReader(new StringReader(csv)), TYPES, new ApartmentValidator()::validate);
+    }
+}
@@ -0,0 +1,49 @@
+package ua.abond.lab4.web.imports;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CsvReaderTest {
+
+    @Test
+    public void testReadRecords() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\r\n1,,\"x, \"\"y\"\"\"\n"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), reader.next());
+        assertEquals(1, reader.getLine());
+        assertEquals(Arrays.asList("1", "", "x, \"y\""), reader.next());
+        assertEquals(2, reader.getLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testQuotedLineBreaksKeepLineNumbers() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("\"multi\nline\",1\n\nlast"));
+
+        assertEquals(Arrays.asList("multi\nline", "1"), reader.next());
+        assertEquals(1, reader.getLine());
+        assertEquals(Collections.singletonList(""), reader.next());
+        assertEquals(Collections.singletonList("last"), reader.next());
+        assertEquals(4, reader.getLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testUnterminatedQuote() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("a\n\"b,c\n"));
+        reader.next();
+        try {
+            reader.next();
+        } catch (CsvFormatException e) {
+            assertEquals(2, e.getLine());
+            return;
+        }
+        throw new AssertionError("Expected CsvFormatException");
+    }
+}
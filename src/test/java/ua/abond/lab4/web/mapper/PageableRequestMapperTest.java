@@ -4,6 +4,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.core.web.support.CountMode;
+import ua.abond.lab4.core.web.support.Cursor;
 import ua.abond.lab4.core.web.support.DefaultPageable;
 import ua.abond.lab4.core.web.support.Pageable;
 import ua.abond.lab4.core.web.support.SortOrder;
@@ -11,6 +13,8 @@ import ua.abond.lab4.core.web.support.SortOrder;
 import javax.servlet.http.HttpServletRequest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -36,5 +40,43 @@ public class PageableRequestMapperTest {
         assertEquals(SortOrder.ASC, pageable.getSortOrder());
         assertEquals(1, pageable.getPageNumber());
         assertEquals(0, pageable.getOffset());
+        assertEquals(CountMode.WINDOW, pageable.getCountMode());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMapCursor() throws Exception {
+        when(request.getParameter("after")).thenReturn(Cursor.after(42).getToken());
+        Pageable pageable = new PageableRequestMapper().map(request);
+        assertEquals(Cursor.after(42), pageable.getCursor());
+        assertEquals(0, pageable.getOffset());
+    }
+
+    @Test
+    public void testMapEmptyCursorStartsFromFirst() throws Exception {
+        when(request.getParameter("after")).thenReturn("");
+        Pageable pageable = new PageableRequestMapper().map(request);
+        assertTrue(pageable.getCursor().isFirst());
+    }
+
+    @Test
+    public void testMapInvalidCursorStartsFromFirst() throws Exception {
+        when(request.getParameter("after")).thenReturn("%%%");
+        Pageable pageable = new PageableRequestMapper().map(request);
+        assertTrue(pageable.getCursor().isFirst());
+    }
+
+    @Test
+    public void testMapWithoutCursorIsOffsetBased() throws Exception {
+        Pageable pageable = new PageableRequestMapper().map(request);
+        assertNull(pageable.getCursor());
+    }
+
+    @Test
+    public void testMapCountMode() throws Exception {
+        when(request.getParameter("page")).thenReturn("3");
+        when(request.getParameter("count")).thenReturn("none");
+        Pageable pageable = new PageableRequestMapper().map(request);
+        assertEquals(CountMode.NONE, pageable.getCountMode());
+        assertEquals(3, pageable.getPageNumber());
+    }
+}
@@ -7,13 +7,14 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import ua.abond.lab4.domain.User;
 import ua.abond.lab4.web.dto.UserSessionDTO;
+import ua.abond.lab4.web.session.SessionStore;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class UserSessionDTORequestMapperTest {
@@ -31,6 +32,7 @@ public class UserSessionDTORequestMapperTest {
     @Test
     public void testMap() {
         User user = new User();
+        user.setId(1L);
         user.setLogin("login");
         user.setPassword("password");
         when(session.getAttribute("user")).thenReturn(new UserSessionDTO(user));
@@ -38,11 +40,22 @@ public class UserSessionDTORequestMapperTest {
         UserSessionDTO map = new UserSessionDTORequestMapper().map(request);
         assertNotNull(map);
         assertEquals(user.getLogin(), map.getLogin());
-        assertEquals(user.getPassword(), map.getPassword());
+        assertEquals(user.getId(), map.getId());
     }
 
     @Test
     public void testMapEmptyRequest() {
         assertNull(new UserSessionDTORequestMapper().map(request));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMapUsesRequestStore() {
+        SessionStore store = mock(SessionStore.class);
+        UserSessionDTO user = new UserSessionDTO(1L, "login", null);
+        when(request.getAttribute(SessionStore.STORE_ATTR)).thenReturn(store);
+        when(store.load(request)).thenReturn(user);
+
+        assertSame(user, new UserSessionDTORequestMapper().map(request));
+        verify(request, never()).getSession(anyBoolean());
+    }
+}
@@ -0,0 +1,64 @@
+package ua.abond.lab4.web.session;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CookieSessionStoreTest {
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    private CookieSessionStore store;
+
+    @Before
+    public void setUp() {
+        byte[] secret = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+        store = new CookieSessionStore(new SessionCookieCodec(secret), 60);
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        store.save(request, response, new UserSessionDTO(7L, "login", null));
+
+        ArgumentCaptor<Cookie> captor = ArgumentCaptor.forClass(Cookie.class);
+        verify(response).addCookie(captor.capture());
+        Cookie cookie = captor.getValue();
+        assertEquals(CookieSessionStore.COOKIE_NAME, cookie.getName());
+        assertEquals(60, cookie.getMaxAge());
+        assertTrue(cookie.isHttpOnly());
+        verify(request, never()).getSession();
+
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("lang", "en"), cookie});
+        UserSessionDTO user = store.load(request);
+        assertNotNull(user);
+        assertEquals("login", user.getLogin());
+    }
+
+    @Test
+    public void testLoadWithoutCookies() {
+        assertNull(store.load(request));
+    }
+
+    @Test
+    public void testClear() {
+        store.clear(request, response);
+
+        ArgumentCaptor<Cookie> captor = ArgumentCaptor.forClass(Cookie.class);
+        verify(response).addCookie(captor.capture());
+        assertEquals(0, captor.getValue().getMaxAge());
+    }
+}
@@ -0,0 +1,62 @@
+package ua.abond.lab4.web.session;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RequestPrincipalTest {
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private SessionStore store;
+
+    @Test
+    public void testResolveLoadsOnce() {
+        UserSessionDTO user = new UserSessionDTO(1L, "login", null);
+        when(request.getAttribute(SessionStore.STORE_ATTR)).thenReturn(store);
+        when(store.load(request)).thenReturn(user);
+
+        assertSame(user, RequestPrincipal.resolve(request));
+        verify(request).setAttribute(SessionStore.USER_ATTR, user);
+        verify(request).setAttribute(RequestPrincipal.RESOLVED_ATTR, Boolean.TRUE);
+
+        when(request.getAttribute(RequestPrincipal.RESOLVED_ATTR)).thenReturn(Boolean.TRUE);
+        when(request.getAttribute(SessionStore.USER_ATTR)).thenReturn(user);
+        assertSame(user, RequestPrincipal.resolve(request));
+        verify(store, times(1)).load(request);
+    }
+
+    @Test
+    public void testResolvedAnonymousIsNotReloaded() {
+        when(request.getAttribute(RequestPrincipal.RESOLVED_ATTR)).thenReturn(Boolean.TRUE);
+
+        assertNull(RequestPrincipal.resolve(request));
+        verify(request, never()).getSession(anyBoolean());
+    }
+
+    @Test
+    public void testLoginAndLogout() {
+        UserSessionDTO user = new UserSessionDTO(1L, "login", null);
+        when(request.getAttribute(SessionStore.STORE_ATTR)).thenReturn(store);
+
+        RequestPrincipal.login(request, response, user);
+        verify(store).save(request, response, user);
+        verify(request).setAttribute(SessionStore.USER_ATTR, user);
+
+        RequestPrincipal.logout(request, response);
+        verify(store).clear(request, response);
+        verify(request).setAttribute(SessionStore.USER_ATTR, null);
+    }
+}
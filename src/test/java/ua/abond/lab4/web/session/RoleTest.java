@@ -0,0 +1,32 @@
+package ua.abond.lab4.web.session;
+
+import org.junit.Test;
+import ua.abond.lab4.domain.Authority;
+
+import static org.junit.Assert.assertEquals;
+
+public class RoleTest {
+
+    @Test
+    public void testParse() {
+        assertEquals(Role.ADMIN.bit(), Role.parse("admin"));
+        assertEquals(Role.ADMIN.bit() | Role.SUPERSU.bit(), Role.parse("ADMIN, supersu"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseUnknown() {
+        Role.parse("admin,root");
+    }
+
+    @Test
+    public void testMaskOf() {
+        Authority authority = new Authority();
+        authority.setName("User");
+        assertEquals(Role.USER.bit(), Role.maskOf(authority));
+
+        authority.setName("GUEST");
+        assertEquals(0, Role.maskOf(authority));
+        assertEquals(0, Role.maskOf(new Authority()));
+        assertEquals(0, Role.maskOf(null));
+    }
+}
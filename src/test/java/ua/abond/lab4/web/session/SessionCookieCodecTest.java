@@ -0,0 +1,90 @@
+package ua.abond.lab4.web.session;
+
+import org.junit.Before;
+import org.junit.Test;
+import ua.abond.lab4.domain.Authority;
+import ua.abond.lab4.web.dto.UserSessionDTO;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class SessionCookieCodecTest {
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final long NOW = 1_000_000L;
+
+    private SessionCookieCodec codec;
+
+    @Before
+    public void setUp() {
+        codec = new SessionCookieCodec(SECRET);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortSecret() {
+        new SessionCookieCodec(new byte[16]);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        String value = codec.encode(user(7L, "jöhn.doe", 2L, "ADMIN"), NOW + 1);
+        UserSessionDTO user = codec.decode(value, NOW);
+
+        assertNotNull(user);
+        assertEquals(Long.valueOf(7), user.getId());
+        assertEquals("jöhn.doe", user.getLogin());
+        assertEquals(Long.valueOf(2), user.getAuthority().getId());
+        assertEquals("ADMIN", user.getAuthority().getName());
+    }
+
+    @Test
+    public void testValueIsCookieSafe() {
+        String value = codec.encode(user(7L, "a b;c=\"d\"", 2L, "USER"), NOW);
+        assertTrue(value.matches("[A-Za-z0-9._-]+"));
+    }
+
+    @Test
+    public void testWithoutAuthority() {
+        UserSessionDTO user = codec.decode(codec.encode(new UserSessionDTO(7L, "login", null), NOW), NOW);
+
+        assertNotNull(user);
+        assertNull(user.getAuthority());
+    }
+
+    @Test
+    public void testExpired() {
+        assertNull(codec.decode(codec.encode(user(7L, "login", 2L, "ADMIN"), NOW - 1), NOW));
+    }
+
+    @Test
+    public void testTampered() {
+        String value = codec.encode(user(7L, "login", 2L, "USER"), NOW);
+        assertNull(codec.decode("8" + value.substring(1), NOW));
+        assertNull(codec.decode(value.substring(0, value.length() - 2), NOW));
+        assertNull(codec.decode(value.replace("VVNFUg", "QURNSU4"), NOW));
+    }
+
+    @Test
+    public void testOtherSecret() {
+        byte[] other = SECRET.clone();
+        other[0] ^= 1;
+        String value = new SessionCookieCodec(other).encode(user(7L, "login", 2L, "USER"), NOW);
+        assertNull(codec.decode(value, NOW));
+    }
+
+    @Test
+    public void testMalformed() {
+        assertNull(codec.decode(null, NOW));
+        assertNull(codec.decode("", NOW));
+        assertNull(codec.decode("garbage", NOW));
+        assertNull(codec.decode("1.2.3", NOW));
+        assertNull(codec.decode("ü.ü.ü.ü.ü.ü", NOW));
+    }
+
+    private static UserSessionDTO user(Long id, String login, Long authorityId, String authorityName) {
+        Authority authority = new Authority();
+        authority.setId(authorityId);
+        authority.setName(authorityName);
+        return new UserSessionDTO(id, login, authority);
+    }
+}